@@ -0,0 +1,27 @@
+package com.g06.controller;
+
+/**
+ * Everything a player can do in one input: the game's key bindings without the keyboard, so bots and the
+ * headless {@link Simulation} drive an {@link ArenaController} the same way the keys do.
+ */
+public enum Action {
+    NONE,
+    LEFT,
+    RIGHT,
+    ROTATE_CCW,
+    ROTATE_CW,
+    SOFT_DROP,
+    HARD_DROP,
+    SWORD,
+    COLUMN_SWEEP,
+    ROW_LASER,
+    BOMB,
+    COLOR_PURGE;
+
+    private static final Action[] VALUES = values();
+
+    // values() without the copy, for callers that pick actions by index in a hot loop
+    public static Action of(int ordinal) { return VALUES[ordinal]; }
+
+    public static int count() { return VALUES.length; }
+}
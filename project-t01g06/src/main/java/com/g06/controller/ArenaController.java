@@ -5,22 +5,26 @@ import com.g06.controller.Difficulty;
 import com.googlecode.lanterna.input.KeyStroke;
 import com.googlecode.lanterna.input.KeyType;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-
 
 
 public class ArenaController implements Controller {
     private final ArenaInterface arena;
     private boolean gameOver = false;
+    private boolean victory = false;
     private final boolean endlessMode; // when true, don't treat zero viruses as victory
     private int score = 0; // used in endless mode
     private final int scoreMultiplier;
     // Sword power-up state
     private int swordCharges = 0;
     private int blocksCleared = 0; // used in endless mode to grant swords per blocks cleared
+    private int totalCleared = 0; // every block and virus cleared so far, in any mode
+    // Play statistics (batch runs)
+    private int pillsUsed = 0;
+    private int cascades = 0;     // clears that chained into at least one more
+    private int longestChain = 0;
+    private final MoveTable moves; // legal pill placements, refreshed only when the board changes
+    private final ChainResolver chain; // match -> clear -> gravity until the board is stable
+    private final PowerUpEngine powerUps; // masked clears for the sword and the board-wide power-ups
 
     // Charge rule: 1 charge granted every 2 levels (cumulative)
     private static final int LEVELS_PER_SWORD_CHARGE = 2;
@@ -37,6 +41,10 @@ public class ArenaController implements Controller {
     public ArenaController(ArenaInterface arena, boolean endlessMode, Difficulty difficulty) {
         this.arena = arena;
         this.endlessMode = endlessMode;
+        this.moves = new MoveTable(arena);
+        GravityEngine gravity = new GravityEngine(arena);
+        this.chain = new ChainResolver(arena, gravity);
+        this.powerUps = new PowerUpEngine(arena, gravity);
         // Map difficulty to score multiplier (tunable)
         switch (difficulty) {
             case EASY:
@@ -61,174 +69,180 @@ public class ArenaController implements Controller {
         this.blocksCleared = Math.max(0, initialBlocksCleared);
     }
 
+    // Starts a fresh count (score, statistics, no game over or victory) from the given sword state, so one
+    // controller can play many games of an ArenaBank in turn (VectorEnvironment)
+    void resume(int swordCharges, int blocksCleared) {
+        this.gameOver = false;
+        this.victory = false;
+        this.score = 0;
+        this.totalCleared = 0;
+        this.pillsUsed = 0;
+        this.cascades = 0;
+        this.longestChain = 0;
+        this.swordCharges = Math.max(0, swordCharges);
+        this.blocksCleared = Math.max(0, blocksCleared);
+    }
+
     // --- Movimento da Pílula ---
 
-    public boolean fallPill() {
-        if (gameOver) return false;
-        // If a sword is active, let it fall before handling the pill
+    // Every piece type goes through the same move/rotate/fall/settle code, driven by its PieceShape tables.
+    // A falling sword takes over the controls from the pill until it settles.
+    private Piece activePiece() {
         Sword sword = arena.getCurrentSword();
-        if (sword != null) {
-            return fallSword();
-        }
-        Pill currentPill = arena.getCurrentPill();
-        if (currentPill == null) return false;
-
-        Pill nextState = copyPill(currentPill);
-        nextState.moveDown();
+        return sword != null ? sword : arena.getCurrentPill();
+    }
 
-        if (canMove(nextState)) {
-            currentPill.moveDown();
-            return true;
-        }
-        else{
-            settlePill();
+    public boolean fallPill() {
+        if (gameOver) return false;
+        Piece piece = activePiece();
+        if (piece == null) return false;
+
+        PieceShape shape = piece.getShape();
+        Position pivot = piece.getPosition();
+        boolean canFall = shape.cutsBlocks()
+                ? moves.dropDistance(shape, pivot.getX(), pivot.getY(), piece.getOrientation()) > 0
+                : moves.fits(shape, pivot.getX(), pivot.getY() + 1, piece.getOrientation());
+        if (!canFall) {
+            settlePiece(piece);
             return false;
         }
+        // A sword clears any blocks/viruses in the cells it moves into
+        if (shape.cutsBlocks()) cutInto(piece, 1);
+        pivot.setY(pivot.getY() + 1);
+        return true;
     }
 
-    // Handle sword falling: clear blocks it moves into and settle when it cannot move further
-    private boolean fallSword() {
-        Sword sword = arena.getCurrentSword();
-        if (sword == null) return false;
-
-        // Compute positions if sword moves down by 1
-        List<Position> dest = new ArrayList<>();
-        for (Position seg : sword.getSegments()) dest.add(new Position(seg.getX(), seg.getY() + 1));
-
-        // Check for out-of-bounds or walls (can't move)
-        for (Position p : dest) {
-            if (!arena.isInside(p)) {
-                settleSword();
-                return false;
-            }
-            for (Wall w : arena.getWalls()) if (w.getPosition().equals(p)) { settleSword(); return false; }
-        }
-
-        Block[][] matrix = arena.getMatrix();
-
-        // Clear any blocks/viruses in destination cells (award score per block)
-        boolean clearedSomething = false;
-        int clearedCount = 0;
-        for (Position p : dest) {
-            Block b = matrix[p.getX()][p.getY()];
-            if (b != null) {
-                // clear block or virus
-                matrix[p.getX()][p.getY()] = null;
-                this.score += this.scoreMultiplier;
-                clearedSomething = true;
-                clearedCount++;
-            }
+    // Removes every block/virus the piece passes through while moving drop rows down, scoring each one
+    private void cutInto(Piece piece, int drop) {
+        BitBoard board = arena.getBitBoard();
+        PieceShape shape = piece.getShape();
+        int orientation = piece.getOrientation();
+        Position pivot = piece.getPosition();
+        long[] path = powerUps.emptyMask(board);
+        for (int i = 0; i < shape.getCellCount(); i++) {
+            int x = pivot.getX() + shape.dx(orientation, i);
+            int top = pivot.getY() + shape.dy(orientation, i);
+            for (int y = top + 1; y <= top + drop; y++) board.markCell(path, x, y);
         }
+        int clearedCount = powerUps.clear(path);
+        this.score += clearedCount * this.scoreMultiplier;
+        creditCleared(clearedCount);
+    }
 
-        if (clearedCount > 0 && this.endlessMode) {
-            this.blocksCleared += clearedCount;
+    // In endless mode, cleared blocks count towards the next charge
+    private void creditCleared(int cleared) {
+        this.totalCleared += cleared;
+        if (cleared > 0 && this.endlessMode) {
+            this.blocksCleared += cleared;
             if (this.blocksCleared >= ENDLESS_BLOCKS_PER_SWORD) {
                 int grants = this.blocksCleared / ENDLESS_BLOCKS_PER_SWORD;
                 this.swordCharges += grants;
                 this.blocksCleared = this.blocksCleared % ENDLESS_BLOCKS_PER_SWORD;
             }
         }
-
-        // Move the sword down by one cell (always allowed now)
-        sword.moveDown();
-
-        return true;
     }
 
-    private void settleSword() {
-        Sword sword = arena.getCurrentSword();
-        if (sword == null) return;
-
-        Block[][] matrix = arena.getMatrix();
-        // Write four settled blocks where the sword segments are
-        for (Position seg : sword.getSegments()) {
-            if (arena.isInside(seg)) {
-                matrix[seg.getX()][seg.getY()] = new Block(seg.getX(), seg.getY(), sword.getColor());
-            }
-        }
-
-        arena.setCurrentSword(null);
-
-        // After settling, run clearing and gravity as usual
-        checkAndClearLines();
+    // Drops the piece straight to its landing spot and settles it, in one step
+    // (a sword cuts everything down to the first wall, same as falling step by step)
+    public void hardDrop() {
+        if (gameOver) return;
+        Piece piece = activePiece();
+        if (piece == null) return;
+        Position pivot = piece.getPosition();
+        int drop = moves.dropDistance(piece.getShape(), pivot.getX(), pivot.getY(), piece.getOrientation());
+        if (piece.getShape().cutsBlocks()) cutInto(piece, drop);
+        pivot.setY(pivot.getY() + drop);
+        settlePiece(piece);
     }
 
     public void movePillLeft() {
-        if (gameOver) return;
-        // If a sword exists, move it left instead
-        Sword sword = arena.getCurrentSword();
-        if (sword != null) {
-            // validate left move
-            int nx = sword.getPosition().getX() - 1;
-            List<Position> segs = sword.getSegments();
-            for (Position s : segs) {
-                Position p = new Position(nx, s.getY());
-                if (!arena.isInside(p)) return;
-                for (Wall w : arena.getWalls()) if (w.getPosition().equals(p)) return;
-                if (arena.getMatrix()[p.getX()][p.getY()] != null) return;
-            }
-            sword.moveLeft();
-            return;
-        }
-        Pill currentPill = arena.getCurrentPill();
-        if (currentPill == null) return;
-        Pill nextState = copyPill(currentPill);
-        nextState.moveLeft();
-        if(canMove(nextState)) currentPill.moveLeft();
+        movePiece(-1);
     }
 
     public void movePillRight() {
+        movePiece(1);
+    }
+
+    private void movePiece(int dx) {
         if (gameOver) return;
-        // If a sword exists, move it right instead
-        Sword sword = arena.getCurrentSword();
-        if (sword != null) {
-            int nx = sword.getPosition().getX() + 1;
-            List<Position> segs = sword.getSegments();
-            for (Position s : segs) {
-                Position p = new Position(nx, s.getY());
-                if (!arena.isInside(p)) return;
-                for (Wall w : arena.getWalls()) if (w.getPosition().equals(p)) return;
-                if (arena.getMatrix()[p.getX()][p.getY()] != null) return;
-            }
-            sword.moveRight();
-            return;
+        Piece piece = activePiece();
+        if (piece == null) return;
+        Position pivot = piece.getPosition();
+        if (moves.fits(piece.getShape(), pivot.getX() + dx, pivot.getY(), piece.getOrientation())) {
+            pivot.setX(pivot.getX() + dx);
         }
-        Pill currentPill = arena.getCurrentPill();
-        if (currentPill == null) return;
-        Pill nextState = copyPill(currentPill);
-        nextState.moveRight();
-        if(canMove(nextState)) currentPill.moveRight();
     }
 
+    // Up / W: same direction as Pill.rotate (counter-clockwise on screen)
     public void rotatePill() {
-        if (gameOver) return;
-        Pill currentPill = arena.getCurrentPill();
-        if (currentPill == null) return;
-        Pill nextState = copyPill(currentPill);
-        nextState.rotate();
+        rotatePiece(PieceShape.ROTATE_CCW);
+    }
 
-        // Simples verificação (sem wall kick complexo por enquanto)
-        if(canMove(nextState)) currentPill.rotate();
+    // E: clockwise
+    public void rotatePillClockwise() {
+        rotatePiece(PieceShape.ROTATE_CW);
+    }
+
+    private void rotatePiece(int direction) {
+        if (gameOver) return;
+        Piece piece = activePiece();
+        if (piece == null) return;
+        PieceShape shape = piece.getShape();
+        Position pivot = piece.getPosition();
+        int from = piece.getOrientation();
+        int to = shape.rotated(from, direction);
+        if (to == from) return;
+
+        // Wall kick: try each pivot offset of the transition in order, keep the first that fits
+        for (int[] kick : shape.kicks(from, direction)) {
+            int x = pivot.getX() + kick[0];
+            int y = pivot.getY() + kick[1];
+            if (!moves.fits(shape, x, y, to)) continue;
+            pivot.setX(x);
+            pivot.setY(y);
+            piece.setOrientation(to);
+            return;
+        }
     }
 
     // --- Lógica de Fixação e Limpeza (A parte importante!) ---
 
     public void settlePill() {
         Pill currentPill = arena.getCurrentPill();
-        if(currentPill == null) return;
+        if (currentPill == null) return;
+        settlePiece(currentPill);
+    }
 
-        Position p1 = currentPill.getPosition();
-        Position p2 = currentPill.getOtherHalf();
+    private void settlePiece(Piece piece) {
+        PieceShape shape = piece.getShape();
+        int orientation = piece.getOrientation();
+        Position pivot = piece.getPosition();
 
-        Block[][] matrix = arena.getMatrix();
+        // Cells keep their capsule links (so gravity keeps them together) only when the whole piece is inside
+        boolean whole = true;
+        for (int i = 0; i < shape.getCellCount(); i++) {
+            whole &= isInside(pivot.getX() + shape.dx(orientation, i), pivot.getY() + shape.dy(orientation, i));
+        }
+        for (int i = 0; i < shape.getCellCount(); i++) {
+            int x = pivot.getX() + shape.dx(orientation, i);
+            int y = pivot.getY() + shape.dy(orientation, i);
+            if (!isInside(x, y)) continue;
+            int texture = piece.getTexture(i);
+            Block block = new Block(x, y, piece.getColor(i), texture < 0 ? arena.nextTexture() : texture);
+            if (whole) block.setLink(shape.link(orientation, i));
+            arena.setBlock(x, y, block);
+        }
 
-        if (arena.isInside(p1))
-            matrix[p1.getX()][p1.getY()] = new Block(p1.getX(), p1.getY(), currentPill.getColor1());
-        if (arena.isInside(p2))
-            matrix[p2.getX()][p2.getY()] = new Block(p2.getX(), p2.getY(), currentPill.getColor2());
+        if (piece == arena.getCurrentSword()) {
+            arena.setCurrentSword(null);
+            // After settling, run clearing and gravity as usual; the pill keeps falling afterwards
+            checkAndClearLines();
+            return;
+        }
 
         // Limpa a pílula atual
         arena.setCurrentPill(null);
+        pillsUsed++;
 
         // Executa a lógica de limpeza e gravidade
         checkAndClearLines();
@@ -260,269 +274,83 @@ public class ArenaController implements Controller {
         boolean gen = arena.generateNextPill();
 
         // Validate the newly set current pill fits; if it collides, it's game over
-        Position p1n = arena.getCurrentPill().getPosition();
-        Position p2n = arena.getCurrentPill().getOtherHalf();
-        if (!arena.isInside(p1n) || !arena.isInside(p2n)) { this.gameOver = true; return; }
-        for (Wall w : arena.getWalls()) {
-            if (w.getPosition().equals(p1n) || w.getPosition().equals(p2n)) { this.gameOver = true; return; }
-        }
-        Block[][] mat = arena.getMatrix();
-        if (mat[p1n.getX()][p1n.getY()] != null || mat[p2n.getX()][p2n.getY()] != null) { this.gameOver = true; return; }
+        Pill spawned = arena.getCurrentPill();
+        Position p1n = spawned.getPosition();
+        if (!moves.fits(spawned.getShape(), p1n.getX(), p1n.getY(), spawned.getOrientation())) { this.gameOver = true; return; }
     }
 
-    private void checkAndClearLines() {
-        Set<Position> toRemove = new HashSet<>();
-        Block[][] matrix = arena.getMatrix();
-
-        // Check for blocks in matrix
-        for (int y = 1; y < arena.getHeight() - 1; y++) {
-            for (int x = 1; x < arena.getWidth() - 1; x++) {
-                Block current = matrix[x][y];
-                if (current == null) continue;
-
-                checkDirection(current, toRemove, x, y, 1, 0);  // Horizontal
-                checkDirection(current, toRemove, x, y, 0, 1);  // Vertical
-            }
-        }
-
-        // Remove marked blocks and apply gravity
-        if (!toRemove.isEmpty()) {
-            // Award points: scaled by difficulty multiplier
-            this.score += toRemove.size() * this.scoreMultiplier;
-            // In endless mode, track blocks cleared to grant sword charges per threshold
-            if (this.endlessMode) {
-                this.blocksCleared += toRemove.size();
-                if (this.blocksCleared >= ENDLESS_BLOCKS_PER_SWORD) {
-                    int grants = this.blocksCleared / ENDLESS_BLOCKS_PER_SWORD;
-                    this.swordCharges += grants;
-                    this.blocksCleared = this.blocksCleared % ENDLESS_BLOCKS_PER_SWORD;
-                }
-            }
-        }
-        removeMarkedBlocks(toRemove);
+    private boolean isInside(int x, int y) {
+        return x >= 0 && x < arena.getWidth() && y >= 0 && y < arena.getHeight();
     }
 
-    private void checkDirection(Block startBlock, Set<Position> toRemove, int x, int y, int dx, int dy) {
-        String targetColor = startBlock.getColor();
-        List<Block> line = new ArrayList<>();
-        line.add(startBlock);
-        Block[][] matrix = arena.getMatrix();
-
-        for (int i = 1; i <= 3; i++) {
-            int nextX = x + i * dx;
-            int nextY = y + i * dy;
-
-            if (!arena.isInside(new Position(nextX, nextY))) break;
-
-            Block next = matrix[nextX][nextY];
-
-            if (next == null || !next.getColor().equals(targetColor)) break;
-
-            line.add(next);
-        }
-
-        if (line.size() >= 4) {
-            for (Block block : line) {
-                toRemove.add(block.getPosition());
-            }
-        }
-    }
-
-    private void removeMarkedBlocks(Set<Position> toRemove) {
-        if (toRemove.isEmpty()) return;
-
-        Block[][] matrix = arena.getMatrix();
-
-        for (Position p : toRemove) {
-            matrix[p.getX()][p.getY()] = null;
-        }
-
-        applyClusterGravity();
-    }
-
-
-    private void applyClusterGravity() {
-        boolean moved;
-        int width = arena.getWidth();
-        int height = arena.getHeight();
-        Block[][] matrix = arena.getMatrix();
-
-        do {
-            moved = false;
-            boolean[][] visited = new boolean[width][height];
-
-            for (int x = 1; x < width - 1; x++) {
-                for (int y = 1; y < height - 1; y++) {
-                    if (matrix[x][y] == null || visited[x][y] || matrix[x][y].isVirus())
-                        continue;
-
-                    List<Position> cluster = new ArrayList<>();
-                    collectCluster(x, y, visited, cluster);
-
-                    int fall = computeClusterFall(cluster);
-
-                    if (fall > 0) {
-                        moveCluster(cluster, fall);
-                        moved = true;
-                    }
-                }
-            }
-        } while (moved);
-    }
-
-    private void collectCluster(int sx, int sy, boolean[][] visited, List<Position> cluster) {
-        int width = arena.getWidth();
-        int height = arena.getHeight();
-        Block[][] matrix = arena.getMatrix();
-
-        List<Position> stack = new ArrayList<>();
-        stack.add(new Position(sx, sy));
-        visited[sx][sy] = true;
-
-        while (!stack.isEmpty()) {
-            Position p = stack.remove(stack.size() - 1);
-            cluster.add(p);
-
-            int[][] dirs = {{1,0},{-1,0},{0,1},{0,-1}};
-
-            for (int[] d : dirs) {
-                int nx = p.getX() + d[0];
-                int ny = p.getY() + d[1];
-
-                if (nx <= 0 || nx >= width-1 || ny <= 0 || ny >= height-1) continue;
-                if (visited[nx][ny]) continue;
-
-                Block neighbor = matrix[nx][ny];
-                if (neighbor == null) continue;
-                if (neighbor.isVirus()) continue;
-
-                visited[nx][ny] = true;
-                stack.add(new Position(nx, ny));
-            }
-        }
-    }
-
-    private int computeClusterFall(List<Position> cluster) {
-        int fall = Integer.MAX_VALUE;
-        Block[][] matrix = arena.getMatrix();
-        int height = arena.getHeight();
-
-        for (Position p : cluster) {
-            int x = p.getX();
-            int y = p.getY();
-            int drop = 0;
-
-            while (true) {
-                int ny = y + drop + 1;
-                if (ny >= height - 1) break; // Chão
-
-                Block below = matrix[x][ny];
-                // Se bateu em algo que NÃO faz parte deste cluster, pára
-                if (below != null && !isInCluster(cluster, x, ny))
-                    break;
-
-                drop++;
-            }
-            fall = Math.min(fall, drop);
-        }
-        return fall;
-    }
-
-    private boolean isInCluster(List<Position> cluster, int x, int y) {
-        for (Position p : cluster) {
-            if (p.getX() == x && p.getY() == y) return true;
-        }
-        return false;
-    }
-
-    private void moveCluster(List<Position> cluster, int dist) {
-        Block[][] matrix = arena.getMatrix();
-        // Ordenar de baixo para cima para evitar sobreposições
-        cluster.sort((a, b) -> Integer.compare(b.getY(), a.getY()));
-
-        for (Position p : cluster) {
-            Block b = matrix[p.getX()][p.getY()];
-            matrix[p.getX()][p.getY()] = null;
-
-            int nx = p.getX();
-            int ny = p.getY() + dist;
-
-            matrix[nx][ny] = b;
-            b.getPosition().setY(ny);
-        }
-    }
-
-
-    private boolean canMove(Pill pill) {
-        Position p1 = pill.getPosition();
-        Position p2 = pill.getOtherHalf();
-        return isValidPosition(p1) && isValidPosition(p2);
-    }
-
-    private boolean isValidPosition(Position p) {
-        if (!arena.isInside(p)) return false;
-
-        for (Wall w : arena.getWalls())
-            if (w.getPosition().equals(p)) return false;
-
-        if (arena.getMatrix()[p.getX()][p.getY()] != null) return false;
-        return true;
-    }
-
-    private Pill copyPill(Pill original) {
-        Pill copy = new Pill(original.getPosition().getX(), original.getPosition().getY(),
-                original.getColor1(), original.getColor2());
-        Position originalOther = original.getOtherHalf();
-        while(!copy.getOtherHalf().equals(originalOther)) {
-            copy.rotate();
+    private void checkAndClearLines() {
+        // Clear runs of 4+, let the board fall and repeat while the fall makes new runs;
+        // each step only rescans the rows and columns that changed
+        int cleared = chain.resolve();
+        if (cleared == 0) return;
+        if (chain.getSteps() > 1) cascades++;
+        longestChain = Math.max(longestChain, chain.getSteps());
+
+        // Award points: scaled by difficulty multiplier, and by the chain step for blocks cleared by a cascade
+        for (int step = 0; step < chain.getSteps(); step++) {
+            this.score += chain.getCleared(step) * this.scoreMultiplier * (step + 1);
         }
-        return copy;
+        // In endless mode, track blocks cleared to grant sword charges per threshold
+        creditCleared(cleared);
     }
 
     public void processKey(KeyStroke key) {
         if (key == null) return;
+        perform(actionFor(key));
+    }
 
+    // Key bindings; the only place the controller looks at Lanterna
+    private static Action actionFor(KeyStroke key) {
         // Accept WASD letters as alternative controls
         if (key.getKeyType() == KeyType.Character) {
             Character c = key.getCharacter();
             if (c != null) {
                 switch (Character.toLowerCase(c)) {
-                    case 'a':
-                        movePillLeft();
-                        return;
-                    case 'd':
-                        movePillRight();
-                        return;
-                    case 'w':
-                        rotatePill();
-                        return;
-                    case 's':
-                        fallPill();
-                        return;
-                    case ' ': // space: attempt to spawn sword
-                        attemptSpawnSword();
-                        return;
-                    default:
-                        break;
+                    case 'a': return Action.LEFT;
+                    case 'd': return Action.RIGHT;
+                    case 'w': return Action.ROTATE_CCW;
+                    case 'e': return Action.ROTATE_CW;
+                    case 's': return Action.SOFT_DROP;
+                    case 'f': return Action.HARD_DROP;
+                    case ' ': return Action.SWORD; // space: attempt to spawn sword
+                    case '1': return Action.COLUMN_SWEEP;
+                    case '2': return Action.ROW_LASER;
+                    case '3': return Action.BOMB;
+                    case '4': return Action.COLOR_PURGE;
+                    default: break;
                 }
             }
         }
 
         switch (key.getKeyType()) {
-            case ArrowLeft:
-                movePillLeft();
-                break;
-            case ArrowRight:
-                movePillRight();
-                break;
-            case ArrowUp:
-                rotatePill();
-                break;
-            case ArrowDown:
-                fallPill();
-                break;
-            default:
-                break;
+            case ArrowLeft: return Action.LEFT;
+            case ArrowRight: return Action.RIGHT;
+            case ArrowUp: return Action.ROTATE_CCW;
+            case ArrowDown: return Action.SOFT_DROP;
+            default: return Action.NONE;
+        }
+    }
+
+    // Runs one player action, whatever it came from (keyboard, bot or simulation)
+    public void perform(Action action) {
+        switch (action) {
+            case LEFT: movePillLeft(); break;
+            case RIGHT: movePillRight(); break;
+            case ROTATE_CCW: rotatePill(); break;
+            case ROTATE_CW: rotatePillClockwise(); break;
+            case SOFT_DROP: fallPill(); break;
+            case HARD_DROP: hardDrop(); break;
+            case SWORD: attemptSpawnSword(); break;
+            case COLUMN_SWEEP: usePowerUp(PowerUp.COLUMN_SWEEP); break;
+            case ROW_LASER: usePowerUp(PowerUp.ROW_LASER); break;
+            case BOMB: usePowerUp(PowerUp.BOMB); break;
+            case COLOR_PURGE: usePowerUp(PowerUp.COLOR_PURGE); break;
+            default: break;
         }
     }
 
@@ -545,10 +373,33 @@ public class ArenaController implements Controller {
         return true;
     }
 
+    // Fires a board-wide power-up where the current pill would land (the cell right below its pivot,
+    // or the landing cell itself when that is the floor). Uses a sword charge, only when something is cleared.
+    public boolean usePowerUp(PowerUp effect) {
+        if (gameOver || victory) return false;
+        if (swordCharges <= 0 || arena.getCurrentSword() != null) return false;
+        Pill current = arena.getCurrentPill();
+        if (current == null) return false;
+
+        Position pivot = current.getPosition();
+        int x = pivot.getX();
+        int y = pivot.getY() + moves.dropDistance(current.getShape(), x, pivot.getY(), current.getOrientation());
+        if (!arena.getGeometry().isBlocked(x, y + 1)) y++;
+
+        int cleared = powerUps.apply(effect, x, y);
+        if (cleared == 0) return false;
+        swordCharges--;
+        this.score += cleared * this.scoreMultiplier;
+        creditCleared(cleared);
+        // Blocks that fell may have completed runs
+        checkAndClearLines();
+        if (arena.getVirusCount() == 0 && !endlessMode) this.victory = true;
+        return true;
+    }
+
     public boolean isGameOver() {
         return gameOver;
     }
-    private boolean victory = false;
     public boolean isVictory() {
         return victory;
     }
@@ -559,4 +410,13 @@ public class ArenaController implements Controller {
     // Sword charges accessor for HUD
     public int getSwordCharges() { return swordCharges; }
     public int getBlocksCleared() { return blocksCleared; }
+    // Blocks and viruses cleared since this controller was created (matches, sword cuts and power-ups)
+    public int getTotalCleared() { return totalCleared; }
+
+    // Chain length of the last settle (1 = plain clear, 2+ = cascades)
+    public int getLastChainLength() { return chain.getSteps(); }
+
+    public int getPillsUsed() { return pillsUsed; }
+    public int getCascades() { return cascades; }
+    public int getLongestChain() { return longestChain; }
 }
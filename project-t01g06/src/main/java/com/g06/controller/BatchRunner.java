@@ -0,0 +1,156 @@
+package com.g06.controller;
+
+import com.g06.model.Zobrist;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays many complete headless games and collects their statistics. Games are independent (own Simulation,
+ * own seed), so the seed range is split recursively over a fork/join pool; each leaf fills its own Stats and
+ * parents merge their children's when they join, so no counter is ever shared between threads.
+ * A LEVELS game advances after every victory until it tops out; an ENDLESS game runs until it tops out.
+ * Both stop at the step limit, which keeps a policy that never loses from running forever.
+ */
+public class BatchRunner {
+
+    // Games per leaf task: enough to amortize the task, small enough to balance the cores
+    private static final int GRAIN = 8;
+
+    public static final class Stats {
+        private long games;
+        private long truncated;    // games stopped by the step limit
+        private long levelsSum;    // level reached, summed over games
+        private int highestLevel;
+        private long scoreSum;
+        private int bestScore;
+        private long pillsSum;
+        private long cascadesSum;
+        private int longestChain;
+        private long steps;
+
+        private void add(Simulation sim, boolean hitLimit) {
+            games++;
+            if (hitLimit) truncated++;
+            levelsSum += sim.getLevel();
+            highestLevel = Math.max(highestLevel, sim.getLevel());
+            scoreSum += sim.getGameScore();
+            bestScore = Math.max(bestScore, sim.getGameScore());
+            pillsSum += sim.getGamePillsUsed();
+            cascadesSum += sim.getGameCascades();
+            longestChain = Math.max(longestChain, sim.getGameLongestChain());
+            steps += sim.getSteps();
+        }
+
+        private Stats merge(Stats other) {
+            games += other.games;
+            truncated += other.truncated;
+            levelsSum += other.levelsSum;
+            highestLevel = Math.max(highestLevel, other.highestLevel);
+            scoreSum += other.scoreSum;
+            bestScore = Math.max(bestScore, other.bestScore);
+            pillsSum += other.pillsSum;
+            cascadesSum += other.cascadesSum;
+            longestChain = Math.max(longestChain, other.longestChain);
+            steps += other.steps;
+            return this;
+        }
+
+        public long getGames() { return games; }
+        public long getTruncated() { return truncated; }
+        public int getHighestLevel() { return highestLevel; }
+        public int getBestScore() { return bestScore; }
+        public long getPillsUsed() { return pillsSum; }
+        public long getCascades() { return cascadesSum; }
+        public int getLongestChain() { return longestChain; }
+        public long getSteps() { return steps; }
+        public double getMeanLevel() { return games == 0 ? 0 : (double) levelsSum / games; }
+        public double getMeanScore() { return games == 0 ? 0 : (double) scoreSum / games; }
+        public double getMeanPills() { return games == 0 ? 0 : (double) pillsSum / games; }
+
+        @Override
+        public String toString() {
+            return String.format("games=%d meanLevel=%.2f highestLevel=%d meanScore=%.1f bestScore=%d pills=%d cascades=%d longestChain=%d steps=%d truncated=%d",
+                    games, getMeanLevel(), highestLevel, getMeanScore(), bestScore, pillsSum, cascadesSum, longestChain, steps, truncated);
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final Policy policy;
+    private final Difficulty difficulty;
+    private final boolean endless;
+    private final long maxStepsPerGame;
+
+    public BatchRunner(Policy policy, Difficulty difficulty, boolean endless, long maxStepsPerGame) {
+        this(ForkJoinPool.commonPool(), policy, difficulty, endless, maxStepsPerGame);
+    }
+
+    public BatchRunner(ForkJoinPool pool, Policy policy, Difficulty difficulty, boolean endless, long maxStepsPerGame) {
+        this.pool = pool;
+        this.policy = policy;
+        this.difficulty = difficulty;
+        this.endless = endless;
+        this.maxStepsPerGame = maxStepsPerGame;
+    }
+
+    // Games firstGame .. firstGame + games - 1; game i always gets the same seed, whatever the pool size
+    public Stats run(long baseSeed, long firstGame, int games) {
+        return pool.invoke(new RangeTask(baseSeed, firstGame, firstGame + games));
+    }
+
+    public static long seedOf(long baseSeed, long game) {
+        return Zobrist.mix(baseSeed + game);
+    }
+
+    // One complete game on the given simulation
+    Stats play(Simulation sim, long seed, Stats stats) {
+        SplittableRandom random = new SplittableRandom(~seed);
+        Simulation.Step step = endless ? sim.resetEndless(seed, difficulty) : sim.reset(seed, 1, difficulty);
+        boolean hitLimit = false;
+        while (true) {
+            if (step.isTerminal()) {
+                if (!step.isVictory()) break;
+                step = sim.advance();
+                continue;
+            }
+            if (sim.getSteps() >= maxStepsPerGame) {
+                hitLimit = true;
+                break;
+            }
+            step = sim.step(policy.choose(sim, random));
+        }
+        stats.add(sim, hitLimit);
+        return stats;
+    }
+
+    // --- Tarefas ---
+
+    @SuppressWarnings("serial")
+    private final class RangeTask extends RecursiveTask<Stats> {
+        private final long baseSeed;
+        private final long from;
+        private final long to;
+
+        RangeTask(long baseSeed, long from, long to) {
+            this.baseSeed = baseSeed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Stats compute() {
+            if (to - from <= GRAIN) {
+                Simulation sim = new Simulation();
+                Stats stats = new Stats();
+                for (long game = from; game < to; game++) play(sim, seedOf(baseSeed, game), stats);
+                return stats;
+            }
+            long mid = (from + to) >>> 1;
+            RangeTask right = new RangeTask(baseSeed, mid, to);
+            right.fork();
+            Stats left = new RangeTask(baseSeed, from, mid).compute();
+            return left.merge(right.join());
+        }
+    }
+}
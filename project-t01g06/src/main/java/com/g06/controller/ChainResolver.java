@@ -0,0 +1,80 @@
+package com.g06.controller;
+
+import com.g06.model.ArenaInterface;
+import com.g06.model.BitBoard;
+
+/**
+ * Clears matches and lets the board fall again until nothing changes (Dr. Mario "chains").
+ * Every step only rescans the rows and columns that received blocks since the previous one
+ * (BitBoard.findNewMatches), so a long chain costs about as much as the cells it touches.
+ * The number of steps and the cells cleared by each are kept until the next call, for scoring.
+ */
+public class ChainResolver {
+
+    private final ArenaInterface arena;
+    private final GravityEngine gravity;
+    private long[] matchMask; // reusable output of BitBoard.findNewMatches
+    private int[] clearedPerStep = new int[8];
+    private int steps;
+    private int totalCleared;
+
+    public ChainResolver(ArenaInterface arena) {
+        this(arena, new GravityEngine(arena));
+    }
+
+    public ChainResolver(ArenaInterface arena, GravityEngine gravity) {
+        this.arena = arena;
+        this.gravity = gravity;
+    }
+
+    // Runs match -> clear -> gravity until no new match appears. Returns the total number of cells cleared.
+    public int resolve() {
+        BitBoard board = arena.getBitBoard();
+        int size = board.getHeight() * board.getWordsPerRow();
+        if (matchMask == null || matchMask.length != size) matchMask = new long[size];
+        steps = 0;
+        totalCleared = 0;
+
+        while (true) {
+            int marked = board.findNewMatches(matchMask);
+            if (marked == 0) break;
+            record(marked);
+            removeMarkedBlocks(board);
+            gravity.settle();
+        }
+        return totalCleared;
+    }
+
+    private void record(int marked) {
+        if (steps == clearedPerStep.length) {
+            int[] grown = new int[steps * 2];
+            System.arraycopy(clearedPerStep, 0, grown, 0, steps);
+            clearedPerStep = grown;
+        }
+        clearedPerStep[steps++] = marked;
+        totalCleared += marked;
+    }
+
+    private void removeMarkedBlocks(BitBoard board) {
+        int words = board.getWordsPerRow();
+        for (int i = 0; i < matchMask.length; i++) {
+            long m = matchMask[i];
+            while (m != 0) {
+                int x = ((i % words) << 6) + Long.numberOfTrailingZeros(m);
+                arena.removeBlock(x, i / words);
+                m &= m - 1;
+            }
+        }
+    }
+
+    // Chain length of the last resolve (0 when nothing matched, 2+ when falling blocks made new matches)
+    public int getSteps() { return steps; }
+
+    // Cells cleared by step i (0-based) of the last resolve
+    public int getCleared(int step) {
+        if (step < 0 || step >= steps) throw new IndexOutOfBoundsException("No chain step " + step);
+        return clearedPerStep[step];
+    }
+
+    public int getTotalCleared() { return totalCleared; }
+}
@@ -1,6 +1,7 @@
 package com.g06.controller;
 
 import com.g06.model.Arena;
+import com.g06.model.Pill;
 import com.g06.view.ArenaViewer;
 import com.g06.view.MenuViewer;
 import com.googlecode.lanterna.TerminalSize;
@@ -27,6 +28,14 @@ public class Game {
     private final int SCALE_Y = 2;
     private final int RES_X = 10;
     private final int RES_Y = 18;
+    // Next level's arena is generated in the background while the current one is played
+    private final LevelPrefetcher prefetcher = new LevelPrefetcher(RES_X, RES_Y);
+    // B toggles autoplay: the bot plays the current pill, one action per loop pass,
+    // steered to the landing the lookahead picks in the background with the next pill in view
+    private final PlacementBot bot = new PlacementBot();
+    private final LookaheadSearch lookahead = new LookaheadSearch();
+    private static final long LOOKAHEAD_MILLIS = 100;
+    private boolean autoplay = false;
 
     private Screen screen;
     private Arena arena;
@@ -110,13 +119,8 @@ public class Game {
 
     private int computeVirusCountForLevel(int lvl) {
         // Safe scaling: base 5, +2 per level, capped by a reasonable max derived from arena size
-        int base = 5;
-        int incr = 2;
-        int maxByArea = (RES_X * RES_Y) / 6; // heuristic cap
-        int max = Math.max(10, maxByArea); // ensure at least 10 cap
-        int val = base + (lvl - 1) * incr;
-        if (val > max) val = max;
-        return val;
+        // (shared with the headless simulation so both play the same levels)
+        return Simulation.virusCountForLevel(lvl, RES_X, RES_Y);
     }
 
     private long computeFallDelayForLevel(int lvl) {
@@ -132,6 +136,7 @@ public class Game {
     public void run() {
         if (headless) {
             runHeadless();
+            prefetcher.shutdown();
             return;
         }
 
@@ -159,6 +164,12 @@ public class Game {
                         continue;
                     }
 
+                    if (key.getKeyType() == KeyType.Character && Character.toLowerCase(key.getCharacter()) == 'b'
+                            && controller == arenaController) {
+                        autoplay = !autoplay;
+                        continue;
+                    }
+
                     // Route to active controller
                     controller.processKey(key);
 
@@ -210,6 +221,7 @@ public class Game {
 
                 // GRAVIDADE / tick only when playing
                 if (gameState == GameState.PLAYING) {
+                    if (autoplay) arenaController.perform(autoplayAction());
                     if (System.currentTimeMillis() - lastFallTime > fallDelayMs) {
                         arenaController.fallPill();
                         lastFallTime = System.currentTimeMillis();
@@ -222,6 +234,8 @@ public class Game {
                     }
                     else if (arenaController.isVictory()) {
                         gameState = GameState.VICTORY;
+                        // Normally already running since the level started; no-op in that case
+                        prefetcher.prefetch(level + 1, computeVirusCountForLevel(level + 1));
                         // Capture elapsed time up to victory and pause the timer display
                         if (levelStartTime != null) {
                             levelElapsedBeforePause = java.time.Duration.between(levelStartTime, Instant.now()).getSeconds();
@@ -240,6 +254,16 @@ public class Game {
         } catch (IOException | InterruptedException e){
             e.printStackTrace();
         }
+        prefetcher.shutdown();
+    }
+
+    // Starts a lookahead for each new pill; the one-ply bot plays until the lookahead has a landing
+    private Action autoplayAction() {
+        Pill pill = arena.getCurrentPill();
+        if (pill != null && !lookahead.isSearching(pill)) lookahead.start(arena, Math.min(fallDelayMs / 2, LOOKAHEAD_MILLIS));
+        LookaheadSearch.Result result = lookahead.best();
+        if (result == null || result.getPill() != pill) return bot.next(arena);
+        return bot.steer(arena, result.getX(), result.getY(), result.getOrientation());
     }
 
     private void runHeadless() {
@@ -388,9 +412,10 @@ public class Game {
              this.arena.setLevel(this.level);
              this.arenaController = new ArenaController(arena, true, menuController.getDifficulty(), cumulativeSwordCharges, cumulativeBlocksCleared);
          } else {
-             this.arena = new Arena(RES_X, RES_Y, computeVirusCountForLevel(1));
+             this.arena = prefetcher.take(1, computeVirusCountForLevel(1));
              this.arena.setLevel(this.level);
              this.arenaController = new ArenaController(arena, false, menuController.getDifficulty(), cumulativeSwordCharges, cumulativeBlocksCleared);
+             prefetcher.prefetch(2, computeVirusCountForLevel(2));
          }
          if (!headless) this.arenaViewer = new ArenaViewer(screen.newTextGraphics(), SCALE_X, SCALE_Y);
          // Update fallDelay according to menu selection
@@ -407,10 +432,12 @@ public class Game {
             this.arena.setLevel(this.level);
             this.arenaController = new ArenaController(arena, true, menuController.getDifficulty(), cumulativeSwordCharges, cumulativeBlocksCleared);
          } else {
+             // Swap in the arena prefetched while the previous level was played (built here only if it is not ready)
              int virusCount = computeVirusCountForLevel(lvl);
-             this.arena = new Arena(RES_X, RES_Y, virusCount);
+             this.arena = prefetcher.take(lvl, virusCount);
              this.arena.setLevel(this.level);
              this.arenaController = new ArenaController(arena, false, menuController.getDifficulty(), cumulativeSwordCharges, cumulativeBlocksCleared);
+             prefetcher.prefetch(lvl + 1, computeVirusCountForLevel(lvl + 1));
          }
          if (!headless) this.arenaViewer = new ArenaViewer(screen.newTextGraphics(), SCALE_X, SCALE_Y);
 
@@ -0,0 +1,303 @@
+package com.g06.controller;
+
+import com.g06.model.ArenaGeometry;
+import com.g06.model.ArenaInterface;
+import com.g06.model.BitBoard;
+import com.g06.model.Cell;
+
+/**
+ * Settles every floating group of blocks in a single pass.
+ *
+ * Groups are the two halves of a capsule joined by their cell link (union-find), or single orphan
+ * halves; neighbouring blocks from other capsules do not hold each other up. Viruses and walls never move.
+ * Group A must land before group B when, in some column, a cell of A is the next occupied cell below
+ * a cell of B. Tarjan's SCC algorithm gives that order and merges any groups that depend on each other
+ * both ways into one rigid body. Bodies are then dropped in bottom-up (topological) order
+ * against a per-column surface of everything already settled, and the moves are applied bottom-up
+ * per column. Everything is O(occupied cells) and all buffers are reused between calls.
+ */
+public class GravityEngine {
+
+    private final ArenaInterface arena;
+
+    private int width;
+    private int height;
+    private int cellCount; // occupied cells in the current pass
+    private int run;       // stamp that invalidates per-pass data without clearing arrays
+
+    // Per cell (index = x * height + y)
+    private int[] parent;
+    private int[] cellNode;
+    private int[] nextCell;
+    private int[] rootStamp;
+    private int[] rootNode;
+    private int[] order; // occupied cells, column by column, bottom-up
+
+    // Per node (group)
+    private int nodeCount;
+    private int[] firstCell;
+    private boolean[] isStatic;
+    private int[] edgeStart;
+    private int[] edgeTarget;
+    private int[] edgeFrom;
+    private int[] edgeTo;
+    private int edgeCount;
+
+    // Tarjan / SCC
+    private int[] index;
+    private int[] low;
+    private boolean[] onStack;
+    private int[] stack;
+    private int[] callStack;
+    private int[] edgePos;
+    private int[] sccOf;
+    private int[] sccNext;  // next node in the same SCC
+    private int[] sccFirst;
+    private int[] sccFall;
+    private int sccCount;
+
+    // Highest settled row per column segment: [x * (height + 1) + wall row below the segment]
+    private int[] surfaceRow;
+    private int[] surfaceStamp;
+
+    public GravityEngine(ArenaInterface arena) {
+        this.arena = arena;
+        prepare();
+    }
+
+    // Drops every unsupported group as far as it can go. Returns the number of cells moved.
+    public int settle() {
+        prepare();
+        run++;
+        collectGroups();
+        if (cellCount == 0) return 0;
+        buildEdges();
+        findComponents();
+        computeFalls();
+        return applyMoves();
+    }
+
+    // Buffers are sized once per board size; a resized arena reallocates them on the next pass
+    private void prepare() {
+        int w = arena.getWidth();
+        int h = arena.getHeight();
+        if (parent != null && w == width && h == height) return;
+        width = w;
+        height = h;
+        int n = w * h;
+        parent = new int[n];
+        cellNode = new int[n];
+        nextCell = new int[n];
+        rootStamp = new int[n];
+        rootNode = new int[n];
+        order = new int[n];
+        firstCell = new int[n];
+        isStatic = new boolean[n];
+        edgeStart = new int[n + 1];
+        edgeTarget = new int[n];
+        edgeFrom = new int[n];
+        edgeTo = new int[n];
+        index = new int[n];
+        low = new int[n];
+        onStack = new boolean[n];
+        stack = new int[n];
+        callStack = new int[n];
+        edgePos = new int[n];
+        sccOf = new int[n];
+        sccNext = new int[n];
+        sccFirst = new int[n];
+        sccFall = new int[n];
+        surfaceRow = new int[w * (h + 1)];
+        surfaceStamp = new int[w * (h + 1)];
+        run = 0;
+    }
+
+    // --- Grupos (union-find) ---
+
+    private void collectGroups() {
+        BitBoard board = arena.getBitBoard();
+        int words = board.getWordsPerColumn();
+        cellCount = 0;
+
+        for (int x = 0; x < width; x++) {
+            for (int w = words - 1; w >= 0; w--) {
+                long m = board.getColumnWord(x, w);
+                while (m != 0) {
+                    int bit = 63 - Long.numberOfLeadingZeros(m);
+                    m &= ~(1L << bit);
+                    int y = (w << 6) + bit;
+                    int c = x * height + y;
+                    order[cellCount++] = c;
+                    parent[c] = c;
+                    if (board.isVirus(x, y)) continue;
+                    // Join the capsule partner when it was already visited: below (same column) or left (previous column)
+                    int link = arena.getLink(x, y);
+                    if (link == Cell.LINK_DOWN && y + 1 < height && arena.getLink(x, y + 1) == Cell.LINK_UP) union(c, c + 1);
+                    else if (link == Cell.LINK_LEFT && x > 0 && arena.getLink(x - 1, y) == Cell.LINK_RIGHT) union(c, c - height);
+                }
+            }
+        }
+
+        nodeCount = 0;
+        for (int i = 0; i < cellCount; i++) {
+            int c = order[i];
+            int r = find(c);
+            if (rootStamp[r] != run) {
+                rootStamp[r] = run;
+                rootNode[r] = nodeCount;
+                firstCell[nodeCount] = -1;
+                isStatic[nodeCount] = board.isVirus(c / height, c % height);
+                nodeCount++;
+            }
+            int node = rootNode[r];
+            cellNode[c] = node;
+            nextCell[c] = firstCell[node];
+            firstCell[node] = c;
+        }
+    }
+
+    private int find(int c) {
+        while (parent[c] != c) {
+            parent[c] = parent[parent[c]];
+            c = parent[c];
+        }
+        return c;
+    }
+
+    private void union(int a, int b) {
+        int ra = find(a), rb = find(b);
+        if (ra != rb) parent[ra] = rb;
+    }
+
+    // --- Dependências entre grupos ---
+
+    private void buildEdges() {
+        ArenaGeometry geometry = arena.getGeometry();
+        edgeCount = 0;
+        // order is bottom-up per column, so consecutive entries in the same column are neighbours in the stack
+        for (int i = 1; i < cellCount; i++) {
+            int lower = order[i - 1];
+            int upper = order[i];
+            int x = upper / height;
+            if (lower / height != x) continue;
+            int a = cellNode[lower], b = cellNode[upper];
+            if (a == b) continue;
+            // A wall between the two cells means the upper one never rests on the lower one
+            if (geometry.nextBlockedBelow(x, upper % height) < lower % height) continue;
+            edgeFrom[edgeCount] = a;
+            edgeTo[edgeCount] = b;
+            edgeCount++;
+        }
+
+        // Compressed adjacency (counting sort by source node)
+        for (int v = 0; v <= nodeCount; v++) edgeStart[v] = 0;
+        for (int e = 0; e < edgeCount; e++) edgeStart[edgeFrom[e] + 1]++;
+        for (int v = 0; v < nodeCount; v++) edgeStart[v + 1] += edgeStart[v];
+        for (int v = 0; v < nodeCount; v++) edgePos[v] = edgeStart[v];
+        for (int e = 0; e < edgeCount; e++) edgeTarget[edgePos[edgeFrom[e]]++] = edgeTo[e];
+    }
+
+    // Iterative Tarjan; SCCs are emitted with every SCC after all the SCCs that depend on it
+    private void findComponents() {
+        for (int v = 0; v < nodeCount; v++) {
+            index[v] = -1;
+            onStack[v] = false;
+        }
+        int counter = 0;
+        int sp = 0;
+        sccCount = 0;
+
+        for (int start = 0; start < nodeCount; start++) {
+            if (index[start] != -1) continue;
+            int cp = 0;
+            callStack[cp++] = start;
+            index[start] = low[start] = counter++;
+            stack[sp++] = start;
+            onStack[start] = true;
+            edgePos[start] = edgeStart[start];
+
+            while (cp > 0) {
+                int v = callStack[cp - 1];
+                if (edgePos[v] < edgeStart[v + 1]) {
+                    int w = edgeTarget[edgePos[v]++];
+                    if (index[w] == -1) {
+                        index[w] = low[w] = counter++;
+                        stack[sp++] = w;
+                        onStack[w] = true;
+                        edgePos[w] = edgeStart[w];
+                        callStack[cp++] = w;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+                cp--;
+                if (cp > 0) {
+                    int caller = callStack[cp - 1];
+                    low[caller] = Math.min(low[caller], low[v]);
+                }
+                if (low[v] == index[v]) {
+                    int scc = sccCount++;
+                    sccFirst[scc] = -1;
+                    int w;
+                    do {
+                        w = stack[--sp];
+                        onStack[w] = false;
+                        sccOf[w] = scc;
+                        sccNext[w] = sccFirst[scc];
+                        sccFirst[scc] = w;
+                    } while (w != v);
+                }
+            }
+        }
+    }
+
+    // --- Queda ---
+
+    private void computeFalls() {
+        ArenaGeometry geometry = arena.getGeometry();
+        // Tarjan emits an SCC after everything resting on it, so walking backwards goes bottom-up
+        for (int scc = sccCount - 1; scc >= 0; scc--) {
+            boolean fixed = false;
+            int fall = Integer.MAX_VALUE;
+            for (int v = sccFirst[scc]; v != -1; v = sccNext[v]) {
+                if (isStatic[v]) fixed = true;
+                for (int c = firstCell[v]; c != -1; c = nextCell[c]) {
+                    int x = c / height, y = c % height;
+                    int key = geometry.nextBlockedBelow(x, y);
+                    int slot = x * (height + 1) + key;
+                    int obstacle = surfaceStamp[slot] == run ? surfaceRow[slot] : key;
+                    fall = Math.min(fall, obstacle - 1 - y);
+                }
+            }
+            if (fixed || fall < 0) fall = 0;
+            sccFall[scc] = fall;
+
+            for (int v = sccFirst[scc]; v != -1; v = sccNext[v]) {
+                for (int c = firstCell[v]; c != -1; c = nextCell[c]) {
+                    int x = c / height, y = c % height;
+                    int slot = x * (height + 1) + geometry.nextBlockedBelow(x, y);
+                    int row = y + fall;
+                    if (surfaceStamp[slot] != run || row < surfaceRow[slot]) {
+                        surfaceStamp[slot] = run;
+                        surfaceRow[slot] = row;
+                    }
+                }
+            }
+        }
+    }
+
+    // Cells only move down their own column, so moving each column bottom-up never overwrites a cell
+    private int applyMoves() {
+        int moved = 0;
+        for (int i = 0; i < cellCount; i++) {
+            int c = order[i];
+            int fall = sccFall[sccOf[cellNode[c]]];
+            if (fall == 0) continue;
+            int x = c / height, y = c % height;
+            arena.moveBlock(x, y, x, y + fall);
+            moved++;
+        }
+        return moved;
+    }
+}
@@ -0,0 +1,421 @@
+package com.g06.controller;
+
+import com.g06.model.ArenaInterface;
+import com.g06.model.BitBoard;
+import com.g06.model.Cell;
+import com.g06.model.CompactArena;
+import com.g06.model.PieceShape;
+import com.g06.model.Pill;
+import com.g06.model.Zobrist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checks whether a virus layout can be cleared with a given pill sequence.
+ *
+ * A depth-first search tries, for each pill in turn, every landing a {@link PlacementSearch} reaches from the spawn
+ * with the controller's own moves (slides, rotations with their wall kicks, tucks under overhangs), running the
+ * real match/chain/gravity rules on a CompactArena per tree level.
+ * Children are ordered best first (fewest viruses left, most same-colored contacts, lowest stack) and explored
+ * as a limited discrepancy search: the first pass only follows the best child, later passes allow more and more
+ * picks away from it, and the last pass is the full tree, which proves a layout unsolvable.
+ * A branch also dies when a virus color no longer appears in the remaining pills.
+ * Failed subtrees go into a {@link TranspositionTable} keyed by the board hash and the remaining pills, so a board
+ * reached again by another move order, another pass, another thread or another layout is not searched twice.
+ * Each layout has a node and a time budget; running out gives UNKNOWN rather than a wrong answer.
+ * Everything runs on a fork/join pool: a single layout forks its first move, and batches analyze one layout per task.
+ */
+public class LevelAnalyzer {
+
+    // UNSOLVABLE: no sequence of landings of the given pills clears the layout (swords and power-ups not counted);
+    // UNKNOWN: the budget ran out first
+    public enum Verdict { SOLVABLE, UNSOLVABLE, UNKNOWN }
+
+    public static final class Report {
+        private final Verdict verdict;
+        private final int viruses;
+        private final int pillsUsed;
+        private final long nodes;
+
+        Report(Verdict verdict, int viruses, int pillsUsed, long nodes) {
+            this.verdict = verdict;
+            this.viruses = viruses;
+            this.pillsUsed = pillsUsed;
+            this.nodes = nodes;
+        }
+
+        public Verdict getVerdict() { return verdict; }
+        public boolean isSolvable() { return verdict == Verdict.SOLVABLE; }
+        // Pills used by the clearing sequence found, -1 without one
+        public int getPillsUsed() { return pillsUsed; }
+        public long getNodes() { return nodes; }
+
+        // Pills needed per virus by the sequence found (higher is harder); NaN when no sequence was found
+        public double getDifficulty() {
+            if (verdict != Verdict.SOLVABLE) return Double.NaN;
+            return viruses == 0 ? 0 : (double) pillsUsed / viruses;
+        }
+
+        @Override
+        public String toString() {
+            return verdict + " pills=" + pillsUsed + " viruses=" + viruses + " nodes=" + nodes;
+        }
+    }
+
+    public static final int DEFAULT_TABLE_SIZE = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private final long nodeBudget;
+    private final long timeBudgetNanos;
+    private final TranspositionTable table;
+
+    public LevelAnalyzer(long nodeBudget, long timeBudgetMillis) {
+        this(ForkJoinPool.commonPool(), nodeBudget, timeBudgetMillis);
+    }
+
+    public LevelAnalyzer(ForkJoinPool pool, long nodeBudget, long timeBudgetMillis) {
+        this(pool, nodeBudget, timeBudgetMillis,
+                new TranspositionTable(DEFAULT_TABLE_SIZE, TranspositionTable.Replacement.GENERATION_THEN_DEPTH));
+    }
+
+    public LevelAnalyzer(ForkJoinPool pool, long nodeBudget, long timeBudgetMillis, TranspositionTable table) {
+        this.pool = pool;
+        this.nodeBudget = nodeBudget;
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        this.table = table;
+    }
+
+    public TranspositionTable getTable() { return table; }
+
+    // One layout; the moves of the first pill are searched in parallel
+    public Report analyze(ArenaInterface level, Pill[] pills) {
+        table.nextGeneration();
+        return pool.invoke(new LevelTask(level, pills, true));
+    }
+
+    // Many layouts against the same pill sequence, one task each; reports come back in input order
+    public List<Report> analyzeAll(List<? extends ArenaInterface> levels, Pill[] pills) {
+        table.nextGeneration();
+        return pool.invoke(new RecursiveTask<List<Report>>() {
+            @Override
+            protected List<Report> compute() {
+                List<LevelTask> tasks = new ArrayList<>(levels.size());
+                for (ArenaInterface level : levels) tasks.add(new LevelTask(level, pills, false));
+                invokeAll(tasks);
+                List<Report> reports = new ArrayList<>(tasks.size());
+                for (LevelTask task : tasks) reports.add(task.join());
+                return reports;
+            }
+        });
+    }
+
+    // --- Tarefas ---
+
+    @SuppressWarnings("serial")
+    private final class LevelTask extends RecursiveTask<Report> {
+        private final ArenaInterface level;
+        private final Pill[] pills;
+        private final boolean forkRoot;
+
+        LevelTask(ArenaInterface level, Pill[] pills, boolean forkRoot) {
+            this.level = level;
+            this.pills = pills;
+            this.forkRoot = forkRoot;
+        }
+
+        @Override
+        protected Report compute() {
+            Budget budget = new Budget(nodeBudget, System.nanoTime() + timeBudgetNanos);
+            CompactArena root = load(level);
+            int viruses = root.getVirusCount();
+            int used;
+            if (viruses == 0) used = 0;
+            else if (!forkRoot) used = new Search(root, pills, budget, table).solveFrom(0, -1);
+            else used = forkFirstMove(root, budget);
+
+            Verdict verdict = used >= 0 ? Verdict.SOLVABLE : budget.exhausted.get() ? Verdict.UNKNOWN : Verdict.UNSOLVABLE;
+            return new Report(verdict, viruses, used, budget.nodes.get());
+        }
+
+        private int forkFirstMove(CompactArena root, Budget budget) {
+            Search planner = new Search(root, pills, budget, table);
+            int count = planner.placements(0, root);
+            List<MoveTask> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) tasks.add(new MoveTask(root, pills, budget, table, planner.placement(0, i)));
+            invokeAll(tasks);
+            int best = -1;
+            for (MoveTask task : tasks) {
+                int used = task.join();
+                if (used >= 0 && (best < 0 || used < best)) best = used;
+            }
+            return best;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class MoveTask extends RecursiveTask<Integer> {
+        private final CompactArena root;
+        private final Pill[] pills;
+        private final Budget budget;
+        private final TranspositionTable table;
+        private final int placement;
+
+        MoveTask(CompactArena root, Pill[] pills, Budget budget, TranspositionTable table, int placement) {
+            this.root = root;
+            this.pills = pills;
+            this.budget = budget;
+            this.table = table;
+            this.placement = placement;
+        }
+
+        @Override
+        protected Integer compute() {
+            return new Search(root, pills, budget, table).solveFrom(0, placement);
+        }
+    }
+
+    // Shared by every task of one layout
+    private static final class Budget {
+        final AtomicLong nodes = new AtomicLong();
+        final AtomicBoolean exhausted = new AtomicBoolean();
+        final AtomicBoolean solved = new AtomicBoolean();
+        final long maxNodes;
+        final long deadline;
+
+        Budget(long maxNodes, long deadline) {
+            this.maxNodes = maxNodes;
+            this.deadline = deadline;
+        }
+
+        // Counts one node; false once the layout is solved elsewhere or the budget is spent
+        boolean spend() {
+            if (solved.get() || exhausted.get()) return false;
+            long n = nodes.incrementAndGet();
+            if (n > maxNodes || ((n & 63) == 0 && System.nanoTime() > deadline)) {
+                exhausted.set(true);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    // Copies any arena into a CompactArena the search can clone cheaply; the board is left with no pending
+    // changes, so every search step only rescans what the pill touched
+    private static CompactArena load(ArenaInterface level) {
+        CompactArena copy = PlacementSearch.scratch(level.getGeometry());
+        PlacementSearch.load(level, copy, new ChainResolver(copy));
+        return copy;
+    }
+
+    // --- Procura ---
+
+    // Depth-first search over one subtree; boards, chain resolvers and move buffers are reused per depth
+    private static final class Search {
+        private static final PieceShape SHAPE = PieceShape.CAPSULE;
+        // Table value of a subtree searched without any discrepancy cut: unsolvable for every limit
+        private static final long PROVEN = Integer.MAX_VALUE;
+        private static final int INDEX_BITS = 16;
+
+        private final CompactArena root;
+        private final Pill[] pills;
+        private final Budget budget;
+        private final TranspositionTable table;
+        private final long[] suffixKeys; // [depth]: hash of the pills from this one on, part of the table key
+        private final CompactArena[] boards;
+        private final ChainResolver[] chains;
+        private final PlacementSearch[] searches;
+        private final int[][] placementBuffer; // per depth: x | y << 12 | orientation << 24
+        private final long[][] keyBuffer;      // per depth: ordering key << INDEX_BITS | placement index
+        private final int spawnX;
+        private final int[][] colorsLeft; // [depth][color]: pill halves of that color from this pill on
+        private boolean cut; // the current pass skipped a child because of the discrepancy limit
+
+        Search(CompactArena root, Pill[] pills, Budget budget, TranspositionTable table) {
+            this.root = root;
+            this.pills = pills;
+            this.budget = budget;
+            this.table = table;
+            this.boards = new CompactArena[pills.length + 1];
+            this.chains = new ChainResolver[pills.length + 1];
+            this.searches = new PlacementSearch[pills.length + 1];
+            this.placementBuffer = new int[pills.length][];
+            this.keyBuffer = new long[pills.length][];
+            this.spawnX = root.getWidth() / 2;
+            boards[0] = root;
+            searches[0] = new PlacementSearch(root);
+            this.colorsLeft = new int[pills.length + 1][BitBoard.COLORS.length];
+            this.suffixKeys = new long[pills.length + 1];
+            suffixKeys[pills.length] = Zobrist.mix(pills.length);
+            for (int d = pills.length - 1; d >= 0; d--) {
+                System.arraycopy(colorsLeft[d + 1], 0, colorsLeft[d], 0, BitBoard.COLORS.length);
+                long pillKey = 0;
+                for (int i = 0; i < SHAPE.getCellCount(); i++) {
+                    int c = BitBoard.colorIndex(pills[d].getColor(i));
+                    if (c != BitBoard.NO_COLOR) colorsLeft[d][c]++;
+                    pillKey = pillKey * 4 + c + 1;
+                }
+                suffixKeys[d] = Zobrist.mix(suffixKeys[d + 1] * 31 + pillKey);
+            }
+        }
+
+        // Pills needed from the board at this depth (after forcing the given first placement, if any), or -1.
+        // Widens the discrepancy limit until a solution turns up, a pass finishes without cutting anything
+        // (nothing left to try) or the budget runs out.
+        int solveFrom(int depth, int firstPlacement) {
+            if (firstPlacement >= 0) {
+                if (!budget.spend()) return -1;
+                if (apply(depth, firstPlacement).getVirusCount() == 0) return solved(depth + 1);
+                depth++;
+            }
+            for (int limit = 0; ; limit = limit == 0 ? 1 : limit * 2) {
+                cut = false;
+                int used = solve(depth, limit);
+                if (used >= 0 || !cut || budget.exhausted.get() || budget.solved.get()) return used;
+            }
+        }
+
+        // One pass: the k-th best child costs k discrepancies.
+        // A complete failure is remembered with the limit it was searched to (PROVEN when nothing was cut),
+        // and any later visit with a limit no larger than that fails straight away.
+        private int solve(int depth, int limit) {
+            if (depth == pills.length || missingColor(depth)) return -1;
+            long key = boards[depth].getBitBoard().getHash() ^ suffixKeys[depth];
+            long known = table.get(key, 0, -1);
+            if (known >= limit) {
+                if (known != PROVEN) cut = true;
+                return -1;
+            }
+            boolean outerCut = cut;
+            cut = false;
+            int used = expand(depth, limit);
+            // A pass stopped by the budget or by a solution elsewhere proves nothing
+            if (used < 0 && !budget.exhausted.get() && !budget.solved.get()) {
+                table.put(key, cut ? limit : PROVEN, pills.length - depth);
+            }
+            cut |= outerCut;
+            return used;
+        }
+
+        private int expand(int depth, int limit) {
+            int count = placements(depth, boards[depth]);
+            if (count == 0) return -1; // topped out
+            order(depth, count);
+            for (int k = 0; k < count; k++) {
+                if (k > limit) {
+                    cut = true;
+                    return -1;
+                }
+                if (!budget.spend()) return -1;
+                int placement = placementBuffer[depth][(int) (keyBuffer[depth][k] & (1 << INDEX_BITS) - 1)];
+                if (apply(depth, placement).getVirusCount() == 0) return solved(depth + 1);
+                int used = solve(depth + 1, limit - k);
+                if (used >= 0) return used;
+            }
+            return -1;
+        }
+
+        private int solved(int pillsUsed) {
+            budget.solved.set(true);
+            return pillsUsed;
+        }
+
+        // A virus whose color is on no remaining pill half can never be cleared
+        private boolean missingColor(int depth) {
+            BitBoard board = boards[depth].getBitBoard();
+            for (int c = 0; c < BitBoard.COLORS.length; c++) {
+                if (board.getVirusCount(c) > 0 && colorsLeft[depth][c] == 0) return true;
+            }
+            return false;
+        }
+
+        int placement(int depth, int i) { return placementBuffer[depth][i]; }
+
+        // Every landing the pill at this depth reaches from the spawn, as the controller would move it
+        int placements(int depth, CompactArena board) {
+            PlacementSearch search = searches[depth];
+            if (placementBuffer[depth] == null) {
+                placementBuffer[depth] = new int[search.states()];
+                keyBuffer[depth] = new long[search.states()];
+            }
+            int found = search.search(spawnX, 1, 0);
+            Pill pill = pills[depth];
+            // Same colors on both halves: orientations 2 and 3 cover the cells of 0 and 1, keep only one of each
+            boolean symmetric = pill.getColor1().equals(pill.getColor2());
+            int count = 0;
+            for (int i = 0; i < found && count < 1 << INDEX_BITS; i++) {
+                int state = search.candidate(i);
+                int x = search.x(state), y = search.y(state), o = PlacementSearch.orientation(state);
+                if (symmetric && o == 2 && search.reached(search.state(x - 1, y, 0))) continue;
+                if (symmetric && o == 3 && y + 1 < board.getHeight() && search.reached(search.state(x, y + 1, 1))) continue;
+                placementBuffer[depth][count++] = x | y << 12 | o << 24;
+            }
+            return count;
+        }
+
+        // Scores every placement on the next board and sorts them best first (insertion sort, short lists)
+        private void order(int depth, int count) {
+            long[] keys = keyBuffer[depth];
+            for (int i = 0; i < count; i++) {
+                int contacts = contacts(boards[depth], pills[depth], placementBuffer[depth][i]);
+                CompactArena next = apply(depth, placementBuffer[depth][i]);
+                long key = (long) next.getVirusCount() << 24 | (long) (15 - Math.min(15, contacts)) << 20 | tallest(next);
+                keys[i] = key << INDEX_BITS | i;
+            }
+            for (int i = 1; i < count; i++) {
+                long k = keys[i];
+                int j = i - 1;
+                while (j >= 0 && keys[j] > k) {
+                    keys[j + 1] = keys[j];
+                    j--;
+                }
+                keys[j + 1] = k;
+            }
+        }
+
+        // Writes the pill into the board of depth + 1 (a copy of this depth) and resolves clears and chains
+        private CompactArena apply(int depth, int placement) {
+            int next = depth + 1;
+            if (boards[next] == null) {
+                boards[next] = PlacementSearch.scratch(root.getGeometry());
+                chains[next] = new ChainResolver(boards[next]);
+                searches[next] = new PlacementSearch(boards[next]);
+            }
+            CompactArena board = boards[next];
+            board.copyFrom(boards[depth]);
+            int x = placement & 0xFFF, y = placement >>> 12 & 0xFFF, o = placement >>> 24;
+            Pill pill = pills[depth];
+            for (int i = 0; i < SHAPE.getCellCount(); i++) {
+                int cx = x + SHAPE.dx(o, i), cy = y + SHAPE.dy(o, i);
+                board.setCell(cx, cy, Cell.block(BitBoard.colorIndex(pill.getColor(i)), 0, SHAPE.link(o, i)));
+            }
+            chains[next].resolve();
+            return board;
+        }
+
+        // Same-colored neighbours of the two halves once placed
+        private static int contacts(CompactArena board, Pill pill, int placement) {
+            int x = placement & 0xFFF, y = placement >>> 12 & 0xFFF, o = placement >>> 24;
+            BitBoard bits = board.getBitBoard();
+            int total = 0;
+            for (int i = 0; i < SHAPE.getCellCount(); i++) {
+                int cx = x + SHAPE.dx(o, i), cy = y + SHAPE.dy(o, i);
+                int color = BitBoard.colorIndex(pill.getColor(i));
+                if (cx > 0 && bits.colorAt(cx - 1, cy) == color) total++;
+                if (cx + 1 < board.getWidth() && bits.colorAt(cx + 1, cy) == color) total++;
+                if (cy + 1 < board.getHeight() && bits.colorAt(cx, cy + 1) == color) total++;
+            }
+            return total;
+        }
+
+        private static int tallest(CompactArena board) {
+            int max = 0;
+            for (int x = 0; x < board.getWidth(); x++) max = Math.max(max, board.getColumnHeight(x));
+            return max;
+        }
+    }
+}
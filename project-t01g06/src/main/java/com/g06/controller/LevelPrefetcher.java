@@ -0,0 +1,92 @@
+package com.g06.controller;
+
+import com.g06.model.Arena;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Builds the next level's arena on a background thread while the current level is played,
+ * so the level transition only swaps in a ready object. One level is kept in flight; asking for
+ * another level drops it. If the arena is not ready when it is needed, it is built on the caller's thread.
+ * A level whose arena fails validation on every attempt throws IllegalStateException from {@link #take}.
+ */
+public class LevelPrefetcher {
+
+    // Layouts that fail validation are regenerated up to this many times
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final int width;
+    private final int height;
+    private final ExecutorService executor;
+    private Future<Arena> pending;
+    private int pendingLevel;
+    private int pendingViruses;
+
+    public LevelPrefetcher(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.executor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "level-prefetch");
+            thread.setDaemon(true); // never keeps the game from exiting
+            return thread;
+        });
+    }
+
+    // Starts building the arena for the given level, unless that exact level is already in flight
+    public synchronized void prefetch(int level, int virusCount) {
+        if (pending != null && pendingLevel == level && pendingViruses == virusCount) return;
+        if (pending != null) pending.cancel(true);
+        pendingLevel = level;
+        pendingViruses = virusCount;
+        pending = executor.submit(() -> build(level, virusCount));
+    }
+
+    public synchronized boolean isReady(int level, int virusCount) {
+        return pending != null && pendingLevel == level && pendingViruses == virusCount && pending.isDone() && !pending.isCancelled();
+    }
+
+    // The prefetched arena when it is finished, otherwise a new one built right now
+    public synchronized Arena take(int level, int virusCount) {
+        if (isReady(level, virusCount)) {
+            try {
+                Arena arena = pending.get();
+                pending = null;
+                return arena;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                // fall back to building it here
+            }
+        }
+        if (pending != null) pending.cancel(true);
+        pending = null;
+        return build(level, virusCount);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // New arena with every requested virus placed and a free spawn; an arena that never validates is an error,
+    // never handed to the game
+    private Arena build(int level, int virusCount) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Arena arena = new Arena(width, height, virusCount);
+            if (isValid(arena, virusCount)) {
+                arena.setLevel(level);
+                return arena;
+            }
+        }
+        throw new IllegalStateException("No valid " + width + "x" + height + " arena with " + virusCount
+                + " viruses for level " + level + " after " + MAX_ATTEMPTS + " attempts");
+    }
+
+    static boolean isValid(Arena arena, int virusCount) {
+        if (arena.getVirusCount() != virusCount) return false;
+        int spawnX = arena.getWidth() / 2;
+        return !arena.getBitBoard().isOccupied(spawnX, 1) && !arena.getBitBoard().isOccupied(spawnX + 1, 1);
+    }
+}
@@ -0,0 +1,310 @@
+package com.g06.controller;
+
+import com.g06.model.ArenaInterface;
+import com.g06.model.CompactArena;
+import com.g06.model.Pill;
+import com.g06.model.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-ply search with the preview pill, run in the background under a time budget. {@link #start} snapshots the
+ * board and returns at once; the pool then rates every landing of the current pill (one ply, as PlacementBot does),
+ * and, best one-ply landings first, plays each one and adds the best landing of the next pill from its spawn.
+ * Workers take landings from a shared counter and publish the best value so far through an atomic, so
+ * {@link #best()} can be read at any time without waiting. Starting a new search (a new pill) or {@link #cancel}
+ * stops the old one between landings; at the deadline the search stops and the best landing found so far stands.
+ * Boards and tasks are reused across searches; the caller's thread only copies the board.
+ */
+public class LookaheadSearch {
+
+    // A board that cannot take the next pill ends the game
+    private static final long NO_SPAWN = -PlacementSearch.VICTORY;
+    private static final long NONE = Long.MIN_VALUE;
+
+    /**
+     * Landing chosen for one pill: where to put it, its value, and how far the search got (landings rated with
+     * both plies out of all landings). Immutable.
+     */
+    public static final class Result {
+        private final Pill pill;
+        private final int x;
+        private final int y;
+        private final int orientation;
+        private final long score;
+        private final int evaluated;
+        private final int candidates;
+
+        Result(Pill pill, int x, int y, int orientation, long score, int evaluated, int candidates) {
+            this.pill = pill;
+            this.x = x;
+            this.y = y;
+            this.orientation = orientation;
+            this.score = score;
+            this.evaluated = evaluated;
+            this.candidates = candidates;
+        }
+
+        public Pill getPill() { return pill; }
+        public int getX() { return x; }
+        public int getY() { return y; }
+        public int getOrientation() { return orientation; }
+        public long getScore() { return score; }
+        // Landings rated with the next pill too; 0 means the result is the one-ply choice
+        public int getEvaluated() { return evaluated; }
+        public int getCandidates() { return candidates; }
+        public boolean isComplete() { return evaluated == candidates; }
+    }
+
+    private final ForkJoinPool pool;
+    private final int workers;
+    private final AtomicInteger generation = new AtomicInteger();
+    private final List<Context> contexts = new ArrayList<>();
+    private volatile Context current;
+
+    public LookaheadSearch() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public LookaheadSearch(ForkJoinPool pool) {
+        this.pool = pool;
+        this.workers = Math.max(1, pool.getParallelism());
+    }
+
+    // Starts searching for the arena's current pill and returns at once; any search still running is dropped
+    public void start(ArenaInterface arena, long budgetMillis) {
+        int gen = generation.incrementAndGet();
+        Pill pill = arena.getCurrentPill();
+        if (pill == null || arena.getCurrentSword() != null || pill.getShape() != PlacementSearch.SHAPE) {
+            current = null;
+            return;
+        }
+        Context context = idle(arena);
+        context.prepare(arena, pill, gen, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis));
+        current = context;
+        pool.execute(context.root);
+    }
+
+    // Starts a search and waits for it to finish or for the budget to run out, then returns the best landing found
+    public Result search(ArenaInterface arena, long budgetMillis) {
+        start(arena, budgetMillis);
+        Context context = current;
+        if (context == null) return null;
+        long left = context.deadline - System.nanoTime();
+        try {
+            if (left > 0) context.root.get(left, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // the best landing so far stands
+        }
+        return best();
+    }
+
+    // Best landing so far for the pill of the last start, or null before the first one-ply pass is done
+    public Result best() {
+        Context context = current;
+        return context == null ? null : context.result();
+    }
+
+    // True while the last start was for this pill (and was not cancelled)
+    public boolean isSearching(Pill pill) {
+        Context context = current;
+        return context != null && context.pill == pill;
+    }
+
+    // Searches each new pill (waiting up to the budget) and steers the bot to the result; for simulations and batches
+    public Policy asPolicy(PlacementBot bot, long budgetMillis) {
+        return (sim, random) -> {
+            ArenaInterface arena = sim.getArena();
+            if (!isSearching(arena.getCurrentPill())) search(arena, budgetMillis);
+            Result result = best();
+            return result == null ? bot.next(arena) : bot.steer(arena, result.getX(), result.getY(), result.getOrientation());
+        };
+    }
+
+    public void cancel() {
+        generation.incrementAndGet();
+        current = null;
+    }
+
+    // A context no task is using any more (a cancelled search may still be finishing its last landing)
+    private Context idle(ArenaInterface arena) {
+        for (Context context : contexts) {
+            if (context.root.isDone() && context.fits(arena)) {
+                context.root.reinitialize();
+                return context;
+            }
+        }
+        Context context = new Context(arena);
+        contexts.add(context);
+        return context;
+    }
+
+    // --- Procura ---
+
+    // Boards, search arrays and tasks for one search at a time
+    private final class Context {
+        final CompactArena board;
+        final ChainResolver chain;
+        final PlacementSearch search;
+        final long[] order;  // one-ply score << 32 | candidate index, sorted
+        final Worker[] crew;
+        final RootTask root = new RootTask(this);
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicInteger evaluated = new AtomicInteger();
+        final AtomicLong oneBest = new AtomicLong(NONE); // value << 32 | state
+        final AtomicLong twoBest = new AtomicLong(NONE);
+        volatile int candidates;
+        Pill pill;
+        Pill preview;
+        int x;
+        int y;
+        int orientation;
+        int gen;
+        long deadline;
+
+        Context(ArenaInterface arena) {
+            board = PlacementSearch.scratch(arena.getGeometry());
+            chain = new ChainResolver(board);
+            search = new PlacementSearch(board);
+            order = new long[search.states()];
+            crew = new Worker[workers];
+            for (int k = 0; k < workers; k++) crew[k] = new Worker(this, arena);
+        }
+
+        boolean fits(ArenaInterface arena) {
+            return board.getGeometry() == arena.getGeometry();
+        }
+
+        void prepare(ArenaInterface arena, Pill pill, int gen, long deadline) {
+            PlacementSearch.load(arena, board, chain);
+            Position pivot = pill.getPosition();
+            this.pill = pill;
+            this.preview = arena.getNextPill();
+            this.x = pivot.getX();
+            this.y = pivot.getY();
+            this.orientation = pill.getOrientation();
+            this.gen = gen;
+            this.deadline = deadline;
+            candidates = 0;
+            next.set(0);
+            evaluated.set(0);
+            oneBest.set(NONE);
+            twoBest.set(NONE);
+        }
+
+        // Not replaced by a newer start or cancelled
+        boolean current() {
+            return generation.get() == gen;
+        }
+
+        boolean live() {
+            return current() && System.nanoTime() < deadline;
+        }
+
+        Result result() {
+            int done = evaluated.get();
+            long packed = done > 0 ? twoBest.get() : oneBest.get();
+            if (packed == NONE) return null;
+            int state = (int) packed;
+            return new Result(pill, search.x(state), search.y(state), PlacementSearch.orientation(state),
+                    packed >> 32, done, candidates);
+        }
+    }
+
+    private static long pack(long score, int state) {
+        long clamped = Math.max(Integer.MIN_VALUE + 1, Math.min(Integer.MAX_VALUE, score));
+        return clamped << 32 | (state & 0xFFFFFFFFL);
+    }
+
+    // One ply on the caller's worker, then the second ply fanned out over the crew
+    @SuppressWarnings("serial")
+    private static final class RootTask extends RecursiveAction {
+        private final Context context;
+
+        RootTask(Context context) {
+            this.context = context;
+        }
+
+        @Override
+        protected void compute() {
+            Context c = context;
+            int count = c.search.search(c.x, c.y, c.orientation);
+            if (count == 0) return;
+            Worker first = c.crew[0];
+            for (int i = 0; i < count; i++) {
+                int state = c.search.candidate(i);
+                long score = c.search.score(state, c.pill, first.after, first.afterChain);
+                c.order[i] = pack(score, i);
+            }
+            Arrays.sort(c.order, 0, count);
+            c.oneBest.set(pack(c.order[count - 1] >> 32, c.search.candidate((int) c.order[count - 1])));
+            c.candidates = count;
+            if (c.preview == null || !c.live()) return;
+            for (int k = 1; k < c.crew.length; k++) {
+                c.crew[k].reinitialize();
+                c.crew[k].fork();
+            }
+            first.reinitialize();
+            first.compute();
+            for (int k = 1; k < c.crew.length; k++) c.crew[k].join();
+        }
+    }
+
+    // Takes landings, best one-ply first, and rates each with the next pill's best reply
+    @SuppressWarnings("serial")
+    private static final class Worker extends RecursiveAction {
+        private final Context context;
+        final CompactArena after;       // board after the current pill
+        final ChainResolver afterChain;
+        private final PlacementSearch reply;
+        private final CompactArena scratch;
+        private final ChainResolver scratchChain;
+
+        Worker(Context context, ArenaInterface arena) {
+            this.context = context;
+            this.after = PlacementSearch.scratch(arena.getGeometry());
+            this.afterChain = new ChainResolver(after);
+            this.reply = new PlacementSearch(after);
+            this.scratch = PlacementSearch.scratch(arena.getGeometry());
+            this.scratchChain = new ChainResolver(scratch);
+        }
+
+        @Override
+        protected void compute() {
+            Context c = context;
+            int count = c.candidates;
+            for (int i = c.next.getAndIncrement(); i < count && c.live(); i = c.next.getAndIncrement()) {
+                int state = c.search.candidate((int) c.order[count - 1 - i]);
+                long value = rate(c, state);
+                if (c.current()) {
+                    c.twoBest.accumulateAndGet(pack(value, state), Math::max);
+                    c.evaluated.incrementAndGet();
+                }
+            }
+        }
+
+        private long rate(Context c, int state) {
+            long first = c.search.score(state, c.pill, after, afterChain);
+            if (after.getVirusCount() == 0 && c.board.getVirusCount() > 0) return first + PlacementSearch.VICTORY;
+            long immediate = first - PlacementSearch.shape(after);
+            int replies = reply.search(after.getWidth() / 2, 1, 0);
+            if (replies == 0) return immediate + NO_SPAWN;
+            long best = NONE;
+            for (int j = 0; j < replies; j++) {
+                best = Math.max(best, reply.score(reply.candidate(j), c.preview, scratch, scratchChain));
+            }
+            return immediate + best;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.g06.controller;
+
+import com.g06.model.ArenaInterface;
+import com.g06.model.CompactArena;
+import com.g06.model.Pill;
+import com.g06.model.Position;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Plays the current pill. A {@link PlacementSearch} finds every final placement the pill can reach with the
+ * controller's own moves; each one is played on a scratch copy of the board with the real chain rules and scored
+ * (viruses and cells cleared, same-color contacts, column heights, holes, spawn danger).
+ * Placements are scored in parallel, one chunk per worker, each with its own scratch board; boards, search arrays
+ * and tasks are allocated once and reused. Not thread-safe: one bot per game loop.
+ */
+public class PlacementBot {
+
+    /**
+     * Result of the last plan: the chosen landing and the actions that reach it from the pill's state.
+     * Reused by every plan call.
+     */
+    public static final class Plan {
+        private int x;
+        private int y;
+        private int orientation;
+        private long score;
+        private int candidates;
+        private int pathLength;
+        private Action[] path = new Action[0];
+        private int[] pathStates = new int[0]; // state reached after each action
+
+        public int getX() { return x; }
+        public int getY() { return y; }
+        public int getOrientation() { return orientation; }
+        public long getScore() { return score; }
+        // Final placements found by the search
+        public int getCandidates() { return candidates; }
+        public int getPathLength() { return pathLength; }
+        public Action getAction(int i) { return path[i]; }
+    }
+
+    private final ForkJoinPool pool;
+    private final int workers;
+    private final Plan plan = new Plan();
+    private final FanOut fanOut = new FanOut();
+
+    // Sized for the current board, rebuilt when the geometry changes
+    private CompactArena root;
+    private ChainResolver rootChain;
+    private PlacementSearch search;
+    private CompactArena[] scratch;   // per worker
+    private ChainResolver[] chains;   // per worker
+    private ChunkTask[] chunks;
+    private long[] scores;
+    private Pill pill;
+
+    // Pill the plan is being followed for, and the next action on its path
+    private Pill followed;
+    private int cursor;
+
+    public PlacementBot() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public PlacementBot(ForkJoinPool pool) {
+        this.pool = pool;
+        this.workers = Math.max(1, pool.getParallelism());
+    }
+
+    // Best placement for the arena's current pill, or null when there is no pill to play (none, or a sword)
+    public Plan plan(ArenaInterface arena) {
+        Pill current = arena.getCurrentPill();
+        if (current == null || arena.getCurrentSword() != null || current.getShape() != PlacementSearch.SHAPE) return null;
+        prepare(arena);
+        pill = current;
+        Position pivot = current.getPosition();
+        int count = search.search(pivot.getX(), pivot.getY(), current.getOrientation());
+        if (count == 0) return null;
+        evaluate(count);
+        int best = 0;
+        for (int i = 1; i < count; i++) if (scores[i] > scores[best]) best = i; // ties: the shortest path
+        fill(search.candidate(best), scores[best], count);
+        return plan;
+    }
+
+    // Next action toward the planned landing; replans whenever the pill is new or gravity moved it off the path
+    public Action next(ArenaInterface arena) {
+        Pill current = arena.getCurrentPill();
+        if (current == null || arena.getCurrentSword() != null) return Action.NONE;
+        if (!onPath(current)) {
+            if (plan(arena) == null) return Action.HARD_DROP;
+            followed = current;
+            cursor = 0;
+        }
+        return follow();
+    }
+
+    // Next action toward a landing chosen elsewhere (e.g. by LookaheadSearch); plays its own plan when the
+    // landing cannot be reached from where the pill is now
+    public Action steer(ArenaInterface arena, int x, int y, int orientation) {
+        Pill current = arena.getCurrentPill();
+        if (current == null || arena.getCurrentSword() != null) return Action.NONE;
+        if (onPath(current) && plan.x == x && plan.y == y && plan.orientation == orientation) return follow();
+        prepare(arena);
+        Position pivot = current.getPosition();
+        int count = search.search(pivot.getX(), pivot.getY(), current.getOrientation());
+        int target = x >= 0 && x < root.getWidth() && y >= 0 && y < root.getHeight() ? search.state(x, y, orientation) : -1;
+        if (count == 0 || !search.reached(target)) return next(arena);
+        fill(target, 0, count);
+        followed = current;
+        cursor = 0;
+        return follow();
+    }
+
+    // The bot as a batch/simulation policy
+    public Policy asPolicy() {
+        return (sim, random) -> next(sim.getArena());
+    }
+
+    private boolean onPath(Pill current) {
+        if (current != followed || cursor == 0) return false;
+        Position pivot = current.getPosition();
+        return plan.pathStates[cursor - 1] == search.state(pivot.getX(), pivot.getY(), current.getOrientation());
+    }
+
+    private Action follow() {
+        // Only straight drops left: the hard drop lands on the same spot in one step
+        boolean onlyDrops = true;
+        for (int i = cursor; i < plan.pathLength && onlyDrops; i++) onlyDrops = plan.path[i] == Action.SOFT_DROP;
+        if (onlyDrops) {
+            followed = null;
+            return Action.HARD_DROP;
+        }
+        return plan.path[cursor++];
+    }
+
+    private void fill(int state, long score, int candidates) {
+        plan.x = search.x(state);
+        plan.y = search.y(state);
+        plan.orientation = PlacementSearch.orientation(state);
+        plan.score = score;
+        plan.candidates = candidates;
+        plan.pathLength = search.path(state, plan.path, plan.pathStates);
+    }
+
+    // --- Avaliação ---
+
+    private void prepare(ArenaInterface arena) {
+        if (root == null || root.getGeometry() != arena.getGeometry()) {
+            root = PlacementSearch.scratch(arena.getGeometry());
+            rootChain = new ChainResolver(root);
+            search = new PlacementSearch(root);
+            scratch = new CompactArena[workers];
+            chains = new ChainResolver[workers];
+            chunks = new ChunkTask[workers];
+            for (int k = 0; k < workers; k++) {
+                scratch[k] = PlacementSearch.scratch(arena.getGeometry());
+                chains[k] = new ChainResolver(scratch[k]);
+                chunks[k] = new ChunkTask(k);
+            }
+            scores = new long[search.states()];
+            plan.path = new Action[search.states()];
+            plan.pathStates = new int[search.states()];
+            followed = null;
+        }
+        PlacementSearch.load(arena, root, rootChain);
+    }
+
+    private void evaluate(int count) {
+        int chunk = (count + workers - 1) / workers;
+        int used = 0;
+        for (int k = 0; k < workers; k++) {
+            int from = k * chunk;
+            int to = Math.min(count, from + chunk);
+            if (from >= to) break;
+            chunks[k].reinitialize();
+            chunks[k].from = from;
+            chunks[k].to = to;
+            used++;
+        }
+        if (used == 1) {
+            chunks[0].compute();
+            return;
+        }
+        fanOut.reinitialize();
+        fanOut.count = used;
+        pool.invoke(fanOut);
+    }
+
+    // Runs the first chunk itself and the others on the pool's workers
+    @SuppressWarnings("serial")
+    private final class FanOut extends RecursiveAction {
+        int count;
+
+        @Override
+        protected void compute() {
+            for (int k = 1; k < count; k++) chunks[k].fork();
+            chunks[0].compute();
+            for (int k = 1; k < count; k++) chunks[k].join();
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private final class ChunkTask extends RecursiveAction {
+        private final int worker;
+        int from;
+        int to;
+
+        ChunkTask(int worker) {
+            this.worker = worker;
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = from; i < to; i++) scores[i] = search.score(search.candidate(i), pill, scratch[worker], chains[worker]);
+        }
+    }
+}
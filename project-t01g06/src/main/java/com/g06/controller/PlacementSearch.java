@@ -0,0 +1,207 @@
+package com.g06.controller;
+
+import com.g06.model.ArenaGeometry;
+import com.g06.model.ArenaInterface;
+import com.g06.model.BitBoard;
+import com.g06.model.Cell;
+import com.g06.model.CompactArena;
+import com.g06.model.MoveTable;
+import com.g06.model.PieceShape;
+import com.g06.model.Pill;
+
+import java.util.Arrays;
+
+/**
+ * Reachable pill states on one board, shared by the bots. {@link #search} is a breadth-first search over
+ * (x, y, orientation) with the controller's own moves (left, right, both rotations with their wall kicks, one row
+ * down); every state that cannot go further down is a final placement. {@link #score} plays a placement on a
+ * scratch board with the real chain rules and rates the result. All arrays are allocated once per board.
+ * A search is single-threaded, but scoring only reads the board, so several threads may score at once.
+ */
+final class PlacementSearch {
+
+    // Heuristic weights
+    static final int VICTORY = 1_000_000;
+    static final int VIRUS_CLEARED = 500;
+    static final int CELL_CLEARED = 40;
+    static final int CONTACT = 25;
+    static final int HOLE = -60;
+    static final int AGGREGATE_HEIGHT = -3;
+    static final int MAX_HEIGHT = -10;
+    static final int SPAWN_DANGER = -5_000; // per spawn-area row filled
+    static final int SPAWN_ROWS = 4;
+
+    static final PieceShape SHAPE = PieceShape.CAPSULE;
+    static final Action[] MOVES = {Action.LEFT, Action.RIGHT, Action.ROTATE_CCW, Action.ROTATE_CW, Action.SOFT_DROP};
+
+    private final CompactArena board;
+    private final MoveTable moves;
+    private final int width;
+    private final int height;
+    private final int[] seen; // BFS stamp per state
+    private int stamp;
+    private final int[] parent;
+    private final byte[] via; // index into MOVES of the action that reached the state
+    private final int[] queue;
+    private final int[] candidates;
+    private int count;
+
+    PlacementSearch(CompactArena board) {
+        this.board = board;
+        this.moves = new MoveTable(board);
+        this.width = board.getWidth();
+        this.height = board.getHeight();
+        int states = width * height * MoveTable.ORIENTATIONS;
+        this.seen = new int[states];
+        this.parent = new int[states];
+        this.via = new byte[states];
+        this.queue = new int[states];
+        this.candidates = new int[states];
+    }
+
+    // Scratch board for the given shape: no viruses, no pill
+    static CompactArena scratch(ArenaGeometry geometry) {
+        CompactArena arena = new CompactArena(geometry, 0, 0L, false);
+        arena.setCurrentPill(null);
+        return arena;
+    }
+
+    CompactArena getBoard() { return board; }
+    int states() { return seen.length; }
+
+    int state(int x, int y, int orientation) { return (y * width + x) * MoveTable.ORIENTATIONS + orientation; }
+    int x(int state) { return (state / MoveTable.ORIENTATIONS) % width; }
+    int y(int state) { return state / MoveTable.ORIENTATIONS / width; }
+    static int orientation(int state) { return state % MoveTable.ORIENTATIONS; }
+
+    // Breadth-first over every state reachable from the pivot; returns the number of final placements
+    int search(int x, int y, int orientation) {
+        if (++stamp == 0) {
+            Arrays.fill(seen, 0);
+            stamp = 1;
+        }
+        count = 0;
+        if (!moves.fits(x, y, orientation)) return 0;
+        int start = state(x, y, orientation);
+        int head = 0, tail = 0;
+        queue[tail++] = start;
+        seen[start] = stamp;
+        parent[start] = -1;
+        while (head < tail) {
+            int s = queue[head++];
+            int o = orientation(s), sx = x(s), sy = y(s);
+            if (!moves.fits(sx, sy + 1, o)) candidates[count++] = s;
+            for (int m = 0; m < MOVES.length; m++) {
+                int next = move(m, sx, sy, o);
+                if (next < 0 || seen[next] == stamp) continue;
+                seen[next] = stamp;
+                parent[next] = s;
+                via[next] = (byte) m;
+                queue[tail++] = next;
+            }
+        }
+        return count;
+    }
+
+    int count() { return count; }
+    int candidate(int i) { return candidates[i]; }
+    // True when the last search reached the state
+    boolean reached(int state) { return state >= 0 && state < seen.length && seen[state] == stamp; }
+
+    // Actions (and the state after each) that lead from the search start to a reached state; returns their number
+    int path(int state, Action[] actions, int[] states) {
+        int length = 0;
+        for (int t = state; parent[t] >= 0; t = parent[t]) length++;
+        for (int t = state, i = length - 1; i >= 0; t = parent[t], i--) {
+            actions[i] = MOVES[via[t]];
+            states[i] = t;
+        }
+        return length;
+    }
+
+    // Same rules as ArenaController.movePiece / rotatePiece / fallPill; -1 when the move is not possible
+    private int move(int m, int x, int y, int o) {
+        switch (MOVES[m]) {
+            case LEFT: return moves.fits(x - 1, y, o) ? state(x - 1, y, o) : -1;
+            case RIGHT: return moves.fits(x + 1, y, o) ? state(x + 1, y, o) : -1;
+            case SOFT_DROP: return moves.fits(x, y + 1, o) ? state(x, y + 1, o) : -1;
+            default: {
+                int direction = MOVES[m] == Action.ROTATE_CCW ? PieceShape.ROTATE_CCW : PieceShape.ROTATE_CW;
+                int to = SHAPE.rotated(o, direction);
+                for (int[] kick : SHAPE.kicks(o, direction)) {
+                    if (moves.fits(x + kick[0], y + kick[1], to)) return state(x + kick[0], y + kick[1], to);
+                }
+                return -1;
+            }
+        }
+    }
+
+    // --- Avaliação ---
+
+    // Plays the pill at the final state into a copy of this board (into, resolved by chain) and rates the result
+    long score(int state, Pill pill, CompactArena into, ChainResolver chain) {
+        into.copyFrom(board);
+        int o = orientation(state), x = x(state), y = y(state);
+        BitBoard bits = into.getBitBoard();
+        long score = 0;
+        for (int i = 0; i < SHAPE.getCellCount(); i++) {
+            int cx = x + SHAPE.dx(o, i), cy = y + SHAPE.dy(o, i);
+            int color = BitBoard.colorIndex(pill.getColor(i));
+            // Same-colored neighbours below and beside (neither half is on the board yet)
+            if (cy + 1 < height && bits.isOccupied(cx, cy + 1) && bits.colorAt(cx, cy + 1) == color) score += CONTACT;
+            if (cx > 0 && bits.isOccupied(cx - 1, cy) && bits.colorAt(cx - 1, cy) == color) score += CONTACT;
+            if (cx + 1 < width && bits.isOccupied(cx + 1, cy) && bits.colorAt(cx + 1, cy) == color) score += CONTACT;
+        }
+        for (int i = 0; i < SHAPE.getCellCount(); i++) {
+            into.setCell(x + SHAPE.dx(o, i), y + SHAPE.dy(o, i),
+                    Cell.block(BitBoard.colorIndex(pill.getColor(i)), 0, SHAPE.link(o, i)));
+        }
+        int cleared = chain.resolve();
+        int before = board.getVirusCount();
+        int viruses = into.getVirusCount();
+        if (viruses == 0 && before > 0) score += VICTORY;
+        score += (long) (before - viruses) * VIRUS_CLEARED + (long) cleared * CELL_CLEARED;
+        return score + shape(into);
+    }
+
+    // Shape part of the rating: heights, holes and cells in the spawn area (a filled spawn ends the game)
+    static long shape(CompactArena board) {
+        BitBoard bits = board.getBitBoard();
+        ArenaGeometry geometry = board.getGeometry();
+        int width = board.getWidth();
+        int aggregate = 0, max = 0, holes = 0;
+        for (int cx = 0; cx < width; cx++) {
+            int h = board.getColumnHeight(cx);
+            aggregate += h;
+            max = Math.max(max, h);
+            int floor = geometry.getFloorRow(cx);
+            for (int cy = board.getColumnTop(cx) + 1; cy < floor; cy++) {
+                if (!bits.isOccupied(cx, cy) && !geometry.isBlocked(cx, cy)) holes++;
+            }
+        }
+        long score = (long) aggregate * AGGREGATE_HEIGHT + (long) max * MAX_HEIGHT + (long) holes * HOLE;
+        int spawnX = width / 2;
+        for (int cx = Math.max(0, spawnX - 1); cx <= Math.min(width - 1, spawnX + 1); cx++) {
+            int filled = SPAWN_ROWS + 1 - Math.min(SPAWN_ROWS + 1, board.getColumnTop(cx));
+            if (filled > 0) score += (long) filled * SPAWN_DANGER;
+        }
+        return score;
+    }
+
+    // Copies any arena's settled cells into a scratch board of the same shape without creating blocks,
+    // then resolves once so the board has no pending changes (it is stable, so nothing is cleared)
+    static void load(ArenaInterface arena, CompactArena into, ChainResolver chain) {
+        BitBoard bits = arena.getBitBoard();
+        for (int y = 0; y < arena.getHeight(); y++) {
+            for (int x = 0; x < arena.getWidth(); x++) {
+                byte cell = Cell.EMPTY;
+                if (bits.isOccupied(x, y)) {
+                    int color = bits.colorAt(x, y);
+                    cell = bits.isVirus(x, y) ? Cell.virus(color) : Cell.block(color, 0, arena.getLink(x, y));
+                }
+                if (cell != into.getCell(x, y)) into.setCell(x, y, cell);
+            }
+        }
+        chain.resolve();
+    }
+}
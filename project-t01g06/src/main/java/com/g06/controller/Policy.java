@@ -0,0 +1,22 @@
+package com.g06.controller;
+
+import java.util.SplittableRandom;
+
+/**
+ * Picks the next action of a headless game. The random source is the game's own, so a policy that draws
+ * only from it keeps the game reproducible from its seed.
+ */
+@FunctionalInterface
+public interface Policy {
+
+    Action choose(Simulation sim, SplittableRandom random);
+
+    // Any action, uniformly
+    Policy RANDOM = (sim, random) -> Action.of(random.nextInt(Action.count()));
+
+    // Moves and rotations at random, hard dropping about one step in eight (pills land far from the spawn)
+    Policy RANDOM_DROPS = (sim, random) -> {
+        int r = random.nextInt(8);
+        return r == 0 ? Action.HARD_DROP : r <= 4 ? Action.of(Action.LEFT.ordinal() + (r - 1)) : Action.NONE;
+    };
+}
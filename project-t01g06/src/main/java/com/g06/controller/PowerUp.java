@@ -0,0 +1,44 @@
+package com.g06.controller;
+
+import com.g06.model.BitBoard;
+
+/**
+ * Board-wide power-up effects. Each one only describes the cells it hits as a mask
+ * around a target cell; PowerUpEngine does the clearing, tallies and gravity for all of them.
+ */
+public enum PowerUp {
+    // Every cell of the target column
+    COLUMN_SWEEP {
+        @Override
+        void mark(BitBoard board, int x, int y, long[] mask) {
+            for (int row = 0; row < board.getHeight(); row++) board.markCell(mask, x, row);
+        }
+    },
+    // Every cell of the target row
+    ROW_LASER {
+        @Override
+        void mark(BitBoard board, int x, int y, long[] mask) {
+            board.markRow(mask, y);
+        }
+    },
+    // 3x3 square centred on the target
+    BOMB {
+        @Override
+        void mark(BitBoard board, int x, int y, long[] mask) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) board.markCell(mask, x + dx, y + dy);
+            }
+        }
+    },
+    // Every block and virus with the color of the target cell (nothing when the target is empty)
+    COLOR_PURGE {
+        @Override
+        void mark(BitBoard board, int x, int y, long[] mask) {
+            if (x < 0 || x >= board.getWidth() || y < 0 || y >= board.getHeight()) return;
+            board.markColor(mask, board.colorAt(x, y));
+        }
+    };
+
+    // Adds the cells hit when the effect goes off at (x, y); empty cells may be included
+    abstract void mark(BitBoard board, int x, int y, long[] mask);
+}
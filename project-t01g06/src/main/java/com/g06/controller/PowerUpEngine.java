@@ -0,0 +1,74 @@
+package com.g06.controller;
+
+import com.g06.model.ArenaInterface;
+import com.g06.model.BitBoard;
+
+import java.util.Arrays;
+
+/**
+ * Applies power-up effects as one masked operation on the bitboard: the effect marks its cells,
+ * the mask is trimmed to occupied cells, and the cleared count and per-color tallies come from
+ * bit counts over that mask. Cells are then removed through the arena and gravity settles the board;
+ * the caller runs the usual ChainResolver afterwards so anything that lands in a run is cleared and scored.
+ */
+public class PowerUpEngine {
+
+    private final ArenaInterface arena;
+    private final GravityEngine gravity;
+    private long[] mask; // reusable, same layout as BitBoard.findMatches
+    private final int[] clearedByColor = new int[BitBoard.COLORS.length];
+    private int virusesCleared;
+
+    public PowerUpEngine(ArenaInterface arena) {
+        this(arena, new GravityEngine(arena));
+    }
+
+    public PowerUpEngine(ArenaInterface arena, GravityEngine gravity) {
+        this.arena = arena;
+        this.gravity = gravity;
+    }
+
+    // Fires the effect at (x, y), clears what it hits and lets the board fall. Returns the number of cells cleared.
+    public int apply(PowerUp effect, int x, int y) {
+        BitBoard board = arena.getBitBoard();
+        long[] m = emptyMask(board);
+        effect.mark(board, x, y, m);
+        int cleared = clear(m);
+        if (cleared > 0) gravity.settle();
+        return cleared;
+    }
+
+    // Clears every occupied cell of the mask without running gravity (used by the falling sword).
+    // The mask is trimmed to occupied cells in place; tallies are kept until the next call.
+    public int clear(long[] m) {
+        BitBoard board = arena.getBitBoard();
+        int cleared = board.keepOccupied(m);
+        for (int c = 0; c < clearedByColor.length; c++) clearedByColor[c] = cleared == 0 ? 0 : board.countColor(m, c);
+        virusesCleared = cleared == 0 ? 0 : board.countViruses(m);
+        if (cleared == 0) return 0;
+
+        int words = board.getWordsPerRow();
+        for (int i = 0; i < m.length; i++) {
+            long bits = m[i];
+            while (bits != 0) {
+                int x = ((i % words) << 6) + Long.numberOfTrailingZeros(bits);
+                arena.removeBlock(x, i / words);
+                bits &= bits - 1;
+            }
+        }
+        return cleared;
+    }
+
+    // Cleared mask buffer sized for the current board, for callers building their own mask
+    public long[] emptyMask(BitBoard board) {
+        int size = board.getHeight() * board.getWordsPerRow();
+        if (mask == null || mask.length != size) mask = new long[size];
+        else Arrays.fill(mask, 0L);
+        return mask;
+    }
+
+    // Cells of the given color (BitBoard.COLORS index) cleared by the last call, viruses included
+    public int getClearedByColor(int color) { return clearedByColor[color]; }
+
+    public int getVirusesCleared() { return virusesCleared; }
+}
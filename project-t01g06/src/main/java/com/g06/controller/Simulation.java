@@ -0,0 +1,164 @@
+package com.g06.controller;
+
+import com.g06.model.ArenaGeometry;
+import com.g06.model.ArenaInterface;
+import com.g06.model.CompactArena;
+import com.g06.model.Zobrist;
+
+/**
+ * The game without a terminal or a clock, for bots and batch runs: {@link #reset} starts a level from a seed and
+ * {@link #step} plays one action. Time is counted in steps of {@link #STEP_MILLIS} (one poll of the game loop),
+ * and the pill falls one row every {@code difficulty delay / STEP_MILLIS} steps, so a run depends only on
+ * the seed and the actions. The rules are the ones ArenaController applies to the real game, on a CompactArena.
+ * A LEVELS game goes on with {@link #advance} after each victory; {@link #resetEndless} starts an ENDLESS game.
+ */
+public class Simulation {
+
+    public static final int STEP_MILLIS = 20;
+    public static final int DEFAULT_WIDTH = 10;
+    public static final int DEFAULT_HEIGHT = 18;
+
+    /**
+     * Outcome of the last reset or step. One instance per simulation, overwritten by every call, so reading it
+     * allocates nothing; copy what you need before the next step.
+     */
+    public static final class Step {
+        private int reward;
+        private int cleared;
+        private int virusesCleared;
+        private boolean terminal;
+        private boolean victory;
+        private long stateHash;
+
+        // Score gained by this step (clears, cascades, sword cuts and power-ups, scaled by difficulty)
+        public int getReward() { return reward; }
+        // Blocks and viruses removed by this step
+        public int getCleared() { return cleared; }
+        public int getVirusesCleared() { return virusesCleared; }
+        // Level cleared or topped out; further steps do nothing until the next reset
+        public boolean isTerminal() { return terminal; }
+        public boolean isVictory() { return victory; }
+        // Zobrist hash of the board and the falling piece after the step
+        public long getStateHash() { return stateHash; }
+    }
+
+    private final int width;
+    private final int height;
+    private final Step step = new Step();
+    private CompactArena arena;
+    private ArenaController controller;
+    private Difficulty difficulty;
+    private boolean endless;
+    private int level;
+    private int stepsPerFall;
+    private int untilFall;
+    private long steps;
+    // Totals of the levels already finished in this game
+    private int scoreBefore;
+    private int pillsBefore;
+    private int cascadesBefore;
+    private int longestChainBefore;
+
+    public Simulation() {
+        this(DEFAULT_WIDTH, DEFAULT_HEIGHT);
+    }
+
+    public Simulation(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    // Viruses on a level, the same scaling the game uses: 5, +2 per level, capped by the board area
+    public static int virusCountForLevel(int level, int width, int height) {
+        int max = Math.max(10, (width * height) / 6);
+        return Math.min(max, 5 + (level - 1) * 2);
+    }
+
+    // Starts the given level; sword charges are the ones the game would have granted by then (one per 2 levels)
+    public Step reset(long seed, int level, Difficulty difficulty) {
+        startGame(difficulty, false);
+        start(seed, level, (level - 1) / 2, 0);
+        return step;
+    }
+
+    // ENDLESS mode: no viruses, the game only ends when the stack reaches the spawn
+    public Step resetEndless(long seed, Difficulty difficulty) {
+        startGame(difficulty, true);
+        start(seed, 1, 0, 0);
+        return step;
+    }
+
+    // After a LEVELS victory: the next level, with a seed derived from this one, keeping the sword state
+    // (plus the charge the game grants every 2 completed levels)
+    public Step advance() {
+        if (controller == null || !controller.isVictory()) throw new IllegalStateException("advance needs a won level");
+        scoreBefore += controller.getScore();
+        pillsBefore += controller.getPillsUsed();
+        cascadesBefore += controller.getCascades();
+        longestChainBefore = Math.max(longestChainBefore, controller.getLongestChain());
+        int charges = controller.getSwordCharges() + (level % 2 == 0 ? 1 : 0);
+        start(Zobrist.mix(arena.getSeed()), level + 1, charges, controller.getBlocksCleared());
+        return step;
+    }
+
+    private void startGame(Difficulty difficulty, boolean endless) {
+        this.difficulty = difficulty;
+        this.endless = endless;
+        scoreBefore = pillsBefore = cascadesBefore = longestChainBefore = 0;
+        steps = 0;
+    }
+
+    private void start(long seed, int level, int swordCharges, int blocksCleared) {
+        int viruses = endless ? 0 : virusCountForLevel(level, width, height);
+        this.level = level;
+        arena = new CompactArena(ArenaGeometry.rectangle(width, height), viruses, seed, false);
+        arena.setLevel(level);
+        controller = new ArenaController(arena, endless, difficulty, swordCharges, blocksCleared);
+        stepsPerFall = (int) Math.max(1, difficulty.getDelayMs() / STEP_MILLIS);
+        untilFall = stepsPerFall;
+        record(0, 0, arena.getVirusCount());
+    }
+
+    // Plays one action, then lets the pill fall when its delay is up
+    public Step step(Action action) {
+        if (controller == null) throw new IllegalStateException("reset must be called before step");
+        if (step.terminal) return step;
+        int score = controller.getScore();
+        int cleared = controller.getTotalCleared();
+        int viruses = arena.getVirusCount();
+
+        controller.perform(action);
+        if (--untilFall == 0) {
+            untilFall = stepsPerFall;
+            if (!controller.isGameOver() && !controller.isVictory()) controller.fallPill();
+        }
+        steps++;
+        record(controller.getScore() - score, controller.getTotalCleared() - cleared, viruses);
+        return step;
+    }
+
+    private void record(int reward, int cleared, int virusesBefore) {
+        step.reward = reward;
+        step.cleared = cleared;
+        step.virusesCleared = virusesBefore - arena.getVirusCount();
+        step.victory = controller.isVictory();
+        step.terminal = step.victory || controller.isGameOver();
+        step.stateHash = arena.getStateHash();
+    }
+
+    public Step getLastStep() { return step; }
+    public ArenaInterface getArena() { return arena; }
+    public ArenaController getController() { return controller; }
+    public int getLevel() { return level; }
+    public boolean isEndless() { return endless; }
+    // Steps played since the last reset (across advances)
+    public long getSteps() { return steps; }
+    // Steps left before the pill falls by itself
+    public int getStepsUntilFall() { return untilFall; }
+
+    // Whole-game totals, over every level since the last reset
+    public int getGameScore() { return scoreBefore + controller.getScore(); }
+    public int getGamePillsUsed() { return pillsBefore + controller.getPillsUsed(); }
+    public int getGameCascades() { return cascadesBefore + controller.getCascades(); }
+    public int getGameLongestChain() { return Math.max(longestChainBefore, controller.getLongestChain()); }
+}
@@ -0,0 +1,162 @@
+package com.g06.controller;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size hash table from 64-bit state hashes (see {@link com.g06.model.Zobrist}) to a search result, shared by
+ * the threads of a search. Entries live in buckets of {@link #BUCKET} slots held in parallel arrays (no objects per
+ * entry); a bucket is picked by the low bits of the key and guarded by one of a fixed set of lock stripes, so threads
+ * only contend when they touch buckets of the same stripe. A full bucket gives one slot up as the {@link Replacement}
+ * policy says. Each entry keeps the depth it was searched to, and a probe can ask for a minimum depth.
+ */
+public class TranspositionTable {
+
+    public enum Replacement {
+        // The slots of a full bucket in turn (a round-robin cursor per bucket, reset by clear)
+        ALWAYS,
+        // The shallowest entry, and only when the new one is at least as deep
+        DEPTH_PREFERRED,
+        // Entries from older generations first, then the shallowest one
+        GENERATION_THEN_DEPTH
+    }
+
+    public static final int BUCKET = 4;
+    private static final int STRIPES = 64;
+
+    private final Replacement replacement;
+    private final int mask; // bucket index mask
+    private final long[] keys;
+    private final long[] values;
+    private final int[] depths;
+    private final int[] generations; // 0 marks an empty slot
+    private final int[] cursor;      // per bucket: next slot for ALWAYS, round-robin
+    private final Object[] locks = new Object[STRIPES];
+    private volatile int generation = 1;
+    // Striped counters: every probe counts, and a shared atomic would be one more contended cache line
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    // Room for at least the given number of entries (rounded up to a power-of-two number of buckets)
+    public TranspositionTable(int capacity, Replacement replacement) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        int buckets = Integer.highestOneBit(Math.max(1, (capacity + BUCKET - 1) / BUCKET - 1)) << 1;
+        this.replacement = replacement;
+        this.mask = buckets - 1;
+        this.keys = new long[buckets * BUCKET];
+        this.values = new long[buckets * BUCKET];
+        this.depths = new int[buckets * BUCKET];
+        this.generations = new int[buckets * BUCKET];
+        this.cursor = new int[buckets];
+        for (int i = 0; i < STRIPES; i++) locks[i] = new Object();
+    }
+
+    public int capacity() { return keys.length; }
+    public Replacement getReplacement() { return replacement; }
+
+    // Value stored for the key with at least the given depth, or missing
+    public long get(long key, int minDepth, long missing) {
+        int bucket = bucket(key);
+        synchronized (locks[bucket & (STRIPES - 1)]) {
+            for (int s = bucket * BUCKET, end = s + BUCKET; s < end; s++) {
+                if (generations[s] != 0 && keys[s] == key && depths[s] >= minDepth) {
+                    hits.increment();
+                    return values[s];
+                }
+            }
+        }
+        misses.increment();
+        return missing;
+    }
+
+    // Stores (or refreshes) the entry; false when the policy kept the bucket as it was
+    public boolean put(long key, long value, int depth) {
+        int bucket = bucket(key);
+        int gen = generation;
+        synchronized (locks[bucket & (STRIPES - 1)]) {
+            int first = bucket * BUCKET;
+            int victim = -1;
+            for (int s = first; s < first + BUCKET; s++) {
+                if (generations[s] != 0 && keys[s] == key) {
+                    // Same state: keep the deeper result
+                    if (depth < depths[s] && replacement != Replacement.ALWAYS) return false;
+                    victim = s;
+                    break;
+                }
+                if (victim < 0 && generations[s] == 0) victim = s;
+            }
+            if (victim < 0) victim = victim(bucket, first, depth, gen);
+            if (victim < 0) return false;
+            keys[victim] = key;
+            values[victim] = value;
+            depths[victim] = depth;
+            generations[victim] = gen;
+            return true;
+        }
+    }
+
+    // Slot of a full bucket to overwrite, or -1 to drop the new entry
+    private int victim(int bucket, int first, int depth, int gen) {
+        switch (replacement) {
+            case ALWAYS: {
+                int s = first + cursor[bucket];
+                cursor[bucket] = (cursor[bucket] + 1) % BUCKET;
+                return s;
+            }
+            case DEPTH_PREFERRED: {
+                int s = shallowest(first);
+                return depths[s] <= depth ? s : -1;
+            }
+            default: {
+                for (int s = first; s < first + BUCKET; s++) if (generations[s] != gen) return s;
+                int s = shallowest(first);
+                return depths[s] <= depth ? s : -1;
+            }
+        }
+    }
+
+    private int shallowest(int first) {
+        int best = first;
+        for (int s = first + 1; s < first + BUCKET; s++) if (depths[s] < depths[best]) best = s;
+        return best;
+    }
+
+    // Starts a new search: older entries stay readable but are the first to go (GENERATION_THEN_DEPTH)
+    public void nextGeneration() {
+        synchronized (locks[0]) {
+            generation = generation == Integer.MAX_VALUE ? 1 : generation + 1;
+        }
+    }
+
+    public void clear() {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            synchronized (locks[stripe]) {
+                for (int b = stripe; b <= mask; b += STRIPES) {
+                    for (int s = b * BUCKET; s < (b + 1) * BUCKET; s++) generations[s] = 0;
+                    cursor[b] = 0;
+                }
+            }
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    // Occupied slots (walks the whole table)
+    public int size() {
+        int n = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            synchronized (locks[stripe]) {
+                for (int b = stripe; b <= mask; b += STRIPES) {
+                    for (int s = b * BUCKET; s < (b + 1) * BUCKET; s++) if (generations[s] != 0) n++;
+                }
+            }
+        }
+        return n;
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+
+    private int bucket(long key) {
+        return (int) (key ^ key >>> 32) & mask;
+    }
+}
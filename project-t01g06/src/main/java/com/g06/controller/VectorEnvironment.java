@@ -0,0 +1,176 @@
+package com.g06.controller;
+
+import com.g06.model.ArenaBank;
+import com.g06.model.ArenaGeometry;
+import com.g06.model.ArenaInterface;
+import com.g06.model.BitBoard;
+import com.g06.model.Piece;
+import com.g06.model.Pill;
+import com.g06.model.Sword;
+import com.g06.model.Zobrist;
+
+import java.nio.ByteBuffer;
+
+/**
+ * N headless games stepped in lockstep, for training loops. The state is stored field by field, not per game:
+ * the cells of every board in one shared byte array (one {@link #getStride() stride} per game, the cells in
+ * {@link com.g06.model.Cell} encoding followed by a small header), the masks and column tops in one multi-board
+ * BitBoard, and the pill, preview, sword, random streams, sword charges and fall timers in primitive arrays
+ * indexed by game (see {@link ArenaBank}). {@link #step} walks the games in order, selects each one on the shared
+ * ArenaBank and plays its action with a single ArenaController, so the rules (settle, chain clears, gravity,
+ * victory) are the same code the game runs. A game plays exactly like a {@link Simulation} with the same seed.
+ * Rewards and terminal flags are reused arrays; {@link #getObservations()} reads all boards without copying.
+ * A game that ends is restarted at once on its next seed; its terminal flag tells the caller the episode ended.
+ */
+public class VectorEnvironment {
+
+    // Header bytes after each board
+    public static final int PIECE_X = 0;
+    public static final int PIECE_Y = 1;
+    public static final int PIECE_ORIENTATION = 2;
+    public static final int PIECE_COLORS = 3;  // (color of cell 0 + 1) | (color of cell 1 + 1) << 2, 0 without a piece
+    public static final int PIECE_KIND = 4;    // 0 none, 1 pill, 2 sword
+    public static final int NEXT_COLORS = 5;   // same packing as PIECE_COLORS
+    public static final int VIRUSES = 6;
+    public static final int SWORD_CHARGES = 7;
+    public static final int STEPS_UNTIL_FALL = 8;
+    public static final int FLAGS = 9;         // FLAG_TERMINAL | FLAG_VICTORY of the last step
+    public static final int HEADER = 10;
+
+    public static final byte FLAG_TERMINAL = 1;
+    public static final byte FLAG_VICTORY = 2;
+
+    private final int count;
+    private final int cells;
+    private final int stride;
+    private final byte[] plane;
+    private final ByteBuffer observations;
+    private final ArenaBank arenas;
+    private final ArenaController controller;
+    private final int level;
+    private final int viruses;
+    private final int stepsPerFall;
+
+    // Per game
+    private final long[] seeds;
+    private final int[] swordCharges;
+    private final int[] untilFall;
+    private final int[] rewards;
+    private final byte[] terminals;
+
+    public VectorEnvironment(int count, int level, Difficulty difficulty) {
+        this(count, Simulation.DEFAULT_WIDTH, Simulation.DEFAULT_HEIGHT, level, difficulty);
+    }
+
+    public VectorEnvironment(int count, int width, int height, int level, Difficulty difficulty) {
+        this.count = count;
+        this.cells = width * height;
+        this.stride = cells + HEADER;
+        this.plane = new byte[count * stride];
+        this.observations = ByteBuffer.wrap(plane).asReadOnlyBuffer();
+        this.arenas = new ArenaBank(ArenaGeometry.rectangle(width, height), count, plane, stride);
+        arenas.setLevel(level);
+        this.controller = new ArenaController(arenas, false, difficulty);
+        this.level = level;
+        this.viruses = Simulation.virusCountForLevel(level, width, height);
+        this.stepsPerFall = (int) Math.max(1, difficulty.getDelayMs() / Simulation.STEP_MILLIS);
+        this.seeds = new long[count];
+        this.swordCharges = new int[count];
+        this.untilFall = new int[count];
+        this.rewards = new int[count];
+        this.terminals = new byte[count];
+    }
+
+    // Restarts every game; game i gets seed mix(baseSeed + i)
+    public void reset(long baseSeed) {
+        for (int i = 0; i < count; i++) {
+            seeds[i] = Zobrist.mix(baseSeed + i);
+            restart(i);
+            rewards[i] = 0;
+            terminals[i] = 0;
+            writeHeader(i, (byte) 0);
+        }
+    }
+
+    // One action per game, as Action ordinals; the same order of calls as Simulation.step
+    public void step(int[] actions) {
+        if (actions.length != count) throw new IllegalArgumentException("Expected " + count + " actions, got " + actions.length);
+        for (int i = 0; i < count; i++) {
+            arenas.select(i);
+            controller.resume(swordCharges[i], 0);
+            controller.perform(Action.of(actions[i]));
+            if (--untilFall[i] == 0) {
+                untilFall[i] = stepsPerFall;
+                if (!controller.isGameOver() && !controller.isVictory()) controller.fallPill();
+            }
+            rewards[i] = controller.getScore();
+            swordCharges[i] = controller.getSwordCharges();
+            byte flags = 0;
+            if (controller.isVictory() || controller.isGameOver()) {
+                flags = controller.isVictory() ? FLAG_TERMINAL | FLAG_VICTORY : FLAG_TERMINAL;
+                seeds[i] = Zobrist.mix(seeds[i]);
+                restart(i);
+            }
+            terminals[i] = flags;
+            writeHeader(i, flags);
+        }
+    }
+
+    // Same start as Simulation.reset: the level's viruses, one sword charge per 2 levels, a full fall delay
+    private void restart(int game) {
+        arenas.reset(game, seeds[game], viruses);
+        swordCharges[game] = (level - 1) / 2;
+        untilFall[game] = stepsPerFall;
+    }
+
+    // Header of the selected game
+    private void writeHeader(int game, byte flags) {
+        int base = game * stride + cells;
+        Sword sword = arenas.getCurrentSword();
+        Piece piece = sword != null ? sword : arenas.getCurrentPill();
+        if (piece != null) {
+            plane[base + PIECE_X] = (byte) piece.getPosition().getX();
+            plane[base + PIECE_Y] = (byte) piece.getPosition().getY();
+            plane[base + PIECE_ORIENTATION] = (byte) piece.getOrientation();
+            plane[base + PIECE_COLORS] = colors(piece);
+            plane[base + PIECE_KIND] = (byte) (sword != null ? 2 : 1);
+        } else {
+            for (int k = PIECE_X; k <= PIECE_KIND; k++) plane[base + k] = 0;
+        }
+        Pill next = arenas.getNextPill();
+        plane[base + NEXT_COLORS] = next == null ? 0 : colors(next);
+        plane[base + VIRUSES] = (byte) Math.min(127, arenas.getVirusCount());
+        plane[base + SWORD_CHARGES] = (byte) Math.min(127, swordCharges[game]);
+        plane[base + STEPS_UNTIL_FALL] = (byte) Math.min(127, untilFall[game]);
+        plane[base + FLAGS] = flags;
+    }
+
+    private static byte colors(Piece piece) {
+        int packed = 0;
+        for (int i = 0; i < Math.min(2, piece.getShape().getCellCount()); i++) {
+            packed |= (BitBoard.colorIndex(piece.getColor(i)) + 1) << (2 * i);
+        }
+        return (byte) packed;
+    }
+
+    /**
+     * Read-only view of every game: game i starts at i * getStride(), with width * height cell bytes (row-major)
+     * followed by the header. Always current; the same buffer is returned on every call.
+     */
+    public ByteBuffer getObservations() { return observations; }
+
+    // Score gained by each game in the last step (reused array)
+    public int[] getRewards() { return rewards; }
+    // FLAG_TERMINAL (and FLAG_VICTORY) for the games that ended in the last step and were restarted (reused array)
+    public byte[] getTerminals() { return terminals; }
+
+    public int getCount() { return count; }
+    public int getStride() { return stride; }
+    public int getCellBytes() { return cells; }
+
+    // The shared arena, switched to the given game: valid until the next call that selects another game
+    public ArenaInterface getArena(int game) {
+        arenas.select(game);
+        return arenas;
+    }
+}
@@ -0,0 +1,182 @@
+package com.g06.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Arena state shared by every board representation: dimensions, geometry, the falling pill/sword,
+ * the level and the bitboard mirror. Subclasses only decide how settled cells are stored.
+ * All randomness comes from one seed, split into a virus stream and a pill stream, so an arena
+ * built with the same seed replays the same layout and pill sequence.
+ */
+public abstract class AbstractArena implements ArenaInterface {
+
+    private int height;
+    private int width;
+    private Pill currentPill;
+    private Pill nextPill;
+
+    public static final int PREVIEW_PILLS = 3; // pills kept ready after the next one
+    public static final int VIRUS_TOP_ROW = 6;  // highest row a virus may spawn on, keeps the spawn area clear
+    public static final int SPAWN_ROW = 1;      // pivot row of a new pill or sword
+
+    private final long seed;
+    private final SplittableRandom virusRandom;
+    private final SplittableRandom textureRandom;
+    private final PillQueue pills;
+
+    private BitBoard bitBoard;
+    private ArenaGeometry geometry;
+    private List<Wall> walls; // built on demand from the geometry
+    private Sword currentSword;
+    private int level = 1;
+
+    protected AbstractArena(ArenaGeometry geometry){
+        this(geometry, new SplittableRandom().nextLong(), false);
+    }
+
+    protected AbstractArena(ArenaGeometry geometry, long seed, boolean bagPills){
+        this(geometry, new BitBoard(geometry.getWidth(), geometry.getHeight()), seed, bagPills);
+    }
+
+    // The bitboard may hold several boards (ArenaBank)
+    protected AbstractArena(ArenaGeometry geometry, BitBoard bitBoard, long seed, boolean bagPills){
+        this.height = geometry.getHeight();
+        this.width = geometry.getWidth();
+        this.bitBoard = bitBoard;
+        this.geometry = geometry;
+        this.seed = seed;
+        SplittableRandom root = new SplittableRandom(seed);
+        this.virusRandom = root.split();
+        this.pills = new PillQueue(root.split(), PREVIEW_PILLS, bagPills);
+        this.textureRandom = root.split();
+    }
+
+    // Called by subclasses once their cell storage exists
+    protected void populate(int virusCount){
+        spawnViruses(virusCount);
+        // Initialize current and next pills
+        // Generate next pill then set current from it, and generate another next
+        generateNextPill();
+        // Move next into current
+        if (this.nextPill != null) this.currentPill = this.nextPill;
+        else this.currentPill = null;
+        // Generate a fresh next pill for preview
+        generateNextPill();
+    }
+
+    public boolean spawnNewPill() {
+        // Compatibility wrapper: promote nextPill to currentPill if available, else try to generate one
+        if (this.nextPill == null) {
+            boolean ok = generateNextPill();
+            if (!ok) return false;
+        }
+
+        // Place next as current at spawn position
+        this.nextPill.getPosition().setX(width / 2);
+        this.nextPill.getPosition().setY(SPAWN_ROW);
+        // Ensure orientation reset
+        // (Pill constructor sets orientation 0)
+        this.currentPill = this.nextPill;
+
+        // Attempt to generate a fresh next pill for preview; if it fails, nextPill will be null which is acceptable
+        boolean gen = generateNextPill();
+
+        // Validate that the new current pill fits
+        Position p1 = currentPill.getPosition();
+        Position p2 = currentPill.getOtherHalf();
+        if (geometry.isBlocked(p1.getX(), p1.getY()) || geometry.isBlocked(p2.getX(), p2.getY())) return false;
+        if (bitBoard.isOccupied(p1.getX(), p1.getY()) || bitBoard.isOccupied(p2.getX(), p2.getY())) return false;
+
+        return true;
+    }
+
+    // Takes the next pill from the queue and stores it in nextPill. Returns true if created successfully.
+    public boolean generateNextPill() {
+        Pill candidate = pills.next();
+        candidate.getPosition().setX(width / 2);
+        candidate.getPosition().setY(SPAWN_ROW);
+
+        // For next pill we just store colors and orientation; placement happens when promoted to current
+        this.nextPill = candidate;
+        return true;
+    }
+
+    public PillQueue getPillQueue() { return pills; }
+    public long getSeed() { return seed; }
+    public int nextTexture() { return textureRandom.nextInt(Block.TEXTURE_COUNT); }
+
+    public Pill getNextPill() { return nextPill; }
+    public void setNextPill(Pill pill) { this.nextPill = pill; }
+
+    // Places exactly count viruses (fewer only when the board has no room, or viruses already on it block a cell),
+    // never above VIRUS_TOP_ROW and never three of a color in a line. Returns how many were placed.
+    public int spawnViruses(int count){
+        int maxHeight = height - 1 - VIRUS_TOP_ROW; // rows above the floor, same band as the classic board
+        return VirusLayout.place(this, count, maxHeight, virusRandom);
+    }
+
+    // --- Métodos de Acesso (Dados) ---
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public ArenaGeometry getGeometry() { return geometry; }
+    public List<Wall> getWalls() {
+        if (walls == null) walls = geometry.toWalls();
+        return walls;
+    }
+    public BitBoard getBitBoard() { return bitBoard; }
+
+    public long getStateHash() {
+        return bitBoard.getHash() ^ Zobrist.pieceKey(currentSword != null ? currentSword : currentPill);
+    }
+    public Pill getCurrentPill() { return currentPill; }
+
+    // Adicionado: Setter para o Controller poder limpar ou alterar a pílula
+    public void setCurrentPill(Pill pill) { this.currentPill = pill; }
+
+    // Adicionado: Mudado para PUBLIC para o Controller usar
+    public boolean isInside(Position p) {
+        return p.getX() >= 0 && p.getX() < width && p.getY() >= 0 && p.getY() < height;
+    }
+    // Counters are maintained by the bitboard on every mutation, so these are O(1)
+    public int getVirusCount() { return bitBoard.getVirusCount(); }
+    public int getVirusCount(String color) {
+        int c = BitBoard.colorIndex(color);
+        return c == BitBoard.NO_COLOR ? 0 : bitBoard.getVirusCount(c);
+    }
+    public int getSettledBlockCount() { return bitBoard.getBlockCount(); }
+
+    public int getColumnTop(int x) { return bitBoard.getColumnTop(x); }
+
+    public int getSurfaceRow(int x) { return Math.min(bitBoard.getColumnTop(x), geometry.getFloorRow(x)); }
+
+    public int getColumnHeight(int x) { return Math.max(0, geometry.getFloorRow(x) - bitBoard.getColumnTop(x)); }
+
+    public Sword getCurrentSword() { return currentSword; }
+    public void setCurrentSword(Sword sword) { this.currentSword = sword; }
+
+    public int getLevel() { return level; }
+    public void levelUp() { this.level++; }
+    // Allows external code (Game) to set the level so controllers can initialize powerups correctly
+    public void setLevel(int lvl) { this.level = Math.max(1, lvl); }
+
+    // Attempts to spawn a sword with its pivot (top segment) at (x, SPAWN_ROW). Returns false if blocked.
+    public boolean spawnSwordAt(int x) {
+        if (!canSpawnSwordAt(x)) return false;
+        this.currentSword = new Sword(x, SPAWN_ROW, "RED");
+        return true;
+    }
+
+    // Every cell of a sword with its pivot at (x, SPAWN_ROW) is inside, open and empty
+    protected boolean canSpawnSwordAt(int x) {
+        PieceShape shape = PieceShape.SWORD;
+        for (int i = 0; i < shape.getCellCount(); i++) {
+            int cx = x + shape.dx(0, i), cy = SPAWN_ROW + shape.dy(0, i);
+            if (cx < 0 || cx >= width || cy < 0 || cy >= height) return false;
+            if (geometry.isBlocked(cx, cy) || bitBoard.isOccupied(cx, cy)) return false;
+        }
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,247 @@
+package com.g06.model;
+
+import java.util.Arrays;
+
+/**
+ * Many arenas of one geometry, stored field by field so thousands of games can be stepped in lockstep
+ * (VectorEnvironment). The cells of every game live in one shared byte plane (one stride per game), the masks,
+ * column tops and counters in one multi-board BitBoard, and the falling pill, the preview, the sword and the
+ * random streams in primitive arrays indexed by game.
+ * {@link #select} turns this object into game i: every ArenaInterface call then reads and writes that game's
+ * slices, so the rules (ArenaController, ChainResolver, GravityEngine) run on it unchanged.
+ * The pieces it hands out are reused views: two Pill objects (current and preview) and one Sword, reloaded from
+ * the arrays on every select. Each game draws from its own streams exactly what a CompactArena with the same seed
+ * would, so a game here replays the same viruses, pills and textures.
+ */
+public class ArenaBank extends CompactArena {
+
+    private static final String[] COLORS = BitBoard.COLORS;
+    private static final int PAIRS = COLORS.length * COLORS.length;
+
+    private final int games;
+    private final int stride;
+    private int game;
+
+    // Per game
+    private final long[] seeds;
+    private final long[] virusSeeds;   // random streams: SplitMix seed and gamma
+    private final long[] virusGammas;
+    private final long[] pillSeeds;
+    private final long[] pillGammas;
+    private final long[] textureSeeds;
+    private final long[] textureGammas;
+    private final int[] pillX;         // falling pill; pillColors 0 = none
+    private final int[] pillY;
+    private final byte[] pillOrientation;
+    private final byte[] pillColors;   // (color of cell 0 + 1) | (color of cell 1 + 1) << 2
+    private final byte[] pillTextures; // texture of cell 0 | texture of cell 1 << 3
+    private final byte[] nextColors;   // preview pill, same packing; 0 = none
+    private final byte[] nextTextures;
+    private final int[] swordX;
+    private final int[] swordY;
+    private final boolean[] swords;
+
+    // Views of the selected game
+    private final Pill first;
+    private final Pill second;
+    private final Sword sword;
+    private final SplitMix root = new SplitMix(0);
+    private final SplitMix stream = new SplitMix(0);
+
+    // games boards in plane, game i from i * stride (stride >= width * height; the bytes after the cells are free)
+    public ArenaBank(ArenaGeometry geometry, int games, byte[] plane, int stride) {
+        super(geometry, new BitBoard(geometry.getWidth(), geometry.getHeight(), games), plane, 0);
+        if (stride < geometry.getWidth() * geometry.getHeight()) throw new IllegalArgumentException("Stride " + stride + " is smaller than a board");
+        if ((long) games * stride > plane.length) throw new IllegalArgumentException(games + " boards do not fit the plane");
+        this.games = games;
+        this.stride = stride;
+        seeds = new long[games];
+        virusSeeds = new long[games];
+        virusGammas = new long[games];
+        pillSeeds = new long[games];
+        pillGammas = new long[games];
+        textureSeeds = new long[games];
+        textureGammas = new long[games];
+        pillX = new int[games];
+        pillY = new int[games];
+        pillOrientation = new byte[games];
+        pillColors = new byte[games];
+        pillTextures = new byte[games];
+        nextColors = new byte[games];
+        nextTextures = new byte[games];
+        swordX = new int[games];
+        swordY = new int[games];
+        swords = new boolean[games];
+        first = new Pill(0, SPAWN_ROW, COLORS[0], COLORS[0]);
+        second = new Pill(0, SPAWN_ROW, COLORS[0], COLORS[0]);
+        sword = new Sword(0, SPAWN_ROW, "RED");
+        for (int i = 0; i < games; i++) Arrays.fill(plane, i * stride, i * stride + getWidth() * getHeight(), Cell.EMPTY);
+        setCurrentPill(null);
+        setNextPill(null);
+    }
+
+    public int getGames() { return games; }
+    public int getSelected() { return game; }
+
+    // Makes this arena act as the given game; the game selected before keeps its state in the arrays
+    public void select(int game) {
+        if (game == this.game) return;
+        if (game < 0 || game >= games) throw new IndexOutOfBoundsException("No game " + game);
+        park();
+        this.game = game;
+        moveTo(game * stride);
+        getBitBoard().select(game);
+        load();
+    }
+
+    // Starts the given game over from a seed: same viruses, pills and textures as new CompactArena(geometry,
+    // virusCount, seed, false). Leaves it selected.
+    public void reset(int game, long seed, int virusCount) {
+        select(game);
+        for (int y = 0; y < getHeight(); y++) {
+            for (int x = 0; x < getWidth(); x++) {
+                if (!Cell.isEmpty(getCell(x, y))) setCell(x, y, Cell.EMPTY);
+            }
+        }
+        getBitBoard().clearAll();
+        setCurrentPill(null);
+        setNextPill(null);
+        setCurrentSword(null);
+        // Same split order as AbstractArena: viruses, pills, textures
+        seeds[game] = seed;
+        root.load(seed, SplitMix.GOLDEN_GAMMA);
+        root.split(stream);
+        virusSeeds[game] = stream.getSeed();
+        virusGammas[game] = stream.getGamma();
+        root.split(stream);
+        pillSeeds[game] = stream.getSeed();
+        pillGammas[game] = stream.getGamma();
+        root.split(stream);
+        textureSeeds[game] = stream.getSeed();
+        textureGammas[game] = stream.getGamma();
+        populate(virusCount);
+    }
+
+    // --- Estado por jogo ---
+
+    private void park() {
+        int g = game;
+        Pill pill = getCurrentPill();
+        pillColors[g] = pill == null ? 0 : colors(pill);
+        if (pill != null) {
+            pillX[g] = pill.getPosition().getX();
+            pillY[g] = pill.getPosition().getY();
+            pillOrientation[g] = (byte) pill.getOrientation();
+            pillTextures[g] = textures(pill);
+        }
+        Pill next = getNextPill();
+        nextColors[g] = next == null ? 0 : colors(next);
+        if (next != null) nextTextures[g] = textures(next);
+        Sword current = getCurrentSword();
+        swords[g] = current != null;
+        if (current != null) {
+            swordX[g] = current.getPosition().getX();
+            swordY[g] = current.getPosition().getY();
+        }
+    }
+
+    private void load() {
+        int g = game;
+        if (pillColors[g] == 0) {
+            setCurrentPill(null);
+        } else {
+            unpack(first, pillColors[g], pillTextures[g]);
+            first.getPosition().setX(pillX[g]);
+            first.getPosition().setY(pillY[g]);
+            first.setOrientation(pillOrientation[g]);
+            setCurrentPill(first);
+        }
+        if (nextColors[g] == 0) {
+            setNextPill(null);
+        } else {
+            unpack(second, nextColors[g], nextTextures[g]);
+            spawnPosition(second);
+            setNextPill(second);
+        }
+        if (swords[g]) {
+            sword.getPosition().setX(swordX[g]);
+            sword.getPosition().setY(swordY[g]);
+            setCurrentSword(sword);
+        } else {
+            setCurrentSword(null);
+        }
+    }
+
+    private static byte colors(Pill pill) {
+        return (byte) ((BitBoard.colorIndex(pill.getColor(0)) + 1) | (BitBoard.colorIndex(pill.getColor(1)) + 1) << 2);
+    }
+
+    private static byte textures(Pill pill) {
+        return (byte) (pill.getTexture(0) | pill.getTexture(1) << 3);
+    }
+
+    private static void unpack(Pill pill, byte colors, byte textures) {
+        pill.setColor(0, COLORS[(colors & 3) - 1]);
+        pill.setColor(1, COLORS[((colors >>> 2) & 3) - 1]);
+        pill.setTexture(0, textures & 7);
+        pill.setTexture(1, (textures >>> 3) & 7);
+    }
+
+    private void spawnPosition(Pill pill) {
+        pill.getPosition().setX(getWidth() / 2);
+        pill.getPosition().setY(SPAWN_ROW);
+        pill.setOrientation(0);
+    }
+
+    // --- Sorteios (mesmos que AbstractArena e PillQueue) ---
+
+    // Draws the preview into whichever pill object is not the current pill
+    @Override
+    public boolean generateNextPill() {
+        Pill pill = getCurrentPill() == first ? second : first;
+        stream.load(pillSeeds[game], pillGammas[game]);
+        int pair = stream.nextInt(PAIRS);
+        pill.setColor(0, COLORS[pair / COLORS.length]);
+        pill.setColor(1, COLORS[pair % COLORS.length]);
+        pill.setTexture(0, stream.nextInt(Block.TEXTURE_COUNT));
+        pill.setTexture(1, stream.nextInt(Block.TEXTURE_COUNT));
+        pillSeeds[game] = stream.getSeed();
+        spawnPosition(pill);
+        setNextPill(pill);
+        return true;
+    }
+
+    @Override
+    public int nextTexture() {
+        stream.load(textureSeeds[game], textureGammas[game]);
+        int texture = stream.nextInt(Block.TEXTURE_COUNT);
+        textureSeeds[game] = stream.getSeed();
+        return texture;
+    }
+
+    @Override
+    public int spawnViruses(int count) {
+        stream.load(virusSeeds[game], virusGammas[game]);
+        int placed = VirusLayout.place(this, count, getHeight() - 1 - VIRUS_TOP_ROW, stream);
+        virusSeeds[game] = stream.getSeed();
+        return placed;
+    }
+
+    @Override
+    public boolean spawnSwordAt(int x) {
+        if (!canSpawnSwordAt(x)) return false;
+        sword.getPosition().setX(x);
+        sword.getPosition().setY(SPAWN_ROW);
+        setCurrentSword(sword);
+        return true;
+    }
+
+    @Override
+    public long getSeed() { return seeds[game]; }
+
+    // Pills are drawn one at a time from each game's stream; there is no queue to preview
+    @Override
+    public PillQueue getPillQueue() {
+        throw new UnsupportedOperationException("ArenaBank keeps no pill queue");
+    }
+}
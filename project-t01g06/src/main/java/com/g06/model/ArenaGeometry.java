@@ -0,0 +1,128 @@
+package com.g06.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shape of an arena as a bitset of blocked (wall) cells, stored per column (bit y = row y).
+ * Collision checks are a single bit test and any shape can be described, e.g. the classic
+ * rectangle or the bottle from the TODO list. Instances are immutable once built.
+ */
+public class ArenaGeometry {
+
+    private final int width;
+    private final int height;
+    private final int columnWords;
+    private final long[] blocked; // [x * columnWords + (y >>> 6)]
+    private final int[] floorRow; // per column: lowest open row + 1, 0 when the column is solid wall
+
+    private ArenaGeometry(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.columnWords = (height + 63) >>> 6;
+        this.blocked = new long[width * columnWords];
+        this.floorRow = new int[width];
+    }
+
+    // Called by every factory once the walls are in place
+    private ArenaGeometry finish() {
+        for (int x = 0; x < width; x++) {
+            int y = height - 1;
+            while (y >= 0 && isBlocked(x, y)) y--;
+            floorRow[x] = y + 1;
+        }
+        return this;
+    }
+
+    // Rectangle surrounded by walls (the original arena)
+    public static ArenaGeometry rectangle(int width, int height) {
+        ArenaGeometry g = new ArenaGeometry(width, height);
+        for (int x = 0; x < width; x++) {
+            g.block(x, 0);
+            g.block(x, height - 1);
+        }
+        for (int y = 0; y < height; y++) {
+            g.block(0, y);
+            g.block(width - 1, y);
+        }
+        return g.finish();
+    }
+
+    // Rectangle with a narrow neck at the top: pills enter through the neck into the wide body
+    public static ArenaGeometry bottle(int width, int height) {
+        ArenaGeometry g = rectangle(width, height);
+        int neckLeft = width / 2 - 1;
+        int neckRight = width / 2 + 2;
+        int neckRows = 3;
+        if (neckLeft <= 1 || neckRight >= width - 2 || height < neckRows + 8) return g; // too small for a neck (already finished)
+        for (int y = 1; y <= neckRows; y++) {
+            for (int x = 1; x < width - 1; x++) {
+                if (x < neckLeft || x > neckRight) g.block(x, y);
+            }
+        }
+        return g.finish();
+    }
+
+    // Builds a shape from text rows, '#' = wall, anything else = open
+    public static ArenaGeometry fromRows(String... rows) {
+        int width = 0;
+        for (String row : rows) width = Math.max(width, row.length());
+        ArenaGeometry g = new ArenaGeometry(width, rows.length);
+        for (int y = 0; y < rows.length; y++) {
+            for (int x = 0; x < rows[y].length(); x++) {
+                if (rows[y].charAt(x) == '#') g.block(x, y);
+            }
+        }
+        return g.finish();
+    }
+
+    private void block(int x, int y) {
+        blocked[x * columnWords + (y >>> 6)] |= 1L << (y & 63);
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int getWordsPerColumn() { return columnWords; }
+
+    // Cells outside the arena count as blocked
+    public boolean isBlocked(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) return true;
+        return (blocked[x * columnWords + (y >>> 6)] & (1L << (y & 63))) != 0;
+    }
+
+    // Wall bits of column x, word w (bit i = row w * 64 + i)
+    public long getColumnWord(int x, int w) {
+        return blocked[x * columnWords + w];
+    }
+
+    // First blocked row strictly below y in column x, or height when the column is open to the bottom
+    public int nextBlockedBelow(int x, int y) {
+        int from = y + 1;
+        for (int w = from >>> 6; w < columnWords; w++) {
+            long m = blocked[x * columnWords + w];
+            if (w == from >>> 6) m &= -1L << (from & 63);
+            if (m != 0) return Math.min(height, (w << 6) + Long.numberOfTrailingZeros(m));
+        }
+        return height;
+    }
+
+    // Row right below the lowest open cell of column x: the floor pieces rest on (height when open at the bottom)
+    public int getFloorRow(int x) { return floorRow[x]; }
+
+    public int countBlocked() {
+        int count = 0;
+        for (long m : blocked) count += Long.bitCount(m);
+        return count;
+    }
+
+    // Wall objects for callers that still want them; not used on any hot path
+    public List<Wall> toWalls() {
+        List<Wall> walls = new ArrayList<>();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (isBlocked(x, y)) walls.add(new Wall(x, y));
+            }
+        }
+        return walls;
+    }
+}
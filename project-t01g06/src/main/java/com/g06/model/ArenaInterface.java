@@ -6,6 +6,8 @@ import java.util.List;
 public interface ArenaInterface {
     int getWidth();
     int getHeight();
+    ArenaGeometry getGeometry();
+    // Wall objects derived from the geometry (rendering and collisions use the mask)
     List<Wall> getWalls();
     Block[][] getMatrix();
     Pill getCurrentPill();
@@ -14,14 +16,41 @@ public interface ArenaInterface {
     void setCurrentPill(Pill pill);
 
     int getVirusCount();
+    int getVirusCount(String color);
+    int getSettledBlockCount();
+
+    // Column index, kept up to date by every setBlock/removeBlock/moveBlock (O(1) reads)
+    // Highest occupied row of column x (smallest y), or the arena height when the column is empty
+    int getColumnTop(int x);
+    // First row from the top that holds a block or is the column floor: a piece dropped in column x rests right above it
+    int getSurfaceRow(int x);
+    // Rows between the column floor and its highest block, 0 when the column is empty
+    int getColumnHeight(int x);
 
     // Next pill support for preview
     Pill getNextPill();
     void setNextPill(Pill pill);
     boolean generateNextPill();
+    // Pills after the next one (peek(0) is promoted to next when the next pill is used)
+    PillQueue getPillQueue();
+    // Seed every random choice of this arena came from
+    long getSeed();
+    // Texture for a block settled without one, from the arena's texture stream
+    int nextTexture();
     int getLevel();
     // Sword support
     Sword getCurrentSword();
     void setCurrentSword(Sword sword);
     boolean spawnSwordAt(int x);
+
+    // Cell mutation: keeps the matrix and the bitboard in sync
+    void setBlock(int x, int y, Block block);
+    Block removeBlock(int x, int y);
+    void moveBlock(int x, int y, int nx, int ny);
+    // Direction of the other half of the capsule at (x, y), Cell.LINK_NONE for orphans, sword blocks and viruses.
+    // Removing one half turns its partner into an orphan.
+    int getLink(int x, int y);
+    BitBoard getBitBoard();
+    // Zobrist hash of the settled cells plus the falling piece, updated incrementally by every mutation
+    long getStateHash();
 }
\ No newline at end of file
@@ -0,0 +1,434 @@
+package com.g06.model;
+
+import java.util.Arrays;
+
+/**
+ * Bit-level mirror of the arena cells used by the rules engine.
+ * Each row is stored as one or more longs per color (bit x = column x), plus an occupancy and a virus mask,
+ * so "4 or more in a row" can be found with shifts and ANDs instead of walking Block objects.
+ * The Block[][] matrix stays the source for rendering; this board must be updated through the arena's
+ * setBlock/removeBlock so both stay in sync.
+ * A bitboard can also hold several boards of the same size, each array split into one slice per board
+ * (see ArenaBank): {@link #select} picks the board that every other method reads and writes.
+ */
+public class BitBoard {
+
+    public static final String[] COLORS = {"RED", "YELLOW", "BLUE"};
+    public static final int NO_COLOR = -1;
+    public static final int MATCH_LENGTH = 4;
+
+    private final int width;
+    private final int height;
+    private final int words; // longs per row
+    private final int columnWords; // longs per column
+    private final int boards;
+
+    // One slice per board; the offsets below point at the selected one
+    private final long[][] colorRows; // [color][rowBase + y * words + w]
+    private final long[] virusRows;
+    private final long[] occupiedRows;
+    private final long[] occupiedColumns; // [columnBase + x * columnWords + (y >>> 6)], bit y = row y
+    private final int[] columnTop; // [topBase + x]: highest occupied row of each column (lowest y), height when empty
+    private final byte[] links; // [cellBase + y * width + x]: capsule link of each cell, part of the hash
+    private int board;
+    private int rowBase;
+    private int columnBase;
+    private int topBase;
+    private int cellBase;
+
+    private int version; // bumped on every mutation so derived tables know when to refresh
+    private long hash;   // Zobrist hash of the occupied cells, updated in O(1) by every mutation
+
+    // Live counters, kept in step with every set/clear so readers never rescan the board
+    private int virusCount;
+    private final int[] virusesByColor = new int[COLORS.length];
+    private int blockCount; // settled non-virus cells
+
+    // Scalars of the boards that are not selected, by board
+    private final int[] parkedVersions;
+    private final long[] parkedHashes;
+    private final int[] parkedVirusCounts;
+    private final int[] parkedVirusesByColor; // [board * COLORS.length + color]
+    private final int[] parkedBlockCounts;
+
+    // Scratch buffer for horizontal run starts (one row), reused to avoid allocation per scan
+    private final long[] runScratch;
+
+    // Rows and columns that received a block since the last findNewMatches call.
+    // Clears never create a run, so only set() marks them.
+    private final long[] dirtyRows;    // [board * columnWords + (y >>> 6)], bit y
+    private final long[] dirtyColumns; // [board * words + (x >>> 6)], bit x, same layout as one row
+    private int dirtyRowBase;
+    private int dirtyColumnBase;
+
+    public BitBoard(int width, int height) {
+        this(width, height, 1);
+    }
+
+    // Room for the given number of boards, all empty; board 0 is selected
+    public BitBoard(int width, int height, int boards) {
+        if (boards < 1) throw new IllegalArgumentException("A bitboard needs at least one board");
+        this.width = width;
+        this.height = height;
+        this.words = (width + 63) >>> 6;
+        this.columnWords = (height + 63) >>> 6;
+        this.boards = boards;
+        this.colorRows = new long[COLORS.length][boards * height * words];
+        this.virusRows = new long[boards * height * words];
+        this.occupiedRows = new long[boards * height * words];
+        this.occupiedColumns = new long[boards * width * columnWords];
+        this.columnTop = new int[boards * width];
+        Arrays.fill(columnTop, height);
+        this.links = new byte[boards * width * height];
+        this.runScratch = new long[words];
+        this.dirtyRows = new long[boards * columnWords];
+        this.dirtyColumns = new long[boards * words];
+        this.parkedVersions = new int[boards];
+        this.parkedHashes = new long[boards];
+        this.parkedVirusCounts = new int[boards];
+        this.parkedVirusesByColor = new int[boards * COLORS.length];
+        this.parkedBlockCounts = new int[boards];
+    }
+
+    public static int colorIndex(String color) {
+        if (color == null) return NO_COLOR;
+        for (int i = 0; i < COLORS.length; i++) {
+            if (COLORS[i].equals(color)) return i;
+        }
+        return NO_COLOR;
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int getWordsPerRow() { return words; }
+    public int getWordsPerColumn() { return columnWords; }
+    public int getVersion() { return version; }
+    public int getBoards() { return boards; }
+    public int getSelected() { return board; }
+
+    // Makes the given board the one every other method works on; the board selected before keeps its state
+    public void select(int board) {
+        if (board == this.board) return;
+        if (board < 0 || board >= boards) throw new IndexOutOfBoundsException("No board " + board);
+        park(this.board);
+        this.board = board;
+        rowBase = board * height * words;
+        columnBase = board * width * columnWords;
+        topBase = board * width;
+        cellBase = board * width * height;
+        dirtyRowBase = board * columnWords;
+        dirtyColumnBase = board * words;
+        version = parkedVersions[board];
+        hash = parkedHashes[board];
+        virusCount = parkedVirusCounts[board];
+        System.arraycopy(parkedVirusesByColor, board * COLORS.length, virusesByColor, 0, COLORS.length);
+        blockCount = parkedBlockCounts[board];
+    }
+
+    private void park(int board) {
+        parkedVersions[board] = version;
+        parkedHashes[board] = hash;
+        parkedVirusCounts[board] = virusCount;
+        System.arraycopy(virusesByColor, 0, parkedVirusesByColor, board * COLORS.length, COLORS.length);
+        parkedBlockCounts[board] = blockCount;
+    }
+
+    // --- Mutação ---
+
+    public void set(int x, int y, int color, boolean virus) {
+        set(x, y, color, virus, Cell.LINK_NONE);
+    }
+
+    public void set(int x, int y, int color, boolean virus, int link) {
+        clear(x, y);
+        if (virus) link = Cell.LINK_NONE;
+        links[cellBase + y * width + x] = (byte) link;
+        hash ^= Zobrist.cellKey(y * width + x, color, virus, link);
+        int idx = rowBase + y * words + (x >>> 6);
+        long bit = 1L << (x & 63);
+        occupiedRows[idx] |= bit;
+        occupiedColumns[columnBase + x * columnWords + (y >>> 6)] |= 1L << (y & 63);
+        if (color != NO_COLOR) colorRows[color][idx] |= bit;
+        if (virus) {
+            virusRows[idx] |= bit;
+            virusCount++;
+            if (color != NO_COLOR) virusesByColor[color]++;
+        } else {
+            blockCount++;
+        }
+        if (y < columnTop[topBase + x]) columnTop[topBase + x] = y;
+        dirtyRows[dirtyRowBase + (y >>> 6)] |= 1L << (y & 63);
+        dirtyColumns[dirtyColumnBase + (x >>> 6)] |= bit;
+        version++;
+    }
+
+    public void clear(int x, int y) {
+        int idx = rowBase + y * words + (x >>> 6);
+        long bit = 1L << (x & 63);
+        if ((occupiedRows[idx] & bit) == 0) return;
+        int color = colorAt(x, y);
+        boolean virus = (virusRows[idx] & bit) != 0;
+        if (virus) {
+            virusCount--;
+            if (color != NO_COLOR) virusesByColor[color]--;
+        } else {
+            blockCount--;
+        }
+        int cell = y * width + x;
+        hash ^= Zobrist.cellKey(cell, color, virus, links[cellBase + cell]);
+        links[cellBase + cell] = 0;
+        long keep = ~bit;
+        occupiedRows[idx] &= keep;
+        virusRows[idx] &= keep;
+        for (long[] rows : colorRows) rows[idx] &= keep;
+        occupiedColumns[columnBase + x * columnWords + (y >>> 6)] &= ~(1L << (y & 63));
+        if (y == columnTop[topBase + x]) columnTop[topBase + x] = firstOccupiedFrom(x, y + 1);
+        version++;
+    }
+
+    // First occupied row >= from in column x, or height
+    private int firstOccupiedFrom(int x, int from) {
+        for (int w = from >>> 6; w < columnWords; w++) {
+            long m = occupiedColumns[columnBase + x * columnWords + w];
+            if (w == from >>> 6) m &= -1L << (from & 63);
+            if (m != 0) return (w << 6) + Long.numberOfTrailingZeros(m);
+        }
+        return height;
+    }
+
+    // Moves the contents of one cell to another (gravity)
+    public void move(int x, int y, int nx, int ny) {
+        if (!isOccupied(x, y)) return;
+        int color = colorAt(x, y);
+        boolean virus = isVirus(x, y);
+        int link = links[cellBase + y * width + x];
+        clear(x, y);
+        set(nx, ny, color, virus, link);
+    }
+
+    // Changes the link of an occupied cell (a capsule half becoming an orphan)
+    public void setLink(int x, int y, int link) {
+        if (!isOccupied(x, y) || isVirus(x, y)) return;
+        int cell = y * width + x;
+        int color = colorAt(x, y);
+        hash ^= Zobrist.cellKey(cell, color, false, links[cellBase + cell]) ^ Zobrist.cellKey(cell, color, false, link);
+        links[cellBase + cell] = (byte) link;
+        version++;
+    }
+
+    // Empties the selected board
+    public void clearAll() {
+        int rows = height * words;
+        Arrays.fill(occupiedRows, rowBase, rowBase + rows, 0L);
+        Arrays.fill(virusRows, rowBase, rowBase + rows, 0L);
+        for (long[] colors : colorRows) Arrays.fill(colors, rowBase, rowBase + rows, 0L);
+        Arrays.fill(occupiedColumns, columnBase, columnBase + width * columnWords, 0L);
+        Arrays.fill(columnTop, topBase, topBase + width, height);
+        Arrays.fill(links, cellBase, cellBase + width * height, (byte) 0);
+        hash = 0;
+        virusCount = 0;
+        blockCount = 0;
+        Arrays.fill(virusesByColor, 0);
+        Arrays.fill(dirtyRows, dirtyRowBase, dirtyRowBase + columnWords, 0L);
+        Arrays.fill(dirtyColumns, dirtyColumnBase, dirtyColumnBase + words, 0L);
+        version++;
+    }
+
+    // Makes the selected board an exact copy of other's selected board (same size): masks, counters and
+    // changed rows/columns
+    public void copyFrom(BitBoard other) {
+        int rows = height * words;
+        for (int c = 0; c < colorRows.length; c++) System.arraycopy(other.colorRows[c], other.rowBase, colorRows[c], rowBase, rows);
+        System.arraycopy(other.virusRows, other.rowBase, virusRows, rowBase, rows);
+        System.arraycopy(other.occupiedRows, other.rowBase, occupiedRows, rowBase, rows);
+        System.arraycopy(other.occupiedColumns, other.columnBase, occupiedColumns, columnBase, width * columnWords);
+        System.arraycopy(other.columnTop, other.topBase, columnTop, topBase, width);
+        System.arraycopy(other.virusesByColor, 0, virusesByColor, 0, virusesByColor.length);
+        System.arraycopy(other.dirtyRows, other.dirtyRowBase, dirtyRows, dirtyRowBase, columnWords);
+        System.arraycopy(other.dirtyColumns, other.dirtyColumnBase, dirtyColumns, dirtyColumnBase, words);
+        System.arraycopy(other.links, other.cellBase, links, cellBase, width * height);
+        hash = other.hash;
+        virusCount = other.virusCount;
+        blockCount = other.blockCount;
+        version++;
+    }
+
+    // --- Consulta ---
+
+    // Zobrist hash of the cells (position, color, virus, link); equal boards always have equal hashes
+    public long getHash() { return hash; }
+
+    // Highest occupied row of column x (smallest y), or height when the column is empty
+    public int getColumnTop(int x) { return columnTop[topBase + x]; }
+
+    public boolean isOccupied(int x, int y) {
+        return (occupiedRows[rowBase + y * words + (x >>> 6)] & (1L << (x & 63))) != 0;
+    }
+
+    // Occupancy of column x, word w (bit i = row w * 64 + i)
+    public long getColumnWord(int x, int w) {
+        return occupiedColumns[columnBase + x * columnWords + w];
+    }
+
+    public boolean isVirus(int x, int y) {
+        return (virusRows[rowBase + y * words + (x >>> 6)] & (1L << (x & 63))) != 0;
+    }
+
+    public int getVirusCount() { return virusCount; }
+
+    public int getVirusCount(int color) { return virusesByColor[color]; }
+
+    public int getBlockCount() { return blockCount; }
+
+    public int colorAt(int x, int y) {
+        int idx = rowBase + y * words + (x >>> 6);
+        long bit = 1L << (x & 63);
+        for (int c = 0; c < COLORS.length; c++) {
+            if ((colorRows[c][idx] & bit) != 0) return c;
+        }
+        return NO_COLOR;
+    }
+
+    // --- Deteção de linhas ---
+
+    /**
+     * Marks in {@code out} (layout y * words + w, length height * words) every cell that belongs to a horizontal
+     * or vertical run of {@link #MATCH_LENGTH} or more cells of the same color. Returns the number of marked cells.
+     */
+    public int findMatches(long[] out) {
+        Arrays.fill(out, 0L);
+        for (long[] rows : colorRows) {
+            markHorizontal(rows, out);
+            markVertical(rows, out);
+        }
+        int count = 0;
+        for (long m : out) count += Long.bitCount(m);
+        return count;
+    }
+
+    /**
+     * Same result as {@link #findMatches} as long as the board had no runs after the previous call
+     * (which holds when every match found is cleared), but only rows and columns that received a block
+     * since then are examined: a new run must contain a changed cell, and every window of
+     * {@link #MATCH_LENGTH} cells inside it does too. Resets the changed region.
+     */
+    public int findNewMatches(long[] out) {
+        Arrays.fill(out, 0L);
+        for (long[] rows : colorRows) {
+            for (int y = 0; y < height; y++) {
+                if (isDirtyRow(y)) markHorizontalRow(rows, out, y);
+            }
+            for (int y = 0; y + MATCH_LENGTH <= height; y++) {
+                boolean touched = false;
+                for (int k = 0; k < MATCH_LENGTH && !touched; k++) touched = isDirtyRow(y + k);
+                if (touched) markVerticalWindow(rows, out, y, dirtyColumns, dirtyColumnBase);
+            }
+        }
+        Arrays.fill(dirtyRows, dirtyRowBase, dirtyRowBase + columnWords, 0L);
+        Arrays.fill(dirtyColumns, dirtyColumnBase, dirtyColumnBase + words, 0L);
+        int count = 0;
+        for (long m : out) count += Long.bitCount(m);
+        return count;
+    }
+
+    // --- Máscaras (power-ups) ---
+    // Same layout as findMatches: y * words + w, bit x & 63 = column x
+
+    // Adds one cell to a mask; cells outside the board are ignored
+    public void markCell(long[] mask, int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) return;
+        mask[y * words + (x >>> 6)] |= 1L << (x & 63);
+    }
+
+    // Adds a whole row to a mask (bits past the last column are dropped by keepOccupied)
+    public void markRow(long[] mask, int y) {
+        if (y < 0 || y >= height) return;
+        Arrays.fill(mask, y * words, (y + 1) * words, -1L);
+    }
+
+    // Adds every cell of the given color, viruses included
+    public void markColor(long[] mask, int color) {
+        if (color == NO_COLOR) return;
+        long[] rows = colorRows[color];
+        for (int i = 0; i < mask.length; i++) mask[i] |= rows[rowBase + i];
+    }
+
+    // Drops the empty cells from a mask and returns how many are left
+    public int keepOccupied(long[] mask) {
+        int count = 0;
+        for (int i = 0; i < mask.length; i++) {
+            mask[i] &= occupiedRows[rowBase + i];
+            count += Long.bitCount(mask[i]);
+        }
+        return count;
+    }
+
+    public int countColor(long[] mask, int color) {
+        long[] rows = colorRows[color];
+        int count = 0;
+        for (int i = 0; i < mask.length; i++) count += Long.bitCount(mask[i] & rows[rowBase + i]);
+        return count;
+    }
+
+    public int countViruses(long[] mask) {
+        int count = 0;
+        for (int i = 0; i < mask.length; i++) count += Long.bitCount(mask[i] & virusRows[rowBase + i]);
+        return count;
+    }
+
+    private boolean isDirtyRow(int y) {
+        return (dirtyRows[dirtyRowBase + (y >>> 6)] & (1L << (y & 63))) != 0;
+    }
+
+    private void markHorizontal(long[] rows, long[] out) {
+        for (int y = 0; y < height; y++) markHorizontalRow(rows, out, y);
+    }
+
+    private void markHorizontalRow(long[] rows, long[] out, int y) {
+        int base = y * words;
+        // runScratch[w] = bits where a run of MATCH_LENGTH starts (x, x+1, x+2, x+3 all set)
+        boolean any = false;
+        for (int w = 0; w < words; w++) {
+            long r = rows[rowBase + base + w];
+            for (int k = 1; k < MATCH_LENGTH && r != 0; k++) r &= shiftDown(rows, rowBase + base, w, k);
+            runScratch[w] = r;
+            any |= r != 0;
+        }
+        if (!any) return;
+        // Expand each run start over the MATCH_LENGTH cells it covers
+        for (int w = 0; w < words; w++) {
+            long m = runScratch[w];
+            for (int k = 1; k < MATCH_LENGTH; k++) m |= shiftUp(runScratch, 0, w, k);
+            out[base + w] |= m;
+        }
+    }
+
+    private void markVertical(long[] rows, long[] out) {
+        for (int y = 0; y + MATCH_LENGTH <= height; y++) markVerticalWindow(rows, out, y, null, 0);
+    }
+
+    // Columns where rows y..y+3 all hold the color; columnFilter (one row mask at filterBase) limits the columns checked
+    private void markVerticalWindow(long[] rows, long[] out, int y, long[] columnFilter, int filterBase) {
+        for (int w = 0; w < words; w++) {
+            long v = rows[rowBase + y * words + w];
+            if (columnFilter != null) v &= columnFilter[filterBase + w];
+            for (int k = 1; k < MATCH_LENGTH && v != 0; k++) v &= rows[rowBase + (y + k) * words + w];
+            if (v == 0) continue;
+            for (int k = 0; k < MATCH_LENGTH; k++) out[(y + k) * words + w] |= v;
+        }
+    }
+
+    // Bits of the row moved towards column 0 by k (bit x of the result = bit x+k of the row)
+    private long shiftDown(long[] rows, int base, int w, int k) {
+        long v = rows[base + w] >>> k;
+        if (w + 1 < words) v |= rows[base + w + 1] << (64 - k);
+        return v;
+    }
+
+    // Bits of the row moved away from column 0 by k (bit x of the result = bit x-k of the row)
+    private long shiftUp(long[] rows, int base, int w, int k) {
+        long v = rows[base + w] << k;
+        if (w > 0) v |= rows[base + w - 1] >>> (64 - k);
+        return v;
+    }
+}
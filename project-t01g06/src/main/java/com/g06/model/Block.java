@@ -1,15 +1,14 @@
 package com.g06.model;
 
-import java.util.Random;
-
 public class Block extends Element {
 
     private static final String[] TEXTURE_CHARS = {"▣", "■", "▤", "▥", "▦", "▧", "▨", "▩"};
-    private static final Random random = new Random();
+    public static final int TEXTURE_COUNT = TEXTURE_CHARS.length;
 
     private String color;
     private int textureID;
     private Boolean isVirus;
+    private int link = Cell.LINK_NONE; // direction of the other half of the same capsule (see Cell)
 
 
     // Constructor for subclasses
@@ -20,9 +19,15 @@ public class Block extends Element {
         this.isVirus = isVirus;
     }
 
-    // Constructor for blocks
+    // Block built outside an arena (tests, search boards); the texture is picked from the position.
+    // Blocks an arena settles take theirs from the arena's seeded texture stream
     public Block(int x, int y, String color) {
-        this(x, y, color, random.nextInt(8), false);
+        this(x, y, color, Math.floorMod(x * 5 + y * 3, TEXTURE_COUNT), false);
+    }
+
+    // Block with a texture drawn by the caller (settled pills use the one chosen by the pill queue)
+    public Block(int x, int y, String color, int textureID) {
+        this(x, y, color, textureID, false);
     }
 
     public String getColor() {
@@ -40,4 +45,12 @@ public class Block extends Element {
     public int getTextureID() {
         return textureID;
     }
+
+    public int getLink() {
+        return link;
+    }
+
+    public void setLink(int link) {
+        this.link = isVirus ? Cell.LINK_NONE : link;
+    }
 }
\ No newline at end of file
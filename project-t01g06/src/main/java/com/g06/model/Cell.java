@@ -0,0 +1,95 @@
+package com.g06.model;
+
+/**
+ * Packing of a settled cell into a single byte.
+ *
+ * <pre>
+ *  bits 0-1  color   (0 = empty, 1..3 = BitBoard.COLORS index + 1)
+ *  bits 2-4  texture (0..7, see Block texture IDs)
+ *  bits 5-7  link    (0 = none, 1..4 = direction of the other capsule half, 7 = virus)
+ * </pre>
+ *
+ * Link directions follow Pill orientations (orientation + 1): right, up, left, down.
+ * Viruses never link and always use texture 8, so they reuse the link field as their flag.
+ */
+public final class Cell {
+
+    public static final byte EMPTY = 0;
+
+    public static final int LINK_NONE = 0;
+    public static final int LINK_RIGHT = 1;
+    public static final int LINK_UP = 2;
+    public static final int LINK_LEFT = 3;
+    public static final int LINK_DOWN = 4;
+    private static final int LINK_VIRUS = 7;
+
+    public static final int VIRUS_TEXTURE_ID = 8;
+
+    private static final int COLOR_MASK = 0x03;
+    private static final int TEXTURE_SHIFT = 2;
+    private static final int TEXTURE_MASK = 0x07;
+    private static final int LINK_SHIFT = 5;
+    private static final int LINK_MASK = 0x07;
+
+    private Cell() {}
+
+    public static byte block(int color, int textureID, int link) {
+        checkColor(color);
+        return (byte) ((color + 1) | ((textureID & TEXTURE_MASK) << TEXTURE_SHIFT) | ((link & LINK_MASK) << LINK_SHIFT));
+    }
+
+    public static byte virus(int color) {
+        checkColor(color);
+        return (byte) ((color + 1) | (LINK_VIRUS << LINK_SHIFT));
+    }
+
+    // Packs a Block; its position is not stored (the cell index carries it)
+    public static byte of(Block block, int link) {
+        int color = BitBoard.colorIndex(block.getColor());
+        return block.isVirus() ? virus(color) : block(color, block.getTextureID(), link);
+    }
+
+    public static boolean isEmpty(byte cell) { return cell == EMPTY; }
+
+    // BitBoard color index, or BitBoard.NO_COLOR for empty cells
+    public static int color(byte cell) { return (cell & COLOR_MASK) - 1; }
+
+    public static boolean isVirus(byte cell) { return ((cell >>> LINK_SHIFT) & LINK_MASK) == LINK_VIRUS; }
+
+    public static int texture(byte cell) {
+        return isVirus(cell) ? VIRUS_TEXTURE_ID : (cell >>> TEXTURE_SHIFT) & TEXTURE_MASK;
+    }
+
+    public static int link(byte cell) { return isVirus(cell) ? LINK_NONE : (cell >>> LINK_SHIFT) & LINK_MASK; }
+
+    // Link stored on a pill half whose partner lies in the given Pill orientation direction
+    public static int linkFor(int orientation) { return orientation + 1; }
+
+    // Link of the partner half, pointing back
+    public static int opposite(int link) { return link == LINK_NONE ? LINK_NONE : (link + 1) % 4 + 1; }
+
+    public static int linkDx(int link) { return link == LINK_RIGHT ? 1 : link == LINK_LEFT ? -1 : 0; }
+
+    public static int linkDy(int link) { return link == LINK_DOWN ? 1 : link == LINK_UP ? -1 : 0; }
+
+    public static byte withLink(byte cell, int link) {
+        if (isEmpty(cell) || isVirus(cell)) return cell;
+        return (byte) ((cell & ~(LINK_MASK << LINK_SHIFT)) | ((link & LINK_MASK) << LINK_SHIFT));
+    }
+
+    // Builds a Block view of a packed cell at (x, y)
+    public static Block toBlock(byte cell, int x, int y) {
+        if (isEmpty(cell)) return null;
+        String color = BitBoard.COLORS[color(cell)];
+        if (isVirus(cell)) return new Virus(x, y, color);
+        Block block = new Block(x, y, color, texture(cell), false);
+        block.setLink(link(cell));
+        return block;
+    }
+
+    private static void checkColor(int color) {
+        if (color < 0 || color >= BitBoard.COLORS.length) {
+            throw new IllegalArgumentException("Unknown cell color index: " + color);
+        }
+    }
+}
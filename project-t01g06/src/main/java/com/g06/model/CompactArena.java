@@ -0,0 +1,129 @@
+package com.g06.model;
+
+import java.util.Arrays;
+
+/**
+ * Arena that stores each settled cell as one packed byte (see {@link Cell}) in a flat row-major array.
+ * No Block objects are kept: getMatrix() builds a read-only Block view on demand and caches it
+ * until the next board mutation, so the viewer still works unchanged.
+ * The cells can also live in a slice of a larger array shared by many boards (see ArenaBank).
+ */
+public class CompactArena extends AbstractArena {
+
+    private final byte[] cells; // index = offset + y * width + x
+    private int offset;
+    private Block[][] matrixView;
+
+    public CompactArena(int width, int height){
+        this(width, height, 5);
+    }
+
+    public CompactArena(int width, int height, int virusCount){
+        this(ArenaGeometry.rectangle(width, height), virusCount);
+    }
+
+    // Arena with a custom shape (e.g. ArenaGeometry.bottle)
+    public CompactArena(ArenaGeometry geometry, int virusCount){
+        super(geometry);
+        this.cells = new byte[geometry.getWidth() * geometry.getHeight()];
+        this.offset = 0;
+        populate(virusCount);
+    }
+
+    // Reproducible arena: the same seed gives the same viruses and pill sequence
+    public CompactArena(int width, int height, int virusCount, long seed){
+        this(ArenaGeometry.rectangle(width, height), virusCount, seed, false);
+    }
+
+    public CompactArena(ArenaGeometry geometry, int virusCount, long seed, boolean bagPills){
+        this(geometry, virusCount, seed, bagPills, new byte[geometry.getWidth() * geometry.getHeight()], 0);
+    }
+
+    // Board stored in plane[offset .. offset + width * height); the slice is cleared before the viruses are placed
+    public CompactArena(ArenaGeometry geometry, int virusCount, long seed, boolean bagPills, byte[] plane, int offset){
+        super(geometry, seed, bagPills);
+        int size = geometry.getWidth() * geometry.getHeight();
+        if (offset < 0 || offset + size > plane.length) throw new IllegalArgumentException("Board does not fit the plane at " + offset);
+        this.cells = plane;
+        this.offset = offset;
+        Arrays.fill(plane, offset, offset + size, Cell.EMPTY);
+        populate(virusCount);
+    }
+
+    // Empty board over plane[offset ..) with no viruses or pills yet; the subclass fills it (ArenaBank)
+    protected CompactArena(ArenaGeometry geometry, BitBoard bitBoard, byte[] plane, int offset){
+        super(geometry, bitBoard, 0L, false);
+        this.cells = plane;
+        moveTo(offset);
+    }
+
+    // Points the arena at another slice of the plane
+    protected void moveTo(int offset) {
+        if (offset < 0 || offset + getWidth() * getHeight() > cells.length) throw new IllegalArgumentException("Board does not fit the plane at " + offset);
+        this.offset = offset;
+        matrixView = null;
+    }
+
+    public byte getCell(int x, int y) { return cells[offset + y * getWidth() + x]; }
+
+    // Overwrites every cell with other's (same size), so search code can reuse one board per level of the tree
+    public void copyFrom(CompactArena other) {
+        System.arraycopy(other.cells, other.offset, cells, offset, getWidth() * getHeight());
+        getBitBoard().copyFrom(other.getBitBoard());
+        matrixView = null;
+    }
+
+    public void setCell(int x, int y, byte cell) {
+        cells[offset + y * getWidth() + x] = cell;
+        if (Cell.isEmpty(cell)) getBitBoard().clear(x, y);
+        else getBitBoard().set(x, y, Cell.color(cell), Cell.isVirus(cell), Cell.link(cell));
+        matrixView = null;
+    }
+
+    // Block view of the board; rebuilt only after the cells changed. Writes to it are not reflected back.
+    public Block[][] getMatrix() {
+        if (matrixView == null) {
+            int width = getWidth();
+            int height = getHeight();
+            Block[][] view = new Block[width][height];
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    view[x][y] = Cell.toBlock(cells[offset + y * width + x], x, y);
+                }
+            }
+            matrixView = view;
+        }
+        return matrixView;
+    }
+
+    public void setBlock(int x, int y, Block block) {
+        if (block == null) { removeBlock(x, y); return; }
+        setCell(x, y, Cell.of(block, block.getLink()));
+    }
+
+    public void moveBlock(int x, int y, int nx, int ny) {
+        byte cell = getCell(x, y);
+        if (Cell.isEmpty(cell)) return;
+        setCell(x, y, Cell.EMPTY);
+        setCell(nx, ny, cell);
+    }
+
+    public Block removeBlock(int x, int y) {
+        byte old = getCell(x, y);
+        if (Cell.isEmpty(old)) return null;
+        setCell(x, y, Cell.EMPTY);
+        int link = Cell.link(old);
+        if (link != Cell.LINK_NONE) {
+            // The other half stays behind on its own; only its link changes (bitboard too, the link is part of the hash)
+            int px = x + Cell.linkDx(link), py = y + Cell.linkDy(link);
+            if (px >= 0 && px < getWidth() && py >= 0 && py < getHeight()) {
+                int i = offset + py * getWidth() + px;
+                cells[i] = Cell.withLink(cells[i], Cell.LINK_NONE);
+                getBitBoard().setLink(px, py, Cell.LINK_NONE);
+            }
+        }
+        return Cell.toBlock(old, x, y);
+    }
+
+    public int getLink(int x, int y) { return Cell.link(getCell(x, y)); }
+}
@@ -0,0 +1,121 @@
+package com.g06.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read side of the binary level-pack format (written by {@link LevelPackWriter}).
+ *
+ * Layout, big-endian:
+ * - header ({@link #HEADER_SIZE} bytes): magic "DRLP", version, width, height, bits per cell, level count, index offset;
+ * - level records, one after the other: seed (8 bytes), virus count (2 bytes), then for each virus its cell index
+ *   (y * width + x, {@code bitsPerCell} bits) and color (2 bits), bit-packed, most significant bit first;
+ * - index: one 8-byte record offset per level.
+ *
+ * The file is memory-mapped once; loading a level only touches its index slot and its record,
+ * so opening a pack is O(1) whatever its size. Packs are limited to 2 GB (one mapping).
+ */
+public final class LevelPack implements Closeable {
+
+    public static final int MAGIC = 0x44524C50; // "DRLP"
+    public static final short VERSION = 1;
+    public static final int HEADER_SIZE = 24;
+    static final int COLOR_BITS = 2;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int width;
+    private final int height;
+    private final int bitsPerCell;
+    private final int levelCount;
+    private final long indexOffset;
+
+    private LevelPack(FileChannel channel, MappedByteBuffer buffer) throws IOException {
+        this.channel = channel;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) throw new IOException("Not a level pack");
+        if (buffer.getShort(4) != VERSION) throw new IOException("Unsupported level pack version " + buffer.getShort(4));
+        this.width = buffer.getShort(6);
+        this.height = buffer.getShort(8);
+        this.bitsPerCell = buffer.getShort(10);
+        this.levelCount = buffer.getInt(12);
+        this.indexOffset = buffer.getLong(16);
+        if (indexOffset + (long) levelCount * 8 > buffer.capacity()) throw new IOException("Truncated level pack");
+    }
+
+    public static LevelPack open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new IOException("Level pack larger than 2 GB");
+            return new LevelPack(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int getLevelCount() { return levelCount; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+
+    public long getSeed(int index) {
+        return buffer.getLong(recordOffset(index));
+    }
+
+    public int getVirusCount(int index) {
+        return buffer.getShort(recordOffset(index) + 8) & 0xFFFF;
+    }
+
+    // Arena with the stored layout; the seed drives everything else (pill sequence, textures)
+    public Arena load(int index) {
+        Arena arena = new Arena(ArenaGeometry.rectangle(width, height), 0, getSeed(index), false);
+        decodeInto(index, arena);
+        return arena;
+    }
+
+    // Places the stored viruses of a level on an arena of the same size
+    public void decodeInto(int index, ArenaInterface arena) {
+        if (arena.getWidth() != width || arena.getHeight() != height) {
+            throw new IllegalArgumentException("Pack levels are " + width + "x" + height);
+        }
+        int record = recordOffset(index);
+        int count = buffer.getShort(record + 8) & 0xFFFF;
+        long bitPos = (long) (record + 10) * 8;
+        for (int i = 0; i < count; i++) {
+            int cell = readBits(bitPos, bitsPerCell);
+            int color = readBits(bitPos + bitsPerCell, COLOR_BITS);
+            bitPos += bitsPerCell + COLOR_BITS;
+            int x = cell % width, y = cell / width;
+            arena.setBlock(x, y, new Virus(x, y, BitBoard.COLORS[color]));
+        }
+    }
+
+    private int recordOffset(int index) {
+        if (index < 0 || index >= levelCount) throw new IndexOutOfBoundsException("No level " + index + " in pack of " + levelCount);
+        return (int) buffer.getLong((int) (indexOffset + (long) index * 8));
+    }
+
+    // n bits (n <= 25) starting at absolute bit position pos, most significant first
+    private int readBits(long pos, int n) {
+        int byteIndex = (int) (pos >>> 3);
+        int shift = (int) (pos & 7);
+        long window = 0;
+        int bytes = (shift + n + 7) >>> 3;
+        for (int b = 0; b < bytes; b++) window = window << 8 | (buffer.get(byteIndex + b) & 0xFF);
+        return (int) (window >>> (bytes * 8 - shift - n)) & ((1 << n) - 1);
+    }
+
+    static int bitsPerCell(int width, int height) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(width * height - 1));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
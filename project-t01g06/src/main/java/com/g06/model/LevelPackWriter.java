@@ -0,0 +1,98 @@
+package com.g06.model;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Streams levels into a pack file in the format read by {@link LevelPack}: records are written as they are added
+ * and the index goes at the end, so packs of millions of levels never have to be held in memory
+ * (only the 8-byte offset of each level).
+ */
+public final class LevelPackWriter implements Closeable {
+
+    private final Path path;
+    private final int width;
+    private final int height;
+    private final int bitsPerCell;
+    private final DataOutputStream out;
+    private long position;
+    private long[] offsets = new long[1024];
+    private int count;
+    private final byte[] record;
+
+    public LevelPackWriter(Path path, int width, int height) throws IOException {
+        if (width * height > 1 << 24) throw new IllegalArgumentException("Arena too large for a level pack");
+        this.path = path;
+        this.width = width;
+        this.height = height;
+        this.bitsPerCell = LevelPack.bitsPerCell(width, height);
+        this.record = new byte[(width * height * (bitsPerCell + LevelPack.COLOR_BITS) + 7) / 8];
+        OutputStream file = Files.newOutputStream(path);
+        this.out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16));
+        out.write(new byte[LevelPack.HEADER_SIZE]); // patched in close()
+        position = LevelPack.HEADER_SIZE;
+    }
+
+    // Stores the viruses currently on the arena, together with the seed that replays its pills
+    public void add(long seed, ArenaInterface arena) throws IOException {
+        if (arena.getWidth() != width || arena.getHeight() != height) {
+            throw new IllegalArgumentException("Pack levels are " + width + "x" + height);
+        }
+        BitBoard board = arena.getBitBoard();
+        Arrays.fill(record, (byte) 0);
+        long bitPos = 0;
+        int viruses = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (!board.isVirus(x, y)) continue;
+                writeBits(bitPos, bitsPerCell, y * width + x);
+                writeBits(bitPos + bitsPerCell, LevelPack.COLOR_BITS, board.colorAt(x, y));
+                bitPos += bitsPerCell + LevelPack.COLOR_BITS;
+                viruses++;
+            }
+        }
+        if (viruses > 0xFFFF) throw new IllegalArgumentException("Too many viruses for a level pack: " + viruses);
+
+        if (count == offsets.length) offsets = Arrays.copyOf(offsets, count * 2);
+        offsets[count++] = position;
+        int bytes = (int) ((bitPos + 7) >>> 3);
+        out.writeLong(seed);
+        out.writeShort(viruses);
+        out.write(record, 0, bytes);
+        position += 10 + bytes;
+        if (position > Integer.MAX_VALUE) throw new IOException("Level pack larger than 2 GB");
+    }
+
+    public int getLevelCount() { return count; }
+
+    // Writes the index and the header; the pack can be opened once this returns
+    @Override
+    public void close() throws IOException {
+        long indexOffset = position;
+        for (int i = 0; i < count; i++) out.writeLong(offsets[i]);
+        out.close();
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.writeInt(LevelPack.MAGIC);
+            file.writeShort(LevelPack.VERSION);
+            file.writeShort(width);
+            file.writeShort(height);
+            file.writeShort(bitsPerCell);
+            file.writeInt(count);
+            file.writeLong(indexOffset);
+        }
+    }
+
+    // MSB-first, same order LevelPack reads
+    private void writeBits(long pos, int n, int value) {
+        for (int i = n - 1; i >= 0; i--, pos++) {
+            if (((value >>> i) & 1) != 0) record[(int) (pos >>> 3)] |= (byte) (0x80 >>> (pos & 7));
+        }
+    }
+}
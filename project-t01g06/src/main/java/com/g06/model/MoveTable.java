@@ -0,0 +1,183 @@
+package com.g06.model;
+
+import java.util.Arrays;
+
+/**
+ * Legal pill placements for one arena: for each column and each of the four Pill orientations,
+ * a bitmask of the rows where a pill with its pivot at (column, row) fits.
+ * The table is rebuilt lazily, only after the board changed (settle, clear, gravity), so
+ * move/rotate/fall checks are a single bit test with no allocation.
+ * On a bitboard that holds several boards (ArenaBank) each board keeps its own table, so switching between
+ * games does not rebuild anything.
+ */
+public class MoveTable {
+
+    public static final int ORIENTATIONS = 4;
+
+    private final ArenaInterface arena;
+    private int width;
+    private int height;
+    private int columnWords;
+
+    private long[] free; // [freeBase + x * columnWords + w], bit y = cell (x, y) can hold a pill half
+    private long[] fits; // [fitsBase + (x * ORIENTATIONS + o) * columnWords + w]
+    private int freeBase; // slices of the selected board
+    private int fitsBase;
+
+    private BitBoard builtFrom;
+    private ArenaGeometry builtGeometry;
+    private boolean[] built;      // by board
+    private int[] builtVersions;
+
+    public MoveTable(ArenaInterface arena) {
+        this.arena = arena;
+    }
+
+    // True when a pill with pivot (x, y) and the given orientation is inside the arena and collides with nothing
+    public boolean fits(int x, int y, int orientation) {
+        refresh();
+        if (x < 0 || x >= width || y < 0 || y >= height) return false;
+        return (fits[fitsBase + (x * ORIENTATIONS + orientation) * columnWords + (y >>> 6)] & (1L << (y & 63))) != 0;
+    }
+
+    // True when a single cell is free (used for pieces that are not two-cell pills)
+    public boolean isFree(int x, int y) {
+        refresh();
+        if (x < 0 || x >= width || y < 0 || y >= height) return false;
+        return (free[freeBase + x * columnWords + (y >>> 6)] & (1L << (y & 63))) != 0;
+    }
+
+    // Rows where the pill fits for column x and the given orientation, word w
+    public long getFitWord(int x, int orientation, int w) {
+        refresh();
+        return fits[fitsBase + (x * ORIENTATIONS + orientation) * columnWords + w];
+    }
+
+    // Row where a pill at (x, y) with the given orientation comes to rest when dropped straight down:
+    // the last row of the unbroken run of fitting rows starting at y. Returns y when the pill does not fit there.
+    public int landingRow(int x, int y, int orientation) {
+        if (!fits(x, y, orientation)) return y;
+        int base = fitsBase + (x * ORIENTATIONS + orientation) * columnWords;
+        int from = y + 1;
+        for (int w = from >>> 6; w < columnWords; w++) {
+            long blocked = ~fits[base + w];
+            if (w == from >>> 6) blocked &= -1L << (from & 63);
+            if (blocked != 0) return Math.min(height, (w << 6) + Long.numberOfTrailingZeros(blocked)) - 1;
+        }
+        return height - 1;
+    }
+
+    // Any piece shape: every cell free. Capsules use the precomputed table above.
+    public boolean fits(PieceShape shape, int x, int y, int orientation) {
+        if (shape == PieceShape.CAPSULE) return fits(x, y, orientation);
+        for (int i = 0; i < shape.getCellCount(); i++) {
+            if (!isFree(x + shape.dx(orientation, i), y + shape.dy(orientation, i))) return false;
+        }
+        return true;
+    }
+
+    // Rows a piece at (x, y) can drop before it lands. Pieces that cut blocks only stop on walls.
+    public int dropDistance(PieceShape shape, int x, int y, int orientation) {
+        if (shape == PieceShape.CAPSULE) return landingRow(x, y, orientation) - y;
+        refresh();
+        ArenaGeometry geometry = arena.getGeometry();
+        int drop = Integer.MAX_VALUE;
+        for (int i = 0; i < shape.getCellCount(); i++) {
+            int cx = x + shape.dx(orientation, i);
+            int cy = y + shape.dy(orientation, i);
+            if (cx < 0 || cx >= width || cy < 0 || cy >= height) return 0;
+            int stop = shape.cutsBlocks() ? geometry.nextBlockedBelow(cx, cy) : firstNotFreeBelow(cx, cy);
+            drop = Math.min(drop, stop - 1 - cy);
+        }
+        return Math.max(0, drop);
+    }
+
+    // First row below y in column x that is a wall, a block or outside the arena
+    private int firstNotFreeBelow(int x, int y) {
+        int from = y + 1;
+        for (int w = from >>> 6; w < columnWords; w++) {
+            long blocked = ~free[freeBase + x * columnWords + w];
+            if (w == from >>> 6) blocked &= -1L << (from & 63);
+            if (blocked != 0) return Math.min(height, (w << 6) + Long.numberOfTrailingZeros(blocked));
+        }
+        return height;
+    }
+
+    public void invalidate() {
+        builtFrom = null;
+    }
+
+    private void refresh() {
+        BitBoard board = arena.getBitBoard();
+        ArenaGeometry geometry = arena.getGeometry();
+        if (board != builtFrom || geometry != builtGeometry) resize(board, geometry);
+        int selected = board.getSelected();
+        freeBase = selected * width * columnWords;
+        fitsBase = freeBase * ORIENTATIONS;
+        if (built[selected] && builtVersions[selected] == board.getVersion()) return;
+        rebuild(board, geometry);
+        built[selected] = true;
+        builtVersions[selected] = board.getVersion();
+    }
+
+    // New board or geometry: every table is stale
+    private void resize(BitBoard board, ArenaGeometry geometry) {
+        width = arena.getWidth();
+        height = arena.getHeight();
+        columnWords = (height + 63) >>> 6;
+        int boards = board.getBoards();
+        if (free == null || free.length != boards * width * columnWords) {
+            free = new long[boards * width * columnWords];
+            fits = new long[boards * width * ORIENTATIONS * columnWords];
+            built = new boolean[boards];
+            builtVersions = new int[boards];
+        }
+        Arrays.fill(built, false);
+        builtFrom = board;
+        builtGeometry = geometry;
+    }
+
+    private void rebuild(BitBoard board, ArenaGeometry geometry) {
+        // Free cells: inside the arena, not a wall, not occupied
+        for (int x = 0; x < width; x++) {
+            for (int w = 0; w < columnWords; w++) {
+                int rows = Math.min(64, height - (w << 6));
+                long inside = rows == 64 ? -1L : (1L << rows) - 1;
+                free[freeBase + x * columnWords + w] = inside & ~geometry.getColumnWord(x, w) & ~board.getColumnWord(x, w);
+            }
+        }
+
+        Arrays.fill(fits, fitsBase, fitsBase + width * ORIENTATIONS * columnWords, 0L);
+        for (int x = 0; x < width; x++) {
+            for (int w = 0; w < columnWords; w++) {
+                long here = free[freeBase + x * columnWords + w];
+                if (here == 0) continue;
+                int at = fitsBase + x * ORIENTATIONS * columnWords + w;
+                // 0: other half at (x + 1, y)
+                if (x + 1 < width) fits[at] = here & free[freeBase + (x + 1) * columnWords + w];
+                // 1: other half at (x, y - 1) -> bit y needs bit y - 1
+                fits[at + columnWords] = here & shiftUp(x, w);
+                // 2: other half at (x - 1, y)
+                if (x > 0) fits[at + 2 * columnWords] = here & free[freeBase + (x - 1) * columnWords + w];
+                // 3: other half at (x, y + 1) -> bit y needs bit y + 1
+                fits[at + 3 * columnWords] = here & shiftDown(x, w);
+            }
+        }
+    }
+
+    // bit y of the result = free bit y - 1 of column x
+    private long shiftUp(int x, int w) {
+        int at = freeBase + x * columnWords + w;
+        long v = free[at] << 1;
+        if (w > 0) v |= free[at - 1] >>> 63;
+        return v;
+    }
+
+    // bit y of the result = free bit y + 1 of column x
+    private long shiftDown(int x, int w) {
+        int at = freeBase + x * columnWords + w;
+        long v = free[at] >>> 1;
+        if (w + 1 < columnWords) v |= free[at + 1] << 63;
+        return v;
+    }
+}
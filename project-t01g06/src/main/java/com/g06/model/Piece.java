@@ -0,0 +1,15 @@
+package com.g06.model;
+
+/**
+ * A falling piece: a pivot position plus an orientation of its {@link PieceShape}.
+ * Cell i sits at pivot + shape offset (orientation, i) and settles with color getColor(i).
+ */
+public interface Piece {
+    PieceShape getShape();
+    Position getPosition();
+    int getOrientation();
+    void setOrientation(int orientation);
+    String getColor(int cell);
+    // Texture the cell settles with, or -1 to let the block pick one
+    int getTexture(int cell);
+}
@@ -0,0 +1,104 @@
+package com.g06.model;
+
+/**
+ * Static description of a falling piece: for every orientation, the (dx, dy) offset of each cell from the pivot,
+ * the capsule link each cell settles with, and the wall-kick offsets tried for each rotation.
+ * The controller only works with these tables, so a new piece type is just a new PieceShape.
+ */
+public final class PieceShape {
+
+    // Rotation directions, second index of the kick table
+    public static final int ROTATE_CCW = 0; // orientation + 1 (Pill.rotate)
+    public static final int ROTATE_CW = 1;  // orientation - 1
+
+    // Two-cell pill; orientation = direction of the second half (0 right, 1 up, 2 left, 3 down).
+    // Only the second half can collide when rotating, so each transition kicks away from where it lands:
+    // landing right kicks left, up kicks down (ceiling), left kicks right, down kicks up (floor).
+    public static final PieceShape CAPSULE = new PieceShape(
+            new int[][][] {
+                    {{0, 0}, {1, 0}},
+                    {{0, 0}, {0, -1}},
+                    {{0, 0}, {-1, 0}},
+                    {{0, 0}, {0, 1}},
+            },
+            new int[][][][] {
+                    /* from 0 */ {/* -> 1 */ {{0, 0}, {0, 1}},  /* -> 3 */ {{0, 0}, {0, -1}}},
+                    /* from 1 */ {/* -> 2 */ {{0, 0}, {1, 0}},  /* -> 0 */ {{0, 0}, {-1, 0}}},
+                    /* from 2 */ {/* -> 3 */ {{0, 0}, {0, -1}}, /* -> 1 */ {{0, 0}, {0, 1}}},
+                    /* from 3 */ {/* -> 0 */ {{0, 0}, {-1, 0}}, /* -> 2 */ {{0, 0}, {1, 0}}},
+            },
+            false);
+
+    // 1x4 sword, pivot on top; cuts through blocks while falling and only stops on walls
+    public static final PieceShape SWORD = new PieceShape(
+            new int[][][] {{{0, 0}, {0, 1}, {0, 2}, {0, 3}}},
+            null,
+            true);
+
+    // Plain kicks for shapes without their own table: in place, left, right, up (floor), down (ceiling)
+    private static final int[][] DEFAULT_KICKS = {{0, 0}, {-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+
+    private final int orientations;
+    private final int cells;
+    private final int[][] dx;    // [orientation][cell]
+    private final int[][] dy;
+    private final int[][] links; // [orientation][cell], Cell.LINK_*
+    private final int[][][][] kicks; // [from][direction][k] = {dx, dy}
+    private final boolean cutsBlocks;
+
+    private PieceShape(int[][][] offsets, int[][][][] kicks, boolean cutsBlocks) {
+        this.orientations = offsets.length;
+        this.cells = offsets[0].length;
+        this.dx = new int[orientations][cells];
+        this.dy = new int[orientations][cells];
+        this.links = new int[orientations][cells];
+        for (int o = 0; o < orientations; o++) {
+            if (offsets[o].length != cells) throw new IllegalArgumentException("Every orientation needs " + cells + " cells");
+            for (int i = 0; i < cells; i++) {
+                dx[o][i] = offsets[o][i][0];
+                dy[o][i] = offsets[o][i][1];
+            }
+            // A two-cell piece settles as a linked capsule; bigger shapes settle as single blocks
+            if (cells == 2) {
+                int link = linkBetween(dx[o][1] - dx[o][0], dy[o][1] - dy[o][0]);
+                links[o][0] = link;
+                links[o][1] = Cell.opposite(link);
+            }
+        }
+        if (kicks == null) {
+            kicks = new int[orientations][2][][];
+            for (int o = 0; o < orientations; o++) kicks[o][ROTATE_CCW] = kicks[o][ROTATE_CW] = DEFAULT_KICKS;
+        }
+        this.kicks = kicks;
+        this.cutsBlocks = cutsBlocks;
+    }
+
+    // Shape with the default kicks; offsets[orientation][cell] = {dx, dy}, cell 0 is usually the pivot
+    public static PieceShape of(int[][][] offsets, boolean cutsBlocks) {
+        return new PieceShape(offsets, null, cutsBlocks);
+    }
+
+    private static int linkBetween(int dx, int dy) {
+        if (dx == 1 && dy == 0) return Cell.LINK_RIGHT;
+        if (dx == 0 && dy == -1) return Cell.LINK_UP;
+        if (dx == -1 && dy == 0) return Cell.LINK_LEFT;
+        if (dx == 0 && dy == 1) return Cell.LINK_DOWN;
+        return Cell.LINK_NONE;
+    }
+
+    public int getOrientationCount() { return orientations; }
+    public int getCellCount() { return cells; }
+    public int dx(int orientation, int cell) { return dx[orientation][cell]; }
+    public int dy(int orientation, int cell) { return dy[orientation][cell]; }
+    public int link(int orientation, int cell) { return links[orientation][cell]; }
+
+    // True for pieces that destroy the blocks they fall into (sword) instead of landing on them
+    public boolean cutsBlocks() { return cutsBlocks; }
+
+    public int rotated(int orientation, int direction) {
+        return direction == ROTATE_CCW ? (orientation + 1) % orientations : (orientation + orientations - 1) % orientations;
+    }
+
+    // Pivot offsets {dx, dy} to try, in order, when rotating from the given orientation
+    public int[][] kicks(int from, int direction) { return kicks[from][direction]; }
+}
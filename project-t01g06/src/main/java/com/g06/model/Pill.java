@@ -1,15 +1,28 @@
 package com.g06.model;
 
-public class Pill {
+import java.util.Arrays;
+
+public class Pill implements Piece {
     private Position position; // The position of the "main" half (pivot)
-    private String color1;
-    private String color2;
+    private final PieceShape shape;
+    private final String[] colors; // one per shape cell
+    private final int[] textures;  // one per shape cell, -1 = none chosen
     private int orientation;   // 0: Right, 1: Up, 2: Left, 3: Down
 
     public Pill(int x, int y, String color1, String color2) {
+        this(x, y, PieceShape.CAPSULE, color1, color2);
+    }
+
+    // Pill of any shape (e.g. a 3-cell capsule); colors are given per cell
+    public Pill(int x, int y, PieceShape shape, String... colors) {
+        if (colors.length != shape.getCellCount()) {
+            throw new IllegalArgumentException("Expected " + shape.getCellCount() + " colors, got " + colors.length);
+        }
         this.position = new Position(x, y);
-        this.color1 = color1;
-        this.color2 = color2;
+        this.shape = shape;
+        this.colors = colors.clone();
+        this.textures = new int[colors.length];
+        Arrays.fill(textures, -1);
         this.orientation = 0;
     }
 
@@ -19,18 +32,18 @@ public class Pill {
 
     // Calculates the other half's position based on 4-way orientation
     public Position getOtherHalf() {
-        switch (orientation) {
-            case 0: return new Position(position.getX() + 1, position.getY()); // Right
-            case 1: return new Position(position.getX(), position.getY() - 1); // Up
-            case 2: return new Position(position.getX() - 1, position.getY()); // Left
-            case 3: return new Position(position.getX(), position.getY() + 1); // Down
-            default: return position;
-        }
+        int cell = shape.getCellCount() > 1 ? 1 : 0;
+        return new Position(position.getX() + shape.dx(orientation, cell), position.getY() + shape.dy(orientation, cell));
     }
 
-    // Cycles 0 -> 1 -> 2 -> 3 -> 0
+    // Cycles 0 -> 1 -> 2 -> 3 -> 0 (right -> up -> left -> down: counter-clockwise on screen)
     public void rotate() {
-        orientation = (orientation + 1) % 4;
+        orientation = shape.rotated(orientation, PieceShape.ROTATE_CCW);
+    }
+
+    // Opposite direction: 0 -> 3 -> 2 -> 1 -> 0 (clockwise on screen)
+    public void rotateClockwise() {
+        orientation = shape.rotated(orientation, PieceShape.ROTATE_CW);
     }
 
     public void moveLeft() {
@@ -49,11 +62,22 @@ public class Pill {
         position.setY(position.getY() - 1);
     }
 
-    public String getColor1() { return color1; }
-    public String getColor2() { return color2; }
+    public String getColor1() { return colors[0]; }
+    public String getColor2() { return colors[colors.length > 1 ? 1 : 0]; }
+
+    public PieceShape getShape() { return shape; }
+
+    public String getColor(int cell) { return colors[cell]; }
+    public void setColor(int cell, String color) { colors[cell] = color; }
 
+    public int getTexture(int cell) { return textures[cell]; }
+    public void setTexture(int cell, int texture) { textures[cell] = texture; }
+
+    public void setOrientation(int orientation) {
+        this.orientation = Math.floorMod(orientation, shape.getOrientationCount());
+    }
 
     public int getOrientation() {
         return orientation;
     }
-}
\ No newline at end of file
+}
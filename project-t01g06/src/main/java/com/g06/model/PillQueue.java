@@ -0,0 +1,71 @@
+package com.g06.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Upcoming pills, generated ahead into a fixed ring buffer so the next N can be previewed.
+ * Colors and textures come only from the stream handed in, so a queue replays exactly from its seed
+ * and queues built from split streams never share state.
+ * In bag mode the nine color pairs are dealt in shuffled rounds: every pair shows up once per nine pills.
+ */
+public class PillQueue {
+
+    private static final String[] COLORS = BitBoard.COLORS;
+    private static final int PAIRS = COLORS.length * COLORS.length;
+
+    private final SplittableRandom random;
+    private final boolean bag;
+    private final int[] bagPairs = new int[PAIRS];
+    private int bagPos = PAIRS; // empty bag, refilled on the first draw
+    private final Pill[] ring;
+    private int head;
+
+    public PillQueue(SplittableRandom random, int size, boolean bag) {
+        if (size < 1) throw new IllegalArgumentException("Queue needs at least one pill");
+        this.random = random;
+        this.bag = bag;
+        this.ring = new Pill[size];
+        for (int i = 0; i < size; i++) ring[i] = generate();
+    }
+
+    // Takes the first pill and generates a new one at the back
+    public Pill next() {
+        Pill pill = ring[head];
+        ring[head] = generate();
+        head = (head + 1) % ring.length;
+        return pill;
+    }
+
+    // i-th upcoming pill (0 = the one next() returns)
+    public Pill peek(int i) {
+        if (i < 0 || i >= ring.length) throw new IndexOutOfBoundsException("No queued pill " + i);
+        return ring[(head + i) % ring.length];
+    }
+
+    public int size() { return ring.length; }
+
+    public boolean isBag() { return bag; }
+
+    private Pill generate() {
+        int pair = bag ? nextFromBag() : random.nextInt(PAIRS);
+        Pill pill = new Pill(0, 1, COLORS[pair / COLORS.length], COLORS[pair % COLORS.length]);
+        pill.setTexture(0, random.nextInt(Block.TEXTURE_COUNT));
+        pill.setTexture(1, random.nextInt(Block.TEXTURE_COUNT));
+        return pill;
+    }
+
+    // Fisher-Yates over the nine pairs whenever the bag runs out
+    private int nextFromBag() {
+        if (bagPos == PAIRS) {
+            for (int i = 0; i < PAIRS; i++) bagPairs[i] = i;
+            for (int i = PAIRS - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int t = bagPairs[i];
+                bagPairs[i] = bagPairs[j];
+                bagPairs[j] = t;
+            }
+            bagPos = 0;
+        }
+        return bagPairs[bagPos++];
+    }
+}
@@ -33,4 +33,9 @@ public class Position {
         return (this == o) ||
                 (this.x == ((Position) o).x && this.y == ((Position) o).y);
     }
-}
\ No newline at end of file
+
+    @Override
+    public int hashCode() {
+        return 31 * x + y;
+    }
+}
@@ -0,0 +1,72 @@
+package com.g06.model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * The java.util.SplittableRandom generator (SplitMix64) with its state out in the open: a seed and a gamma.
+ * The same seed gives the same numbers, splits and bounded ints as SplittableRandom, but a stream can be saved
+ * to two longs and loaded back, so many of them can live in primitive arrays (see ArenaBank).
+ */
+public final class SplitMix implements RandomGenerator {
+
+    public static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long seed;
+    private long gamma;
+
+    public SplitMix(long seed) {
+        load(seed, GOLDEN_GAMMA);
+    }
+
+    // Continues a stream saved with getSeed/getGamma
+    public void load(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    public long getSeed() { return seed; }
+    public long getGamma() { return gamma; }
+
+    // Loads into child the stream SplittableRandom.split() would return (same draws from this one)
+    public void split(SplitMix child) {
+        long childSeed = nextLong();
+        child.load(childSeed, mixGamma(nextSeed()));
+    }
+
+    @Override
+    public long nextLong() {
+        return Zobrist.mix(nextSeed());
+    }
+
+    @Override
+    public int nextInt() {
+        long z = nextSeed();
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+        return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+
+    // Same rejection loop as SplittableRandom, so bounded draws match too
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) throw new IllegalArgumentException("bound must be positive");
+        int r = nextInt();
+        int m = bound - 1;
+        if ((bound & m) == 0) return r & m;
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = nextInt() >>> 1) {
+            // rejected: u fell in the incomplete last block
+        }
+        return r;
+    }
+
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int transitions = Long.bitCount(z ^ (z >>> 1));
+        return transitions < 24 ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+    }
+}
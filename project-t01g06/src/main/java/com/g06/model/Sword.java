@@ -3,7 +3,7 @@ package com.g06.model;
 import java.util.ArrayList;
 import java.util.List;
 
-public class Sword {
+public class Sword implements Piece {
     private Position position; // top segment position (pivot)
     private String color;
 
@@ -18,11 +18,22 @@ public class Sword {
 
     public String getColor() { return color; }
 
-    // Returns the 4 vertical segment positions from top to bottom
+    public PieceShape getShape() { return PieceShape.SWORD; }
+
+    // The sword never rotates
+    public int getOrientation() { return 0; }
+    public void setOrientation(int orientation) {}
+
+    public String getColor(int cell) { return color; }
+
+    public int getTexture(int cell) { return -1; }
+
+    // Returns the 4 vertical segment positions from top to bottom (used for drawing)
     public List<Position> getSegments() {
+        PieceShape shape = getShape();
         List<Position> segs = new ArrayList<>();
-        for (int i = 0; i < 4; i++) {
-            segs.add(new Position(position.getX(), position.getY() + i));
+        for (int i = 0; i < shape.getCellCount(); i++) {
+            segs.add(new Position(position.getX() + shape.dx(0, i), position.getY() + shape.dy(0, i)));
         }
         return segs;
     }
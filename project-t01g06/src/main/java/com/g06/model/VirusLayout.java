@@ -0,0 +1,170 @@
+package com.g06.model;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Places viruses by drawing free cells from a lazy Fisher-Yates shuffle: each draw is O(1) and only the
+ * swapped slots are stored (sparse map), so the cost follows the number of draws, not the arena size.
+ * The cells are drawn first and colored afterwards in row order, so the requested count is always reached while
+ * enough eligible cells exist:
+ * - a virus sits at most maxHeight rows above the floor of its column;
+ * - no {@link #RUN_LIMIT} viruses of the same color in a row or column (the color is picked among those allowed;
+ *   in row order at most two colors are ruled out, so only viruses already on the board can block a cell).
+ */
+public final class VirusLayout {
+
+    public static final int RUN_LIMIT = 3;
+    private static final String[] COLORS = BitBoard.COLORS;
+
+    private VirusLayout() {}
+
+    // Places min(count, eligible cells) viruses and returns how many were placed; fewer only when viruses that were
+    // already on the board leave some cell no allowed color
+    public static int place(ArenaInterface arena, int count, int maxHeight, RandomGenerator random) {
+        ArenaGeometry geometry = arena.getGeometry();
+        BitBoard board = arena.getBitBoard();
+        int width = arena.getWidth();
+        int height = arena.getHeight();
+        if (count <= 0 || maxHeight <= 0) return 0;
+
+        // Candidate rectangle: every column, from the highest allowed row down to the last row
+        int top = height;
+        for (int x = 0; x < width; x++) top = Math.min(top, geometry.getFloorRow(x) - maxHeight);
+        top = Math.max(0, top);
+        int rows = height - top;
+        int domain = width * rows;
+        int target = Math.min(count, countEligible(geometry, board, top, maxHeight));
+
+        SwapMap swaps = new SwapMap(Math.min(domain, target * 2 + 16));
+        // Draw the cells first, then color them in row order: a cell only has viruses above it and to its left
+        // yet, so at most two colors are ruled out and one is always left
+        int[] cells = new int[target];
+        int drawn = 0;
+        int i = 0;
+        for (; i < domain && drawn < target; i++) {
+            int picked = draw(swaps, i, domain, random);
+            if (isEligible(geometry, board, picked % width, top + picked / width, maxHeight)) cells[drawn++] = picked;
+        }
+        Arrays.sort(cells, 0, drawn);
+        int placed = 0;
+        for (int k = 0; k < drawn; k++) {
+            if (put(arena, board, cells[k] % width, top + cells[k] / width, random)) placed++;
+        }
+        // Viruses already on the board can still block a cell; draw replacements for those
+        for (; i < domain && placed < target; i++) {
+            int picked = draw(swaps, i, domain, random);
+            int x = picked % width, y = top + picked / width;
+            if (isEligible(geometry, board, x, y, maxHeight) && put(arena, board, x, y, random)) placed++;
+        }
+        return placed;
+    }
+
+    // Next cell of the lazy shuffle
+    private static int draw(SwapMap swaps, int i, int domain, RandomGenerator random) {
+        int j = i + random.nextInt(domain - i);
+        int picked = swaps.get(j, j);
+        swaps.put(j, swaps.get(i, i));
+        return picked;
+    }
+
+    // Places a virus of an allowed color; false when every color would complete a line
+    private static boolean put(ArenaInterface arena, BitBoard board, int x, int y, RandomGenerator random) {
+        int color = pickColor(board, x, y, random);
+        if (color == BitBoard.NO_COLOR) return false;
+        arena.setBlock(x, y, new Virus(x, y, COLORS[color]));
+        return true;
+    }
+
+    private static boolean isEligible(ArenaGeometry geometry, BitBoard board, int x, int y, int maxHeight) {
+        return !geometry.isBlocked(x, y) && !board.isOccupied(x, y) && geometry.getFloorRow(x) - y <= maxHeight;
+    }
+
+    // Open, empty cells within maxHeight of their column floor, counted from the column masks
+    private static int countEligible(ArenaGeometry geometry, BitBoard board, int top, int maxHeight) {
+        int words = board.getWordsPerColumn();
+        int total = 0;
+        for (int x = 0; x < board.getWidth(); x++) {
+            int from = Math.max(top, geometry.getFloorRow(x) - maxHeight);
+            for (int w = 0; w < words; w++) {
+                long m = ~(geometry.getColumnWord(x, w) | board.getColumnWord(x, w));
+                int base = w << 6;
+                if (from > base) m &= from - base >= 64 ? 0 : -1L << (from - base);
+                int end = board.getHeight() - base;
+                if (end < 64) m &= (1L << end) - 1;
+                total += Long.bitCount(m);
+            }
+        }
+        return total;
+    }
+
+    // Random color that does not complete a same-colored virus line through (x, y), or NO_COLOR
+    private static int pickColor(BitBoard board, int x, int y, RandomGenerator random) {
+        int start = random.nextInt(COLORS.length);
+        for (int k = 0; k < COLORS.length; k++) {
+            int color = (start + k) % COLORS.length;
+            if (run(board, x, y, 1, 0, color) + run(board, x, y, -1, 0, color) + 1 >= RUN_LIMIT) continue;
+            if (run(board, x, y, 0, 1, color) + run(board, x, y, 0, -1, color) + 1 >= RUN_LIMIT) continue;
+            return color;
+        }
+        return BitBoard.NO_COLOR;
+    }
+
+    // Same-colored viruses next to (x, y) in direction (dx, dy), up to RUN_LIMIT - 1
+    private static int run(BitBoard board, int x, int y, int dx, int dy, int color) {
+        int n = 0;
+        for (int k = 1; k < RUN_LIMIT; k++) {
+            int cx = x + dx * k, cy = y + dy * k;
+            if (cx < 0 || cy < 0 || cx >= board.getWidth() || cy >= board.getHeight()) break;
+            if (!board.isVirus(cx, cy) || board.colorAt(cx, cy) != color) break;
+            n++;
+        }
+        return n;
+    }
+
+    // Open-addressing int -> int map holding only the shuffle slots that were swapped
+    private static final class SwapMap {
+        private int[] keys; // key + 1, 0 = empty
+        private int[] values;
+        private int size;
+
+        SwapMap(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(4, expected) * 2 - 1) << 1;
+            keys = new int[capacity];
+            values = new int[capacity];
+        }
+
+        int get(int key, int missing) {
+            int mask = keys.length - 1;
+            for (int i = mix(key) & mask; keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key + 1) return values[i];
+            }
+            return missing;
+        }
+
+        void put(int key, int value) {
+            if ((size + 1) * 2 > keys.length) grow();
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            while (keys[i] != 0 && keys[i] != key + 1) i = (i + 1) & mask;
+            if (keys[i] == 0) size++;
+            keys[i] = key + 1;
+            values[i] = value;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys, oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) put(oldKeys[i] - 1, oldValues[i]);
+            }
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.g06.model;
+
+/**
+ * Zobrist keys for board states. Instead of a random table per board size, each key is a strong 64-bit mix
+ * (SplitMix64 finalizer) of what it describes, so keys are fixed, need no memory and work for any arena size.
+ * A board hash is the XOR of the keys of its occupied cells (kept by {@link BitBoard} on every mutation);
+ * {@link #pieceKey} adds the falling piece.
+ */
+public final class Zobrist {
+
+    private static final long CELL_SALT = 0x632BE59BD9B4E019L;
+    private static final long PIECE_SALT = 0x8CB92BA72F3D8DD7L;
+
+    private Zobrist() {}
+
+    // Key of one occupied cell: position, color, virus flag and capsule link
+    public static long cellKey(int cell, int color, boolean virus, int link) {
+        return mix(CELL_SALT + ((long) cell << 7 | (long) (color + 1) << 5 | (virus ? 16L : 0L) | link));
+    }
+
+    // Key of the falling piece (shape, pivot, orientation and cell colors); 0 when there is none
+    public static long pieceKey(Piece piece) {
+        if (piece == null) return 0L;
+        PieceShape shape = piece.getShape();
+        Position pivot = piece.getPosition();
+        long h = PIECE_SALT + shape.getCellCount();
+        for (int i = 0; i < shape.getCellCount(); i++) h = mix(h + (shape.dx(0, i) << 8 | (shape.dy(0, i) & 0xFF)));
+        h = mix(h + ((long) pivot.getX() << 32 | (pivot.getY() & 0xFFFFFFFFL)));
+        h = mix(h + piece.getOrientation());
+        for (int i = 0; i < shape.getCellCount(); i++) h = mix(h + BitBoard.colorIndex(piece.getColor(i)) + 1);
+        return h;
+    }
+
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
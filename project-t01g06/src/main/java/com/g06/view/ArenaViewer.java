@@ -30,6 +30,20 @@ public class ArenaViewer {
     private static final String CORNER_TR = "┐";
     private static final String CORNER_BL = "└";
     private static final String CORNER_BR = "┘";
+    private static final String TEE_DOWN = "┬";
+    private static final String TEE_UP = "┴";
+    private static final String TEE_RIGHT = "├";
+    private static final String TEE_LEFT = "┤";
+    private static final String CROSS = "┼";
+    private static final String SOLID_WALL = " ";
+
+    // Wall glyph by connected neighbours: bit 0 = left, 1 = right, 2 = up, 3 = down
+    private static final String[] WALL_GLYPHS = {
+            "✦", HORIZONTAL_LINE, HORIZONTAL_LINE, HORIZONTAL_LINE,
+            VERTICAL_LINE, CORNER_BR, CORNER_BL, TEE_UP,
+            VERTICAL_LINE, CORNER_TR, CORNER_TL, TEE_DOWN,
+            VERTICAL_LINE, TEE_LEFT, TEE_RIGHT, CROSS
+    };
 
 
     private static final String[] TEXTURE_CHARS = {
@@ -65,6 +79,18 @@ public class ArenaViewer {
 
     private static final String DEFAULT_COLOR = "#000000";
 
+    private static final String GHOST_CHAR = "○";
+
+    // Landing preview: move table of the arena being drawn
+    private ArenaInterface ghostArena;
+    private MoveTable ghostMoves;
+
+    // Wall cells and glyphs, computed once per geometry so any arena shape costs the same per frame
+    private ArenaGeometry wallGeometry;
+    private int[] wallX;
+    private int[] wallY;
+    private String[] wallGlyph;
+
 
     public ArenaViewer(TextGraphics graphics, int scaleX, int scaleY) {
         this.graphics = graphics;
@@ -73,7 +99,7 @@ public class ArenaViewer {
     }
 
     // Updated draw signature to render HUD. levelStartTime may be null for safety.
-    public void draw(Arena arena, int level, Difficulty difficulty, MenuController.Mode mode, Instant levelStartTime, long pausedElapsedSeconds, boolean showContinue, int score, int swordCharges) {
+    public void draw(ArenaInterface arena, int level, Difficulty difficulty, MenuController.Mode mode, Instant levelStartTime, long pausedElapsedSeconds, boolean showContinue, int score, int swordCharges) {
         // Compute arena drawing area leaving space on the right for HUD
         int arenaCols = arena.getWidth() * this.SCALE_X;
         int arenaRows = arena.getHeight() * this.SCALE_Y;
@@ -85,9 +111,7 @@ public class ArenaViewer {
         graphics.fillRectangle(new TerminalPosition(0, 0), new TerminalSize(totalCols, totalRows), ' ');
 
         // Draw Walls and board (left area)
-        for (Wall wall : arena.getWalls()) {
-            drawWall(wall, arena.getWidth(), arena.getHeight());
-        }
+        drawWalls(arena.getGeometry());
 
         // Draw settled Blocks
         Block[][] matrix = arena.getMatrix();
@@ -99,6 +123,9 @@ public class ArenaViewer {
             }
         }
 
+        // Ghost of where the piece will land, under the piece itself
+        drawGhost(arena);
+
         // Draw the current falling com.g06.model.Pill
         if (arena.getCurrentPill() != null) {
             drawPill(arena.getCurrentPill());
@@ -113,6 +140,35 @@ public class ArenaViewer {
         drawHUD(arena, level, difficulty, mode, levelStartTime, pausedElapsedSeconds, arenaCols, showContinue, score, swordCharges);
     }
 
+    // Landing cells come from the move table, which is only rebuilt when the board changes,
+    // so the ghost costs a couple of bit operations per frame
+    private void drawGhost(ArenaInterface arena) {
+        if (ghostArena != arena) {
+            ghostArena = arena;
+            ghostMoves = new MoveTable(arena);
+        }
+        Piece piece = arena.getCurrentSword() != null ? arena.getCurrentSword() : arena.getCurrentPill();
+        if (piece == null) return;
+        PieceShape shape = piece.getShape();
+        int o = piece.getOrientation();
+        Position pivot = piece.getPosition();
+        int drop = ghostMoves.dropDistance(shape, pivot.getX(), pivot.getY(), o);
+        if (drop <= 0) return;
+        for (int i = 0; i < shape.getCellCount(); i++) {
+            String color = shape.cutsBlocks() ? "#FFFFFF" : mapColorForeground(piece.getColor(i));
+            drawGhostCell(pivot.getX() + shape.dx(o, i), pivot.getY() + shape.dy(o, i) + drop, color);
+        }
+    }
+
+    private void drawGhostCell(int x, int y, String color) {
+        graphics.setForegroundColor(TextColor.Factory.fromString(color));
+        for (int dx = 0; dx < SCALE_X; dx++) {
+            for (int dy = 0; dy < SCALE_Y; dy++) {
+                graphics.putString(new TerminalPosition(x * SCALE_X + dx, y * SCALE_Y + dy), GHOST_CHAR);
+            }
+        }
+    }
+
     private void drawSword(Sword sword) {
         if (sword == null) return;
         // Render body segments as '|' and the tip (bottom) as \_/
@@ -146,7 +202,7 @@ public class ArenaViewer {
         graphics.disableModifiers(SGR.BOLD);
     }
 
-    private void drawHUD(Arena arena, int level, Difficulty difficulty, MenuController.Mode mode, Instant levelStartTime, long pausedElapsedSeconds, int arenaCols, boolean showContinue, int score, int swordCharges) {
+    private void drawHUD(ArenaInterface arena, int level, Difficulty difficulty, MenuController.Mode mode, Instant levelStartTime, long pausedElapsedSeconds, int arenaCols, boolean showContinue, int score, int swordCharges) {
         int hudX = arenaCols + 2; // leave 2 columns gap
         int row = 1;
         graphics.setForegroundColor(TextColor.Factory.fromString("#FFFFFF"));
@@ -165,6 +221,7 @@ public class ArenaViewer {
         if (graphics.getSize().getColumns() >= hudX + previewW) {
             drawPreviewBox(hudX, row, previewW, previewH, arena.getNextPill());
             row += previewH + 2; // label + box + extra spacing
+            drawUpcoming(hudX, row - 1, arena.getPillQueue());
         }
         if (mode == MenuController.Mode.ENDLESS) {
             graphics.putString(new TerminalPosition(hudX, row++), "Score: " + score);
@@ -178,6 +235,16 @@ public class ArenaViewer {
         // Viruses remaining (hide in endless mode)
         if (mode != MenuController.Mode.ENDLESS) {
             graphics.putString(new TerminalPosition(hudX, row++), "Viruses: " + arena.getVirusCount());
+            // Per-color remaining viruses, read from the arena's live counters
+            int col = hudX;
+            for (String color : BitBoard.COLORS) {
+                String label = color.charAt(0) + ":" + arena.getVirusCount(color) + " ";
+                graphics.setForegroundColor(TextColor.Factory.fromString(mapColorForeground(color)));
+                graphics.putString(new TerminalPosition(col, row), label);
+                col += label.length();
+            }
+            graphics.setForegroundColor(TextColor.Factory.fromString("#FFFFFF"));
+            row++;
         }
 
         // Elapsed time (pausedElapsedSeconds takes precedence when >0)
@@ -201,13 +268,15 @@ public class ArenaViewer {
 
         // Small instructions at top of HUD
         graphics.putString(new TerminalPosition(hudX, row++), "Left/Right: Move");
-        graphics.putString(new TerminalPosition(hudX, row++), "Up: Rotate");
+        graphics.putString(new TerminalPosition(hudX, row++), "Up / E: Rotate");
         graphics.putString(new TerminalPosition(hudX, row++), "Down: Drop");
+        graphics.putString(new TerminalPosition(hudX, row++), "F: Hard drop");
 
         // Sword status / power-up hint (show when charge is available)
         if (swordCharges > 0 && arena.getCurrentSword() == null) {
             graphics.putString(new TerminalPosition(hudX, row++), "Sword ready — press Space to deploy");
             graphics.putString(new TerminalPosition(hudX, row++), "Sword: " + swordCharges + " charge(s)");
+            graphics.putString(new TerminalPosition(hudX, row++), "1-4: Sweep/Laser/Bomb/Purge");
         } else if (arena.getCurrentSword() != null) {
             graphics.putString(new TerminalPosition(hudX, row++), "Sword: active");
         } else {
@@ -237,43 +306,63 @@ public class ArenaViewer {
     }
 
 
-    private void drawWall(Wall wall, int arenaWidth, int arenaHeight) {
+    private void drawWalls(ArenaGeometry geometry) {
+        if (geometry != wallGeometry) buildWallGlyphs(geometry);
+
         graphics.setForegroundColor(TextColor.Factory.fromString(WALL_COLOR));
         graphics.setBackgroundColor(TextColor.Factory.fromString(WALL_BG_COLOR));
-
         graphics.enableModifiers(SGR.BOLD);
 
-        Position p = wall.getPosition();
-        String character;
-
-        if (p.getX() == 0 && p.getY() == 0) {
-            character = CORNER_TL;
-        } else if (p.getX() == arenaWidth - 1 && p.getY() == 0) {
-            character = CORNER_TR;
-        } else if (p.getX() == 0 && p.getY() == arenaHeight - 1) {
-            character = CORNER_BL;
-        } else if (p.getX() == arenaWidth - 1 && p.getY() == arenaHeight - 1) {
-            character = CORNER_BR;
-        } else if (p.getY() == 0 || p.getY() == arenaHeight - 1) {
-            character = HORIZONTAL_LINE;
-        } else if (p.getX() == 0 || p.getX() == arenaWidth - 1) {
-            character = VERTICAL_LINE;
-        } else {
-            // IDK just in case
-            character = "✦";
-        }
-
-
-        for (int dx = 0; dx < SCALE_X; dx++) {
-            for (int dy = 0; dy < SCALE_Y; dy++) {
-                graphics.putString(
-                        new TerminalPosition(wall.getPosition().getX() * SCALE_X + dx, wall.getPosition().getY() * SCALE_Y + dy),
-                        character);
+        for (int i = 0; i < wallGlyph.length; i++) {
+            for (int dx = 0; dx < SCALE_X; dx++) {
+                for (int dy = 0; dy < SCALE_Y; dy++) {
+                    graphics.putString(new TerminalPosition(wallX[i] * SCALE_X + dx, wallY[i] * SCALE_Y + dy), wallGlyph[i]);
+                }
             }
         }
         graphics.disableModifiers(SGR.BOLD);
         graphics.setBackgroundColor(TextColor.Factory.fromString(DEFAULT_COLOR));
+    }
 
+    // Outline cells (walls touching open space) get line glyphs joined to neighbouring outline cells;
+    // walls buried inside the shape (e.g. bottle shoulders) are drawn solid.
+    private void buildWallGlyphs(ArenaGeometry geometry) {
+        int count = geometry.countBlocked();
+        wallX = new int[count];
+        wallY = new int[count];
+        wallGlyph = new String[count];
+        int i = 0;
+        for (int y = 0; y < geometry.getHeight(); y++) {
+            for (int x = 0; x < geometry.getWidth(); x++) {
+                if (!geometry.isBlocked(x, y)) continue;
+                String glyph = SOLID_WALL;
+                if (isOutline(geometry, x, y)) {
+                    int links = 0;
+                    if (geometry.isBlocked(x - 1, y) && isOutline(geometry, x - 1, y)) links |= 1;
+                    if (geometry.isBlocked(x + 1, y) && isOutline(geometry, x + 1, y)) links |= 2;
+                    if (geometry.isBlocked(x, y - 1) && isOutline(geometry, x, y - 1)) links |= 4;
+                    if (geometry.isBlocked(x, y + 1) && isOutline(geometry, x, y + 1)) links |= 8;
+                    glyph = WALL_GLYPHS[links];
+                }
+                wallX[i] = x;
+                wallY[i] = y;
+                wallGlyph[i] = glyph;
+                i++;
+            }
+        }
+        wallGeometry = geometry;
+    }
+
+    private boolean isOutline(ArenaGeometry geometry, int x, int y) {
+        if (x < 0 || y < 0 || x >= geometry.getWidth() || y >= geometry.getHeight()) return false;
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                int nx = x + dx, ny = y + dy;
+                boolean inside = nx >= 0 && ny >= 0 && nx < geometry.getWidth() && ny < geometry.getHeight();
+                if (inside && !geometry.isBlocked(nx, ny)) return true;
+            }
+        }
+        return false;
     }
 
     private void drawBlock(Block block) {
@@ -326,20 +415,40 @@ public class ArenaViewer {
             }
         }
 
-        // Second Half
-        Position other = pill.getOtherHalf();
-        graphics.setForegroundColor(TextColor.Factory.fromString(mapColorForeground(pill.getColor2())));
-        for (int dx = 0; dx < SCALE_X; dx++) {
-            for (int dy = 0; dy < SCALE_Y; dy++) {
-                graphics.putString(
-                        new TerminalPosition(other.getX() * SCALE_X + dx, other.getY() * SCALE_Y + dy),
-                        "●");
+        // Other cells (one for a regular capsule)
+        PieceShape shape = pill.getShape();
+        int o = pill.getOrientation();
+        for (int cell = 1; cell < shape.getCellCount(); cell++) {
+            int cx = pill.getPosition().getX() + shape.dx(o, cell);
+            int cy = pill.getPosition().getY() + shape.dy(o, cell);
+            graphics.setForegroundColor(TextColor.Factory.fromString(mapColorForeground(pill.getColor(cell))));
+            for (int dx = 0; dx < SCALE_X; dx++) {
+                for (int dy = 0; dy < SCALE_Y; dy++) {
+                    graphics.putString(new TerminalPosition(cx * SCALE_X + dx, cy * SCALE_Y + dy), "●");
+                }
             }
         }
 
         graphics.disableModifiers(SGR.BOLD);
     }
 
+    // Colors of the queued pills after the next one, on the spacing line under the preview box
+    private void drawUpcoming(int x, int y, PillQueue queue) {
+        if (queue == null) return;
+        graphics.setBackgroundColor(TextColor.Factory.fromString(DEFAULT_COLOR));
+        graphics.setForegroundColor(TextColor.Factory.fromString("#FFFFFF"));
+        graphics.putString(new TerminalPosition(x, y), "Then:");
+        int col = x + 6;
+        for (int i = 0; i < queue.size(); i++) {
+            Pill pill = queue.peek(i);
+            graphics.setForegroundColor(TextColor.Factory.fromString(mapColorForeground(pill.getColor1())));
+            graphics.putString(new TerminalPosition(col++, y), "●");
+            graphics.setForegroundColor(TextColor.Factory.fromString(mapColorForeground(pill.getColor2())));
+            graphics.putString(new TerminalPosition(col++, y), "●");
+            col++;
+        }
+    }
+
     // Draw the "Next Pill:" label and a bordered preview box at (x,y). The label is drawn at (x,y),
     // and the box is directly below it occupying height h (so total consumed rows = 1 + h).
     private void drawPreviewBox(int x, int y, int w, int h, Pill pill) {
@@ -150,8 +150,8 @@ public class MenuViewer {
         putCentered(startY, title, TITLE_COLOR, true);
 
         putCentered(startY + 2, "A/D or Left/Right: Move", "#FFFFFF", false);
-        putCentered(startY + 4, "W or Up Arrow: Rotate", "#FFFFFF", false);
-        putCentered(startY + 6, "S or Down Arrow: Soft Drop", "#FFFFFF", false);
+        putCentered(startY + 4, "W or Up Arrow / E: Rotate (both ways, with wall kicks)", "#FFFFFF", false);
+        putCentered(startY + 6, "S or Down Arrow: Soft Drop | F: Hard Drop | B: Autoplay", "#FFFFFF", false);
         putCentered(startY + 8, "D: Change Difficulty | M: Change Mode" , "#FFFFFF", false);
         putCentered(startY + 10, "R: Restart Game | Q: Quit Game" , "#FFFFFF", false);
         putCentered(startY + 12, "ESC: Return to Menu", SUB_COLOR, true);
@@ -162,5 +162,6 @@ public class MenuViewer {
         putCentered(startY + 18, "Sword breaks blocks and viruses as it falls, scoring per block.", "#FFFFFF", false);
         putCentered(startY + 20, "In LEVELS: you gain 1 charge every 2 levels.", "#FFFFFF", false);
         putCentered(startY + 22, "In ENDLESS: you gain 1 charge per 30 cleared blocks.", "#FFFFFF", false);
+        putCentered(startY + 24, "Charges also fire 1: sweep, 2: laser, 3: 3x3 bomb, 4: color purge.", "#FFFFFF", false);
     }
 }
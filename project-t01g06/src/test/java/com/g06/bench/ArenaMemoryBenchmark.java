@@ -0,0 +1,56 @@
+package com.g06.bench;
+
+import com.g06.model.AbstractArena;
+import com.g06.model.Arena;
+import com.g06.model.Block;
+import com.g06.model.CompactArena;
+
+import java.util.function.BiFunction;
+
+/**
+ * Rough heap cost of Arena vs CompactArena with every interior cell settled.
+ * Run manually (not a unit test): java -cp build/classes/java/main:build/classes/java/test com.g06.bench.ArenaMemoryBenchmark
+ */
+public class ArenaMemoryBenchmark {
+
+    private static final int[][] SIZES = {{10, 18}, {64, 64}, {256, 256}};
+
+    public static void main(String[] args) {
+        for (int[] size : SIZES) {
+            int w = size[0], h = size[1];
+            int copies = Math.max(4, 20_000 / (w * h / 16 + 1));
+            long objectBytes = measure(copies, w, h, Arena::new);
+            long compactBytes = measure(copies, w, h, CompactArena::new);
+            System.out.printf("%dx%d  Arena: %,d B/board  CompactArena: %,d B/board  (%.1fx)%n",
+                    w, h, objectBytes, compactBytes, (double) objectBytes / Math.max(1, compactBytes));
+        }
+    }
+
+    private static long measure(int copies, int w, int h, BiFunction<Integer, Integer, AbstractArena> factory) {
+        AbstractArena[] keep = new AbstractArena[copies];
+        long before = usedHeap();
+        for (int i = 0; i < copies; i++) {
+            AbstractArena arena = factory.apply(w, h);
+            fill(arena);
+            keep[i] = arena;
+        }
+        long after = usedHeap();
+        if (keep[copies - 1] == null) throw new IllegalStateException();
+        return (after - before) / copies;
+    }
+
+    private static void fill(AbstractArena arena) {
+        String[] colors = {"RED", "YELLOW", "BLUE"};
+        for (int x = 1; x < arena.getWidth() - 1; x++) {
+            for (int y = 1; y < arena.getHeight() - 1; y++) {
+                arena.setBlock(x, y, new Block(x, y, colors[(x + y) % colors.length]));
+            }
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
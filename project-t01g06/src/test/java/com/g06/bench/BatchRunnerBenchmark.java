@@ -0,0 +1,34 @@
+package com.g06.bench;
+
+import com.g06.controller.BatchRunner;
+import com.g06.controller.Difficulty;
+import com.g06.controller.Policy;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Complete LEVELS games per second with the random-drops policy, for pool sizes 1, 2, 4 ... up to the core count.
+ * Every pool plays the same games (same seeds), so the statistics line must not change with the pool size.
+ * Run manually (not a unit test): java -cp build/classes/java/main:build/classes/java/test com.g06.bench.BatchRunnerBenchmark
+ */
+public class BatchRunnerBenchmark {
+
+    private static final int GAMES = 20_000;
+    private static final long MAX_STEPS = 200_000;
+
+    public static void main(String[] args) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        // Warm-up on the common pool
+        new BatchRunner(Policy.RANDOM_DROPS, Difficulty.NORMAL, false, MAX_STEPS).run(0, 0, GAMES / 4);
+        for (int threads = 1; threads <= cores; threads = threads * 2 > cores && threads < cores ? cores : threads * 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            BatchRunner runner = new BatchRunner(pool, Policy.RANDOM_DROPS, Difficulty.NORMAL, false, MAX_STEPS);
+            long start = System.nanoTime();
+            BatchRunner.Stats stats = runner.run(1, 0, GAMES);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            pool.shutdown();
+            System.out.printf("threads %2d  %,8.0f games/s  %,12.0f steps/s  %s%n",
+                    threads, GAMES / seconds, stats.getSteps() / seconds, stats);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.g06.bench;
+
+import com.g06.controller.GravityEngine;
+import com.g06.model.CompactArena;
+import com.g06.model.Block;
+import com.g06.model.Cell;
+import com.g06.model.Virus;
+
+import java.util.Random;
+
+/**
+ * Time of one GravityEngine pass on a 256x256 board at increasing fill density.
+ * Each run scatters viruses (~10%), orphan halves and horizontal capsules over the top half, then settles everything.
+ * Run manually (not a unit test): java -cp build/classes/java/main:build/classes/java/test com.g06.bench.GravityBenchmark
+ */
+public class GravityBenchmark {
+
+    private static final int SIZE = 256;
+    private static final double[] DENSITIES = {0.05, 0.10, 0.20, 0.40, 0.80};
+    private static final int ROUNDS = 60;
+    private static final int WARMUP = 20; // rounds ignored while the JIT settles
+
+    public static void main(String[] args) {
+        String[] colors = {"RED", "YELLOW", "BLUE"};
+        for (double density : DENSITIES) {
+            long best = Long.MAX_VALUE;
+            int cells = 0, moved = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                CompactArena arena = new CompactArena(SIZE, SIZE, 0);
+                arena.setCurrentPill(null);
+                Random random = new Random(round);
+                for (int x = 1; x < SIZE - 1; x++) {
+                    for (int y = 1; y < SIZE / 2; y++) {
+                        if (random.nextDouble() >= density) continue;
+                        if (arena.getBitBoard().isOccupied(x, y)) continue; // right half of a capsule
+                        if (random.nextInt(10) == 0) {
+                            arena.setBlock(x, y, new Virus(x, y, colors[random.nextInt(3)]));
+                        } else if (random.nextBoolean() && x + 1 < SIZE - 1) {
+                            // Horizontal capsule (x, y)-(x + 1, y)
+                            Block left = new Block(x, y, colors[random.nextInt(3)]);
+                            Block right = new Block(x + 1, y, colors[random.nextInt(3)]);
+                            left.setLink(Cell.LINK_RIGHT);
+                            right.setLink(Cell.LINK_LEFT);
+                            arena.setBlock(x, y, left);
+                            arena.setBlock(x + 1, y, right);
+                        } else {
+                            arena.setBlock(x, y, new Block(x, y, colors[random.nextInt(3)]));
+                        }
+                    }
+                }
+                cells = arena.getSettledBlockCount() + arena.getVirusCount();
+                GravityEngine engine = new GravityEngine(arena);
+
+                long start = System.nanoTime();
+                moved = engine.settle();
+                if (round >= WARMUP) best = Math.min(best, System.nanoTime() - start);
+            }
+            System.out.printf("density %.2f  cells %,7d  moved %,7d  best %,8.2f ms  (%.1f ns/cell)%n",
+                    density, cells, moved, best / 1e6, (double) best / Math.max(1, cells));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.g06.bench;
+
+import com.g06.controller.LevelAnalyzer;
+import com.g06.model.CompactArena;
+import com.g06.model.Pill;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Layouts screened per minute by LevelAnalyzer.analyzeAll on the common pool, for a few virus counts.
+ * Every layout uses the classic 10x18 board and the same 40-pill sequence.
+ * Run manually (not a unit test): java -cp build/classes/java/main:build/classes/java/test com.g06.bench.LevelAnalyzerBenchmark
+ */
+public class LevelAnalyzerBenchmark {
+
+    private static final int[] VIRUSES = {4, 8, 12};
+    private static final int LAYOUTS = 500;
+    private static final int PILLS = 40;
+    private static final int ROUNDS = 3;
+    private static final int WARMUP = 1;
+
+    public static void main(String[] args) {
+        String[] colors = {"RED", "YELLOW", "BLUE"};
+        SplittableRandom random = new SplittableRandom(1);
+        Pill[] sequence = new Pill[PILLS];
+        for (int i = 0; i < PILLS; i++) sequence[i] = new Pill(0, 1, colors[random.nextInt(3)], colors[random.nextInt(3)]);
+        LevelAnalyzer analyzer = new LevelAnalyzer(5_000, 50);
+
+        for (int viruses : VIRUSES) {
+            List<CompactArena> levels = new ArrayList<>(LAYOUTS);
+            for (int i = 0; i < LAYOUTS; i++) levels.add(new CompactArena(10, 18, viruses, i));
+            long best = Long.MAX_VALUE;
+            int solvable = 0, unknown = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                List<LevelAnalyzer.Report> reports = analyzer.analyzeAll(levels, sequence);
+                if (round >= WARMUP) best = Math.min(best, System.nanoTime() - start);
+                solvable = 0;
+                unknown = 0;
+                for (LevelAnalyzer.Report report : reports) {
+                    if (report.isSolvable()) solvable++;
+                    else if (report.getVerdict() == LevelAnalyzer.Verdict.UNKNOWN) unknown++;
+                }
+            }
+            System.out.printf("viruses %2d  solvable %,5d  unknown %,5d  best %,8.1f ms  (%,.0f layouts/min)%n",
+                    viruses, solvable, unknown, best / 1e6, LAYOUTS * 60e9 / best);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.g06.bench;
+
+import com.g06.controller.Action;
+import com.g06.controller.BatchRunner;
+import com.g06.controller.Difficulty;
+import com.g06.controller.LookaheadSearch;
+import com.g06.controller.PlacementBot;
+import com.g06.controller.Simulation;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Time of a complete two-ply LookaheadSearch on boards from real games, how much of it fits in smaller budgets,
+ * and how far whole LEVELS games at INSANE get with the one-ply bot and with the lookahead steering it.
+ * Run manually (not a unit test): java -cp build/classes/java/main:build/classes/java/test com.g06.bench.LookaheadSearchBenchmark
+ */
+public class LookaheadSearchBenchmark {
+
+    private static final int SEARCHES = 500;
+    private static final long[] BUDGETS = {1, 5, 20};
+    private static final int GAMES = 5;
+    private static final long GAME_BUDGET = 75; // half the INSANE fall tick
+
+    public static void main(String[] args) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        LookaheadSearch lookahead = new LookaheadSearch(pool);
+        PlacementBot bot = new PlacementBot(pool);
+        for (long budget : concat(1_000, BUDGETS)) {
+            Simulation sim = new Simulation();
+            sim.reset(1, 8, Difficulty.NORMAL);
+            long total = 0, worst = 0, evaluated = 0, candidates = 0;
+            for (int i = 0; i < SEARCHES; i++) {
+                long start = System.nanoTime();
+                LookaheadSearch.Result result = lookahead.search(sim.getArena(), budget);
+                long elapsed = System.nanoTime() - start;
+                if (i >= SEARCHES / 10) { // the first searches warm up the JIT
+                    total += elapsed;
+                    worst = Math.max(worst, elapsed);
+                    if (result != null) {
+                        evaluated += result.getEvaluated();
+                        candidates += result.getCandidates();
+                    }
+                }
+                // Play the one-ply move so the next search sees a new board
+                while (sim.getArena().getCurrentPill() != null && !sim.getLastStep().isTerminal()) {
+                    Action action = bot.next(sim.getArena());
+                    if (sim.step(action).isTerminal() || action == Action.HARD_DROP) break;
+                }
+                if (sim.getLastStep().isTerminal()) sim.reset(i, 8, Difficulty.NORMAL);
+            }
+            int measured = SEARCHES - SEARCHES / 10;
+            System.out.printf("budget %,5d ms  mean %,8.1f us  worst %,8.1f us  two-ply %5.1f%% of %.1f landings  (threads %d)%n",
+                    budget, total / 1e3 / measured, worst / 1e3, 100.0 * evaluated / Math.max(1, candidates),
+                    (double) candidates / measured, pool.getParallelism());
+        }
+
+        long start = System.nanoTime();
+        BatchRunner.Stats one = new BatchRunner(new ForkJoinPool(1), new PlacementBot().asPolicy(), Difficulty.INSANE, false, 500_000)
+                .run(7, 0, GAMES);
+        System.out.printf("one-ply  %d games in %5.1f s  %s%n", GAMES, (System.nanoTime() - start) / 1e9, one);
+        start = System.nanoTime();
+        BatchRunner.Stats two = new BatchRunner(new ForkJoinPool(1), lookahead.asPolicy(new PlacementBot(pool), GAME_BUDGET),
+                Difficulty.INSANE, false, 500_000).run(7, 0, GAMES);
+        System.out.printf("two-ply  %d games in %5.1f s  %s%n", GAMES, (System.nanoTime() - start) / 1e9, two);
+    }
+
+    private static long[] concat(long first, long[] rest) {
+        long[] all = new long[rest.length + 1];
+        all[0] = first;
+        System.arraycopy(rest, 0, all, 1, rest.length);
+        return all;
+    }
+}
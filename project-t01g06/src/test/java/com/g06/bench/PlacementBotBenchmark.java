@@ -0,0 +1,51 @@
+package com.g06.bench;
+
+import com.g06.controller.Action;
+import com.g06.controller.BatchRunner;
+import com.g06.controller.Difficulty;
+import com.g06.controller.PlacementBot;
+import com.g06.controller.Simulation;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Time of one PlacementBot plan (search + scoring every landing) on boards from real games, and how far the bot
+ * gets when it plays whole LEVELS games at INSANE speed. The plan budget to beat is one INSANE fall tick (150 ms).
+ * Run manually (not a unit test): java -cp build/classes/java/main:build/classes/java/test com.g06.bench.PlacementBotBenchmark
+ */
+public class PlacementBotBenchmark {
+
+    private static final int PLANS = 20_000;
+    private static final int GAMES = 5;
+
+    public static void main(String[] args) {
+        PlacementBot bot = new PlacementBot();
+        Simulation sim = new Simulation();
+        sim.reset(1, 8, Difficulty.NORMAL);
+        long total = 0, worst = 0, candidates = 0;
+        for (int i = 0; i < PLANS; i++) {
+            long start = System.nanoTime();
+            PlacementBot.Plan plan = bot.plan(sim.getArena());
+            long elapsed = System.nanoTime() - start;
+            if (i >= PLANS / 10) { // the first plans warm up the JIT
+                total += elapsed;
+                worst = Math.max(worst, elapsed);
+            }
+            if (plan != null) candidates += plan.getCandidates();
+            // Play the chosen move so the next plan sees a new board
+            while (sim.getArena().getCurrentPill() != null && !sim.getLastStep().isTerminal()) {
+                Action action = bot.next(sim.getArena());
+                if (sim.step(action).isTerminal() || action == Action.HARD_DROP) break;
+            }
+            if (sim.getLastStep().isTerminal()) sim.reset(i, 8, Difficulty.NORMAL);
+        }
+        int measured = PLANS - PLANS / 10;
+        System.out.printf("plan  mean %,7.1f us  worst %,8.1f us  candidates %.1f  (threads %d)%n",
+                total / 1e3 / measured, worst / 1e3, (double) candidates / PLANS, ForkJoinPool.commonPool().getParallelism());
+
+        long start = System.nanoTime();
+        BatchRunner.Stats stats = new BatchRunner(new ForkJoinPool(1), new PlacementBot().asPolicy(), Difficulty.INSANE, false, 500_000)
+                .run(7, 0, GAMES);
+        System.out.printf("games %d in %.1f s  %s%n", GAMES, (System.nanoTime() - start) / 1e9, stats);
+    }
+}
@@ -0,0 +1,49 @@
+package com.g06.bench;
+
+import com.g06.controller.Action;
+import com.g06.controller.Difficulty;
+import com.g06.controller.Simulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * Steps per second of the headless Simulation on the 10x18 board, single thread.
+ * A random policy picks the actions (mostly moves and rotations, some hard drops); episodes restart on a new seed
+ * when they end, and the reset time counts too.
+ * Run manually (not a unit test): java -cp build/classes/java/main:build/classes/java/test com.g06.bench.SimulationBenchmark
+ */
+public class SimulationBenchmark {
+
+    private static final long STEPS = 5_000_000;
+    private static final int ROUNDS = 5;
+    private static final int WARMUP = 1; // rounds ignored while the JIT settles
+
+    public static void main(String[] args) {
+        Simulation sim = new Simulation();
+        SplittableRandom random = new SplittableRandom(1);
+        for (Difficulty difficulty : new Difficulty[] {Difficulty.NORMAL, Difficulty.INSANE}) {
+            long best = Long.MAX_VALUE;
+            long episodes = 0, cleared = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                long seed = round * 1_000_000L;
+                sim.reset(seed, 3, difficulty);
+                episodes = 0;
+                cleared = 0;
+                long start = System.nanoTime();
+                for (long i = 0; i < STEPS; i++) {
+                    int r = random.nextInt(16);
+                    Action action = r < 6 ? Action.of(1 + r % 4) : r == 6 ? Action.HARD_DROP : Action.NONE;
+                    Simulation.Step step = sim.step(action);
+                    cleared += step.getCleared();
+                    if (step.isTerminal()) {
+                        sim.reset(++seed, 3, difficulty);
+                        episodes++;
+                    }
+                }
+                if (round >= WARMUP) best = Math.min(best, System.nanoTime() - start);
+            }
+            System.out.printf("%-7s steps %,d  episodes %,6d  cleared %,8d  best %,8.1f ms  (%,.0f steps/s)%n",
+                    difficulty, STEPS, episodes, cleared, best / 1e6, STEPS / (best / 1e9));
+        }
+    }
+}
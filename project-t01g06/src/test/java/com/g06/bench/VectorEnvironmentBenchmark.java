@@ -0,0 +1,47 @@
+package com.g06.bench;
+
+import com.g06.controller.Action;
+import com.g06.controller.Difficulty;
+import com.g06.controller.VectorEnvironment;
+
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+
+/**
+ * Game steps per second of VectorEnvironment for growing batch sizes, random actions, single thread.
+ * Each batch step also reads one byte of every observation, as a policy would, to keep the buffer in the loop.
+ * Run manually (not a unit test): java -cp build/classes/java/main:build/classes/java/test com.g06.bench.VectorEnvironmentBenchmark
+ */
+public class VectorEnvironmentBenchmark {
+
+    private static final int[] SIZES = {16, 256, 4096};
+    private static final long GAME_STEPS = 4_000_000; // per size and round
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) {
+        for (int size : SIZES) {
+            VectorEnvironment env = new VectorEnvironment(size, 3, Difficulty.NORMAL);
+            env.reset(size);
+            SplittableRandom random = new SplittableRandom(size);
+            int[] actions = new int[size];
+            ByteBuffer obs = env.getObservations();
+            long batches = GAME_STEPS / size;
+            long best = Long.MAX_VALUE;
+            long checksum = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (long b = 0; b < batches; b++) {
+                    for (int i = 0; i < size; i++) {
+                        int r = random.nextInt(16);
+                        actions[i] = r < 6 ? 1 + r % 4 : r == 6 ? Action.HARD_DROP.ordinal() : 0;
+                    }
+                    env.step(actions);
+                    for (int i = 0; i < size; i++) checksum += obs.get(i * env.getStride() + env.getCellBytes());
+                }
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            System.out.printf("games %,5d  best %,8.1f ms  (%,.0f game steps/s)  [%d]%n",
+                    size, best / 1e6, batches * size / (best / 1e9), checksum & 0xF);
+        }
+    }
+}
@@ -4,8 +4,6 @@ import com.g06.model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
-import java.util.Collections;
-import java.util.List;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,22 +24,28 @@ public class ArenaControllerTest {
         when(mockArena.getWidth()).thenReturn(10);
         when(mockArena.getHeight()).thenReturn(20);
         when(mockArena.getCurrentPill()).thenReturn(mockPill);
-        when(mockArena.getWalls()).thenReturn(Collections.emptyList());
+        when(mockArena.getGeometry()).thenReturn(ArenaGeometry.fromRows(openRows(10, 20)));
         when(mockArena.getMatrix()).thenReturn(new Block[10][20]);
+        when(mockArena.getBitBoard()).thenReturn(new BitBoard(10, 20));
         when(mockArena.isInside(any(Position.class))).thenReturn(true);
 
         when(mockPill.getPosition()).thenReturn(new Position(5, 5));
         when(mockPill.getOtherHalf()).thenReturn(new Position(6, 5));
     }
 
+    private static String[] openRows(int width, int height) {
+        String[] rows = new String[height];
+        java.util.Arrays.fill(rows, ".".repeat(width));
+        return rows;
+    }
+
     private Arena setupArenaForComplexGravity(int width, int height) {
         Arena arena = new Arena(width, height);
         arena.setCurrentPill(null);
 
-        Block[][] matrix = arena.getMatrix();
         for (int x = 1; x < width - 1; x++)
             for (int y = 1; y < height - 1; y++)
-                matrix[x][y] = null;
+                arena.removeBlock(x, y);
 
         return arena;
     }
@@ -64,6 +68,9 @@ public class ArenaControllerTest {
         Block[][] matrixWithCollision = new Block[10][20];
         matrixWithCollision[1][5] = new Block(1, 5, "RED");
         when(mockArena.getMatrix()).thenReturn(matrixWithCollision);
+        BitBoard boardWithCollision = new BitBoard(10, 20);
+        boardWithCollision.set(1, 5, BitBoard.colorIndex("RED"), false);
+        when(mockArena.getBitBoard()).thenReturn(boardWithCollision);
 
         controller.movePillLeft();
 
@@ -75,8 +82,9 @@ public class ArenaControllerTest {
         Pill realPill = new Pill(8, 5, "RED", "BLUE");
         when(mockArena.getCurrentPill()).thenReturn(realPill);
 
-        Wall rightWall = new Wall(9, 5);
-        when(mockArena.getWalls()).thenReturn(List.of(rightWall));
+        String[] rows = openRows(10, 20);
+        rows[5] = ".........#"; // right wall at (9, 5)
+        when(mockArena.getGeometry()).thenReturn(ArenaGeometry.fromRows(rows));
 
         controller.movePillRight();
 
@@ -88,13 +96,227 @@ public class ArenaControllerTest {
         Pill realPill = new Pill(8, 1, "RED", "BLUE");
         when(mockArena.getCurrentPill()).thenReturn(realPill);
 
-        Wall topWall = new Wall(8, 0);
-        when(mockArena.getWalls()).thenReturn(List.of(topWall));
+        String[] rows = openRows(10, 20);
+        rows[0] = "........#."; // top wall at (8, 0)
+        rows[2] = "........#."; // and under the pivot, so the downward kick is blocked too
+        when(mockArena.getGeometry()).thenReturn(ArenaGeometry.fromRows(rows));
 
         controller.rotatePill();
 
         assertEquals(0, realPill.getOrientation());
+        assertEquals(1, realPill.getPosition().getY());
+    }
+
+    @Test
+    void rotatePill_CeilingCollision_KicksDown() {
+        Pill realPill = new Pill(8, 1, "RED", "BLUE");
+        when(mockArena.getCurrentPill()).thenReturn(realPill);
+
+        String[] rows = openRows(10, 20);
+        rows[0] = "........#."; // top wall at (8, 0)
+        when(mockArena.getGeometry()).thenReturn(ArenaGeometry.fromRows(rows));
+
+        controller.rotatePill();
+
+        assertEquals(1, realPill.getOrientation());
+        assertEquals(8, realPill.getPosition().getX());
+        assertEquals(2, realPill.getPosition().getY());
+    }
+
+    @Test
+    void hardDrop_lands_pill_on_the_stack_in_one_step() {
+        Arena arena = setupArenaForComplexGravity(10, 18);
+        arena.setBlock(4, 16, new Block(4, 16, "BLUE"));
+        arena.setBlock(8, 16, new Virus(8, 16, "BLUE")); // keeps the level going after the settle
+        arena.setCurrentPill(new Pill(4, 1, "RED", "YELLOW")); // horizontal: (4,1)-(5,1)
+        ArenaController realController = new ArenaController(arena);
+
+        realController.hardDrop();
+
+        assertEquals("RED", arena.getMatrix()[4][15].getColor());
+        assertEquals("YELLOW", arena.getMatrix()[5][15].getColor());
+        assertEquals(Cell.LINK_RIGHT, arena.getLink(4, 15));
+        assertNotNull(arena.getCurrentPill()); // next pill was promoted
+    }
+
+    @Test
+    void hardDrop_sword_cuts_down_to_the_floor() {
+        Arena arena = setupArenaForComplexGravity(10, 18);
+        arena.setBlock(3, 12, new Block(3, 12, "BLUE"));
+        arena.setBlock(3, 16, new Virus(3, 16, "RED"));
+        arena.setCurrentPill(new Pill(3, 1, "RED", "RED"));
+        ArenaController realController = new ArenaController(arena, false, Difficulty.NORMAL, 1, 0);
+        assertTrue(realController.attemptSpawnSword()); // sword takes the pill's column
+
+        realController.hardDrop();
+
+        assertNull(arena.getCurrentSword());
+        // Both cells cut (2 x 15), then the four settled sword blocks form a vertical run and clear (4 x 15)
+        assertEquals(6 * 15, realController.getScore());
+        for (int y = 1; y < 17; y++) assertNull(arena.getMatrix()[3][y]);
+    }
+
+    private static Pill pillAt(int x, int y, int orientation) {
+        Pill pill = new Pill(x, y, "RED", "BLUE");
+        for (int i = 0; i < orientation; i++) pill.rotate();
+        return pill;
     }
 
+    @Test
+    void rotation_kicks_away_from_walls_and_floor() {
+        Arena arena = setupArenaForComplexGravity(10, 18); // open cells: x 1..8, y 1..16
+        ArenaController realController = new ArenaController(arena);
 
+        // {x, y, from orientation, clockwise?, expected x, expected y, expected orientation}
+        int[][] cases = {
+                {1, 5, 1, 0, 2, 5, 2},   // up -> left against the left wall: kick right
+                {1, 5, 3, 1, 2, 5, 2},   // down -> left against the left wall: kick right
+                {8, 5, 3, 0, 7, 5, 0},   // down -> right against the right wall: kick left
+                {8, 5, 1, 1, 7, 5, 0},   // up -> right against the right wall: kick left
+                {4, 1, 0, 0, 4, 2, 1},   // right -> up against the ceiling: kick down
+                {4, 1, 2, 1, 4, 2, 1},   // left -> up against the ceiling: kick down
+                {4, 16, 2, 0, 4, 15, 3}, // left -> down on the floor: kick up
+                {4, 16, 0, 1, 4, 15, 3}, // right -> down on the floor: kick up
+        };
+        for (int[] c : cases) {
+            Pill pill = pillAt(c[0], c[1], c[2]);
+            arena.setCurrentPill(pill);
+            if (c[3] == 1) realController.rotatePillClockwise();
+            else realController.rotatePill();
+            String label = java.util.Arrays.toString(c);
+            assertEquals(c[6], pill.getOrientation(), label);
+            assertEquals(c[4], pill.getPosition().getX(), label);
+            assertEquals(c[5], pill.getPosition().getY(), label);
+        }
+    }
+
+    @Test
+    void rotation_succeeds_from_every_orientation_along_every_edge() {
+        Arena arena = setupArenaForComplexGravity(10, 18);
+        ArenaController realController = new ArenaController(arena);
+        MoveTable moves = new MoveTable(arena);
+
+        for (int from = 0; from < 4; from++) {
+            for (int clockwise = 0; clockwise < 2; clockwise++) {
+                for (int x = 1; x <= 8; x++) {
+                    for (int y = 1; y <= 16; y++) {
+                        boolean edge = x == 1 || x == 8 || y == 1 || y == 16;
+                        if (!edge || !moves.fits(x, y, from)) continue;
+                        Pill pill = pillAt(x, y, from);
+                        arena.setCurrentPill(pill);
+                        if (clockwise == 1) realController.rotatePillClockwise();
+                        else realController.rotatePill();
+
+                        String label = "from " + from + (clockwise == 1 ? " cw" : " ccw") + " at " + x + "," + y;
+                        int expected = clockwise == 1 ? (from + 3) % 4 : (from + 1) % 4;
+                        assertEquals(expected, pill.getOrientation(), label);
+                        Position p = pill.getPosition();
+                        assertTrue(moves.fits(p.getX(), p.getY(), expected), label);
+                        assertTrue(Math.abs(p.getX() - x) + Math.abs(p.getY() - y) <= 1, label);
+                        // No kick when the plain rotation already fits
+                        if (moves.fits(x, y, expected)) assertTrue(p.getX() == x && p.getY() == y, label);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void rotation_is_refused_when_every_kick_collides() {
+        Arena arena = setupArenaForComplexGravity(10, 18);
+        ArenaController realController = new ArenaController(arena);
+        // Vertical pill in a one-wide shaft: (4,9)-(4,10) with blocks on both sides
+        for (int y = 8; y <= 11; y++) {
+            arena.setBlock(3, y, new Virus(3, y, "YELLOW"));
+            arena.setBlock(5, y, new Virus(5, y, "YELLOW"));
+        }
+        Pill pill = pillAt(4, 10, 1);
+        arena.setCurrentPill(pill);
+
+        realController.rotatePill();
+        realController.rotatePillClockwise();
+
+        assertEquals(1, pill.getOrientation());
+        assertEquals(4, pill.getPosition().getX());
+        assertEquals(10, pill.getPosition().getY());
+    }
+
+    @Test
+    void custom_shapes_use_the_same_move_rotate_and_settle_path() {
+        Arena arena = setupArenaForComplexGravity(10, 18);
+        arena.setBlock(8, 16, new Virus(8, 16, "BLUE")); // keeps the level going after the settle
+        PieceShape triple = PieceShape.of(new int[][][] {
+                {{0, 0}, {-1, 0}, {1, 0}},
+                {{0, 0}, {0, -1}, {0, 1}},
+        }, false);
+        Pill piece = new Pill(2, 1, triple, "RED", "YELLOW", "BLUE");
+        arena.setCurrentPill(piece);
+        ArenaController realController = new ArenaController(arena);
+
+        realController.movePillLeft();           // left cell would enter the wall
+        assertEquals(2, piece.getPosition().getX());
+        realController.rotatePill();              // vertical: top cell in the ceiling, kicked
+        assertEquals(1, piece.getOrientation());
+        assertEquals(2, piece.getPosition().getY());
+        realController.fallPill();
+        assertEquals(3, piece.getPosition().getY());
+
+        realController.hardDrop();
+
+        assertEquals("YELLOW", arena.getMatrix()[2][14].getColor());
+        assertEquals("RED", arena.getMatrix()[2][15].getColor());
+        assertEquals("BLUE", arena.getMatrix()[2][16].getColor());
+        assertEquals(Cell.LINK_NONE, arena.getLink(2, 15));
+    }
+
+    @Test
+    void sword_moves_through_the_shared_path_and_cannot_rotate() {
+        Arena arena = setupArenaForComplexGravity(10, 18);
+        arena.setCurrentPill(new Pill(4, 1, "RED", "RED"));
+        ArenaController realController = new ArenaController(arena, false, Difficulty.NORMAL, 1, 0);
+        assertTrue(realController.attemptSpawnSword());
+        Sword sword = arena.getCurrentSword();
+
+        realController.movePillRight();
+        realController.rotatePill();
+        assertEquals(5, sword.getPosition().getX());
+        assertEquals(0, sword.getOrientation());
+
+        arena.setBlock(5, 6, new Block(5, 6, "BLUE"));
+        assertTrue(realController.fallPill()); // tip moves from row 4 to 5
+        assertTrue(realController.fallPill()); // tip cuts the block at row 6
+        assertNull(arena.getMatrix()[5][6]);
+        assertEquals(15, realController.getScore());
+    }
+
+    @Test
+    void power_up_uses_a_charge_and_scores_what_it_clears() {
+        Arena arena = setupArenaForComplexGravity(10, 18);
+        arena.setBlock(4, 16, new Virus(4, 16, "BLUE"));
+        arena.setBlock(6, 16, new Virus(6, 16, "YELLOW"));
+        arena.setCurrentPill(new Pill(4, 1, "RED", "RED"));
+        ArenaController realController = new ArenaController(arena, false, Difficulty.NORMAL, 1, 0);
+
+        assertTrue(realController.usePowerUp(PowerUp.BOMB)); // lands on the blue virus, the blast reaches column 5 only
+        assertEquals(0, realController.getSwordCharges());
+        assertEquals(15, realController.getScore());
+        assertEquals(1, arena.getVirusCount());
+        assertFalse(realController.isVictory());
+        assertFalse(realController.usePowerUp(PowerUp.ROW_LASER)); // out of charges
+    }
+
+    @Test
+    void power_up_that_hits_nothing_keeps_the_charge() {
+        Arena arena = setupArenaForComplexGravity(10, 18);
+        arena.setBlock(8, 16, new Virus(8, 16, "BLUE"));
+        arena.setCurrentPill(new Pill(2, 1, "RED", "RED"));
+        ArenaController realController = new ArenaController(arena, true, Difficulty.NORMAL, 1, 29);
+
+        assertFalse(realController.usePowerUp(PowerUp.COLUMN_SWEEP));
+        assertEquals(1, realController.getSwordCharges());
+        assertTrue(realController.usePowerUp(PowerUp.ROW_LASER)); // floor row holds the virus
+        // endless mode: the cleared virus completes the 30-block threshold and pays the charge back
+        assertEquals(1, realController.getSwordCharges());
+        assertEquals(0, realController.getBlocksCleared());
+    }
 }
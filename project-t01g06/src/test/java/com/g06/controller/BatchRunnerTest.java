@@ -0,0 +1,48 @@
+package com.g06.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchRunnerTest {
+
+    @Test
+    void results_do_not_depend_on_the_pool_size() {
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            BatchRunner.Stats sequential = new BatchRunner(one, Policy.RANDOM_DROPS, Difficulty.INSANE, false, 20_000).run(42, 0, 40);
+            BatchRunner.Stats parallel = new BatchRunner(four, Policy.RANDOM_DROPS, Difficulty.INSANE, false, 20_000).run(42, 0, 40);
+
+            assertEquals(40, sequential.getGames());
+            assertEquals(sequential.toString(), parallel.toString());
+            assertTrue(sequential.getPillsUsed() > 0);
+            assertTrue(sequential.getHighestLevel() >= 1);
+        } finally {
+            one.shutdown();
+            four.shutdown();
+        }
+    }
+
+    @Test
+    void ranges_add_up_to_the_whole_batch() {
+        BatchRunner runner = new BatchRunner(Policy.RANDOM, Difficulty.HARD, true, 5_000);
+        BatchRunner.Stats whole = runner.run(7, 0, 20);
+        BatchRunner.Stats first = runner.run(7, 0, 10);
+        BatchRunner.Stats second = runner.run(7, 10, 10);
+
+        assertEquals(whole.getSteps(), first.getSteps() + second.getSteps());
+        assertEquals(whole.getPillsUsed(), first.getPillsUsed() + second.getPillsUsed());
+        assertEquals(whole.getBestScore(), Math.max(first.getBestScore(), second.getBestScore()));
+        assertEquals(1, whole.getHighestLevel(), "Endless games stay on level 1");
+    }
+
+    @Test
+    void the_step_limit_stops_games() {
+        BatchRunner.Stats stats = new BatchRunner(Policy.RANDOM, Difficulty.EASY, true, 50).run(1, 0, 5);
+
+        assertEquals(5, stats.getTruncated());
+        assertEquals(5 * 50, stats.getSteps());
+    }
+}
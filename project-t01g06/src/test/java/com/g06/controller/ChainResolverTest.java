@@ -0,0 +1,73 @@
+package com.g06.controller;
+
+import com.g06.model.Arena;
+import com.g06.model.Block;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChainResolverTest {
+
+    private static Arena emptyArena(int width, int height) {
+        Arena arena = new Arena(width, height, 0);
+        arena.setCurrentPill(null);
+        return arena;
+    }
+
+    private static void put(Arena arena, int x, int y, String color) {
+        arena.setBlock(x, y, new Block(x, y, color));
+    }
+
+    @Test
+    void nothing_to_clear_is_an_empty_chain() {
+        Arena arena = emptyArena(10, 18);
+        put(arena, 1, 16, "RED");
+        put(arena, 2, 16, "RED");
+        put(arena, 3, 16, "RED");
+
+        ChainResolver chain = new ChainResolver(arena);
+        assertEquals(0, chain.resolve());
+        assertEquals(0, chain.getSteps());
+        assertEquals(3, arena.getSettledBlockCount());
+    }
+
+    @Test
+    void falling_blocks_that_complete_a_run_clear_in_the_same_resolve() {
+        Arena arena = emptyArena(10, 18);
+        // Step 1 clears the blue column at x = 4; the red block above it falls into row 16 and completes RRRR
+        for (int x = 1; x <= 3; x++) put(arena, x, 16, "RED");
+        for (int y = 13; y <= 16; y++) put(arena, 4, y, "BLUE");
+        put(arena, 4, 12, "RED");
+        put(arena, 4, 11, "YELLOW");
+
+        ChainResolver chain = new ChainResolver(arena);
+        assertEquals(8, chain.resolve());
+        assertEquals(2, chain.getSteps());
+        assertEquals(4, chain.getCleared(0));
+        assertEquals(4, chain.getCleared(1));
+        assertEquals(8, chain.getTotalCleared());
+
+        // Only the yellow block is left, sitting on the floor
+        assertEquals(1, arena.getSettledBlockCount());
+        assertEquals("YELLOW", arena.getMatrix()[4][16].getColor());
+        assertEquals(0, arena.getBitBoard().findMatches(new long[18]));
+        assertThrows(IndexOutOfBoundsException.class, () -> chain.getCleared(2));
+    }
+
+    @Test
+    void three_step_chain_is_recorded_step_by_step() {
+        Arena arena = emptyArena(10, 18);
+        // row 16: R R R B Y Y Y, with B B B stacked on (4,16) and R, Y above them
+        for (int x = 1; x <= 3; x++) put(arena, x, 16, "RED");
+        for (int x = 5; x <= 7; x++) put(arena, x, 16, "YELLOW");
+        for (int y = 13; y <= 16; y++) put(arena, 4, y, "BLUE");
+        put(arena, 4, 12, "RED");
+        put(arena, 4, 11, "YELLOW");
+
+        ChainResolver chain = new ChainResolver(arena);
+        assertEquals(12, chain.resolve());
+        assertEquals(3, chain.getSteps());
+        for (int step = 0; step < 3; step++) assertEquals(4, chain.getCleared(step));
+        assertEquals(0, arena.getSettledBlockCount());
+    }
+}
@@ -0,0 +1,156 @@
+package com.g06.controller;
+
+import com.g06.model.Arena;
+import com.g06.model.ArenaGeometry;
+import com.g06.model.Block;
+import com.g06.model.Cell;
+import com.g06.model.Virus;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GravityEngineTest {
+
+    private static Arena emptyArena(int width, int height) {
+        Arena arena = new Arena(width, height, 0);
+        arena.setCurrentPill(null);
+        return arena;
+    }
+
+    private static void put(Arena arena, int x, int y, String color) {
+        arena.setBlock(x, y, new Block(x, y, color));
+    }
+
+    // Settled capsule with its pivot at (x, y), laid out like a Pill with the given orientation
+    private static void capsule(Arena arena, int x, int y, int orientation, String color1, String color2) {
+        int link = Cell.linkFor(orientation);
+        int ox = x + Cell.linkDx(link), oy = y + Cell.linkDy(link);
+        Block first = new Block(x, y, color1);
+        Block second = new Block(ox, oy, color2);
+        first.setLink(link);
+        second.setLink(Cell.opposite(link));
+        arena.setBlock(x, y, first);
+        arena.setBlock(ox, oy, second);
+    }
+
+    @Test
+    void loose_block_falls_to_the_floor() {
+        Arena arena = emptyArena(10, 18);
+        put(arena, 4, 3, "RED");
+
+        assertEquals(1, new GravityEngine(arena).settle());
+        assertNull(arena.getMatrix()[4][3]);
+        Block landed = arena.getMatrix()[4][16];
+        assertEquals("RED", landed.getColor());
+        assertEquals(16, landed.getPosition().getY());
+        assertTrue(arena.getBitBoard().isOccupied(4, 16));
+    }
+
+    @Test
+    void capsule_falls_as_one_until_either_half_lands() {
+        Arena arena = emptyArena(10, 18);
+        put(arena, 3, 14, "BLUE");                 // drops to the floor first
+        capsule(arena, 3, 10, 0, "RED", "RED");    // horizontal capsule (3,10)-(4,10)
+        put(arena, 4, 9, "YELLOW");                // orphan half sitting on it
+
+        new GravityEngine(arena).settle();
+
+        // (3,10) stops on top of the blue block at (3,16); (4,10) hangs on with it
+        assertEquals("BLUE", arena.getMatrix()[3][16].getColor());
+        assertEquals("RED", arena.getMatrix()[3][15].getColor());
+        assertEquals("RED", arena.getMatrix()[4][15].getColor());
+        assertEquals("YELLOW", arena.getMatrix()[4][14].getColor());
+        assertNull(arena.getMatrix()[4][16]);
+        assertEquals(Cell.LINK_LEFT, arena.getLink(4, 15));
+    }
+
+    @Test
+    void unlinked_neighbours_do_not_hold_each_other_up() {
+        Arena arena = emptyArena(10, 18);
+        put(arena, 5, 16, "RED");
+        put(arena, 5, 15, "RED");
+        put(arena, 6, 15, "BLUE"); // touches (5,15) but belongs to another capsule
+
+        assertEquals(1, new GravityEngine(arena).settle());
+        assertEquals("BLUE", arena.getMatrix()[6][16].getColor());
+    }
+
+    @Test
+    void removing_one_half_orphans_the_other() {
+        Arena arena = emptyArena(10, 18);
+        put(arena, 4, 16, "BLUE");
+        capsule(arena, 4, 15, 0, "RED", "YELLOW"); // (5,15) hangs over empty space
+        assertEquals(0, new GravityEngine(arena).settle());
+
+        arena.removeBlock(4, 15);
+        assertEquals(Cell.LINK_NONE, arena.getLink(5, 15));
+        assertEquals(1, new GravityEngine(arena).settle());
+        assertEquals("YELLOW", arena.getMatrix()[5][16].getColor());
+    }
+
+    @Test
+    void viruses_hold_up_what_rests_on_them() {
+        Arena arena = emptyArena(10, 18);
+        arena.setBlock(5, 12, new Virus(5, 12, "BLUE"));
+        capsule(arena, 5, 11, 0, "RED", "RED"); // (6,11) overhangs empty space but is linked to the supported half
+
+        assertEquals(0, new GravityEngine(arena).settle());
+        assertEquals("RED", arena.getMatrix()[6][11].getColor());
+    }
+
+    @Test
+    void vertical_capsule_keeps_its_shape() {
+        Arena arena = emptyArena(10, 18);
+        capsule(arena, 2, 5, 1, "RED", "BLUE"); // (2,5) with its partner above at (2,4)
+
+        new GravityEngine(arena).settle();
+
+        assertEquals("RED", arena.getMatrix()[2][16].getColor());
+        assertEquals("BLUE", arena.getMatrix()[2][15].getColor());
+        assertEquals(Cell.LINK_UP, arena.getLink(2, 16));
+        assertEquals(Cell.LINK_DOWN, arena.getLink(2, 15));
+    }
+
+    @Test
+    void ledges_in_the_geometry_stop_the_fall() {
+        Arena arena = new Arena(ArenaGeometry.fromRows(
+                "#######",
+                "#.....#",
+                "#.....#",
+                "#.###.#",
+                "#.....#",
+                "#######"), 0);
+        arena.setCurrentPill(null);
+        capsule(arena, 1, 1, 0, "BLUE", "RED");
+
+        new GravityEngine(arena).settle();
+
+        // (2,1) rests on the ledge at row 3; (1,1) is its partner and stays level
+        assertEquals("RED", arena.getMatrix()[2][2].getColor());
+        assertEquals("BLUE", arena.getMatrix()[1][2].getColor());
+    }
+
+    @Test
+    void one_pass_leaves_nothing_floating() {
+        Random random = new Random(7);
+        String[] colors = {"RED", "YELLOW", "BLUE"};
+        for (int round = 0; round < 50; round++) {
+            Arena arena = emptyArena(12, 20);
+            for (int i = 0; i < 80; i++) {
+                int x = 1 + random.nextInt(10), y = 1 + random.nextInt(18);
+                int kind = random.nextInt(6);
+                if (kind == 0) arena.setBlock(x, y, new Virus(x, y, colors[random.nextInt(3)]));
+                else if (kind < 3) put(arena, x, y, colors[random.nextInt(3)]);
+                else if (arena.getMatrix()[x][y] == null && arena.getMatrix()[x + 1][y] == null && x + 1 < 11)
+                    capsule(arena, x, y, 0, colors[random.nextInt(3)], colors[random.nextInt(3)]);
+            }
+            int before = arena.getSettledBlockCount() + arena.getVirusCount();
+
+            new GravityEngine(arena).settle();
+
+            assertEquals(0, new GravityEngine(arena).settle(), "round " + round);
+            assertEquals(before, arena.getSettledBlockCount() + arena.getVirusCount());
+        }
+    }
+}
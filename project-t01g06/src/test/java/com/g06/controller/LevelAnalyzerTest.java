@@ -0,0 +1,122 @@
+package com.g06.controller;
+
+import com.g06.model.Arena;
+import com.g06.model.ArenaGeometry;
+import com.g06.model.Block;
+import com.g06.model.Pill;
+import com.g06.model.Virus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelAnalyzerTest {
+
+    private static Arena emptyArena() {
+        Arena arena = new Arena(10, 18, 0);
+        arena.setCurrentPill(null);
+        return arena;
+    }
+
+    private static Pill[] pills(String... pairs) {
+        Pill[] result = new Pill[pairs.length];
+        for (int i = 0; i < pairs.length; i++) {
+            String[] colors = pairs[i].split("/");
+            result[i] = new Pill(0, 1, colors[0], colors[1]);
+        }
+        return result;
+    }
+
+    @Test
+    void two_matching_pills_clear_a_single_virus() {
+        Arena arena = emptyArena();
+        arena.setBlock(4, 16, new Virus(4, 16, "RED"));
+
+        LevelAnalyzer.Report report = new LevelAnalyzer(10_000, 5_000)
+                .analyze(arena, pills("RED/RED", "RED/RED", "BLUE/BLUE"));
+
+        assertEquals(LevelAnalyzer.Verdict.SOLVABLE, report.getVerdict());
+        assertEquals(2, report.getPillsUsed());
+        assertEquals(2.0, report.getDifficulty());
+        assertEquals(1, arena.getVirusCount()); // the layout itself is never touched
+    }
+
+    @Test
+    void a_virus_under_an_overhang_is_reached_by_a_tuck() {
+        String[] rows = new String[18];
+        Arrays.fill(rows, "#........#");
+        rows[0] = rows[17] = "##########";
+        rows[12] = "#####....#"; // ledge over columns 1-4: no straight drop reaches the virus
+        Arena arena = new Arena(ArenaGeometry.fromRows(rows), 0);
+        arena.setCurrentPill(null);
+        arena.setBlock(2, 16, new Virus(2, 16, "RED"));
+        arena.setBlock(2, 15, new Block(2, 15, "RED"));
+
+        LevelAnalyzer.Report report = new LevelAnalyzer(10_000, 5_000).analyze(arena, pills("RED/RED"));
+
+        assertEquals(LevelAnalyzer.Verdict.SOLVABLE, report.getVerdict());
+        assertEquals(1, report.getPillsUsed());
+    }
+
+    @Test
+    void too_few_matching_halves_are_proven_unsolvable() {
+        Arena arena = emptyArena();
+        arena.setBlock(4, 16, new Virus(4, 16, "RED"));
+
+        // only two red halves in the whole sequence: never four in a line, found by searching every placement
+        LevelAnalyzer.Report report = new LevelAnalyzer(1_000_000, 30_000)
+                .analyze(arena, pills("RED/BLUE", "YELLOW/BLUE", "BLUE/RED"));
+
+        assertEquals(LevelAnalyzer.Verdict.UNSOLVABLE, report.getVerdict());
+        assertEquals(-1, report.getPillsUsed());
+        assertTrue(Double.isNaN(report.getDifficulty()));
+    }
+
+    @Test
+    void colors_missing_from_the_sequence_are_unsolvable_at_once() {
+        Arena arena = emptyArena();
+        arena.setBlock(4, 16, new Virus(4, 16, "RED"));
+
+        LevelAnalyzer.Report report = new LevelAnalyzer(1_000_000, 10_000)
+                .analyze(arena, pills("BLUE/BLUE", "BLUE/BLUE", "BLUE/BLUE", "BLUE/BLUE", "BLUE/BLUE", "BLUE/BLUE"));
+
+        assertEquals(LevelAnalyzer.Verdict.UNSOLVABLE, report.getVerdict());
+        assertTrue(report.getNodes() < 100);
+    }
+
+    @Test
+    void running_out_of_nodes_is_unknown() {
+        Arena arena = emptyArena();
+        arena.setBlock(2, 16, new Virus(2, 16, "RED"));
+        arena.setBlock(7, 16, new Virus(7, 16, "YELLOW"));
+
+        LevelAnalyzer.Report report = new LevelAnalyzer(20, 10_000)
+                .analyze(arena, pills("RED/BLUE", "BLUE/YELLOW", "RED/BLUE", "BLUE/YELLOW", "RED/BLUE", "BLUE/YELLOW"));
+
+        assertEquals(LevelAnalyzer.Verdict.UNKNOWN, report.getVerdict());
+    }
+
+    @Test
+    void batches_keep_input_order_and_match_single_runs() {
+        List<Arena> levels = new ArrayList<>();
+        for (long seed = 0; seed < 24; seed++) levels.add(new Arena(10, 18, 4, seed));
+        Pill[] sequence = new Pill[20];
+        String[] colors = {"RED", "YELLOW", "BLUE"};
+        for (int i = 0; i < sequence.length; i++) sequence[i] = new Pill(0, 1, colors[i % 3], colors[(i / 3) % 3]);
+
+        // Node budget only (the time budget is far away), so the verdicts do not depend on the machine
+        LevelAnalyzer analyzer = new LevelAnalyzer(new ForkJoinPool(4), 2_000, 600_000);
+        List<LevelAnalyzer.Report> reports = analyzer.analyzeAll(levels, sequence);
+
+        assertEquals(levels.size(), reports.size());
+        LevelAnalyzer sequential = new LevelAnalyzer(new ForkJoinPool(1), 2_000, 600_000);
+        for (int i = 0; i < levels.size(); i++) {
+            LevelAnalyzer.Report single = sequential.analyzeAll(Arrays.asList(levels.get(i)), sequence).get(0);
+            assertEquals(single.getVerdict(), reports.get(i).getVerdict(), "level " + i);
+            assertEquals(single.getPillsUsed(), reports.get(i).getPillsUsed(), "level " + i);
+        }
+    }
+}
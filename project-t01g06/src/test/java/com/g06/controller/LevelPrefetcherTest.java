@@ -0,0 +1,70 @@
+package com.g06.controller;
+
+import com.g06.model.Arena;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelPrefetcherTest {
+
+    private static void waitUntilReady(LevelPrefetcher prefetcher, int level, int viruses) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!prefetcher.isReady(level, viruses)) {
+            assertTrue(System.currentTimeMillis() < deadline, "prefetch never finished");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void finished_prefetch_is_handed_over() throws InterruptedException {
+        LevelPrefetcher prefetcher = new LevelPrefetcher(10, 18);
+        prefetcher.prefetch(3, 9);
+        waitUntilReady(prefetcher, 3, 9);
+
+        Arena arena = prefetcher.take(3, 9);
+        assertEquals(9, arena.getVirusCount());
+        assertEquals(3, arena.getLevel());
+        assertNotNull(arena.getCurrentPill());
+        assertFalse(prefetcher.isReady(3, 9)); // handed over only once
+        prefetcher.shutdown();
+    }
+
+    @Test
+    void other_levels_are_built_on_the_spot() throws InterruptedException {
+        LevelPrefetcher prefetcher = new LevelPrefetcher(10, 18);
+        prefetcher.prefetch(2, 7);
+        waitUntilReady(prefetcher, 2, 7);
+
+        Arena arena = prefetcher.take(4, 11);
+        assertEquals(11, arena.getVirusCount());
+        assertEquals(4, arena.getLevel());
+        assertFalse(prefetcher.isReady(2, 7)); // the stale level was dropped
+        prefetcher.shutdown();
+    }
+
+    @Test
+    void asking_twice_for_the_same_level_keeps_one_build() throws InterruptedException {
+        LevelPrefetcher prefetcher = new LevelPrefetcher(10, 18);
+        prefetcher.prefetch(5, 13);
+        waitUntilReady(prefetcher, 5, 13);
+        Arena first = prefetcher.take(5, 13);
+
+        prefetcher.prefetch(6, 15);
+        prefetcher.prefetch(6, 15);
+        waitUntilReady(prefetcher, 6, 15);
+        Arena second = prefetcher.take(6, 15);
+        assertNotSame(first, second);
+        assertTrue(LevelPrefetcher.isValid(second, 15));
+        prefetcher.shutdown();
+    }
+
+    @Test
+    void a_level_that_never_validates_is_not_handed_over() throws InterruptedException {
+        LevelPrefetcher prefetcher = new LevelPrefetcher(6, 10);
+        // Far more viruses than the board has room for
+        prefetcher.prefetch(1, 200);
+        assertThrows(IllegalStateException.class, () -> prefetcher.take(1, 200));
+        assertThrows(IllegalStateException.class, () -> prefetcher.take(2, 200));
+        prefetcher.shutdown();
+    }
+}
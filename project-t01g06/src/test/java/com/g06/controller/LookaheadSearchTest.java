@@ -0,0 +1,154 @@
+package com.g06.controller;
+
+import com.g06.model.Arena;
+import com.g06.model.ArenaInterface;
+import com.g06.model.BitBoard;
+import com.g06.model.CompactArena;
+import com.g06.model.Pill;
+import com.g06.model.Virus;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LookaheadSearchTest {
+
+    private static final long BUDGET = 10_000;
+
+    // A board from a real game: a few pills played by the one-ply bot
+    private static Simulation midGame(long seed) {
+        Simulation sim = new Simulation();
+        sim.reset(seed, 6, Difficulty.NORMAL);
+        PlacementBot bot = new PlacementBot(new ForkJoinPool(1));
+        for (int pills = 0; pills < 6; pills++) {
+            Pill pill = sim.getArena().getCurrentPill();
+            while (sim.getArena().getCurrentPill() == pill && !sim.getLastStep().isTerminal()) sim.step(bot.next(sim.getArena()));
+        }
+        assertFalse(sim.getLastStep().isTerminal());
+        return sim;
+    }
+
+    // Polls until the search has published a result (an expired budget still leaves the one-ply choice)
+    private static LookaheadSearch.Result await(LookaheadSearch lookahead) throws InterruptedException {
+        for (int i = 0; i < 500 && lookahead.best() == null; i++) Thread.sleep(10);
+        return lookahead.best();
+    }
+
+    // Every landing of the pill, each followed by the preview's best landing, rated one by one
+    private static long exhaustive(ArenaInterface arena) {
+        CompactArena board = PlacementSearch.scratch(arena.getGeometry());
+        CompactArena after = PlacementSearch.scratch(arena.getGeometry());
+        CompactArena scratch = PlacementSearch.scratch(arena.getGeometry());
+        ChainResolver afterChain = new ChainResolver(after);
+        PlacementSearch.load(arena, board, new ChainResolver(board));
+        PlacementSearch first = new PlacementSearch(board);
+        PlacementSearch reply = new PlacementSearch(after);
+        Pill pill = arena.getCurrentPill();
+        int count = first.search(pill.getPosition().getX(), pill.getPosition().getY(), pill.getOrientation());
+        long best = Long.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            long score = first.score(first.candidate(i), pill, after, afterChain);
+            long value;
+            if (after.getVirusCount() == 0) {
+                value = score + PlacementSearch.VICTORY;
+            } else {
+                long immediate = score - PlacementSearch.shape(after);
+                int replies = reply.search(after.getWidth() / 2, 1, 0);
+                long second = -PlacementSearch.VICTORY;
+                for (int j = 0; j < replies; j++) {
+                    second = Math.max(second, reply.score(reply.candidate(j), arena.getNextPill(), scratch, new ChainResolver(scratch)));
+                }
+                value = immediate + second;
+            }
+            best = Math.max(best, value);
+        }
+        return best;
+    }
+
+    @Test
+    void a_complete_search_finds_the_best_two_ply_value() {
+        ArenaInterface arena = midGame(3).getArena();
+        LookaheadSearch.Result result = new LookaheadSearch(new ForkJoinPool(4)).search(arena, BUDGET);
+
+        assertTrue(result.isComplete());
+        assertTrue(result.getCandidates() > 10);
+        assertSame(arena.getCurrentPill(), result.getPill());
+        assertEquals(exhaustive(arena), result.getScore());
+    }
+
+    @Test
+    void the_preview_changes_the_choice() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        ArenaInterface arena = midGame(1).getArena();
+        PlacementBot.Plan plan = new PlacementBot(pool).plan(arena);
+        LookaheadSearch lookahead = new LookaheadSearch(pool);
+
+        LookaheadSearch.Result twoPly = lookahead.search(arena, BUDGET);
+        assertTrue(twoPly.getX() != plan.getX() || twoPly.getY() != plan.getY() || twoPly.getOrientation() != plan.getOrientation());
+
+        // Without a preview the search is the one-ply bot
+        arena.setNextPill(null);
+        LookaheadSearch.Result onePly = lookahead.search(arena, BUDGET);
+        assertEquals(0, onePly.getEvaluated());
+        assertEquals(plan.getScore(), onePly.getScore());
+    }
+
+    @Test
+    void an_expired_budget_keeps_the_one_ply_choice() throws InterruptedException {
+        ArenaInterface arena = midGame(2).getArena();
+        long onePly = new PlacementBot(new ForkJoinPool(1)).plan(arena).getScore();
+        LookaheadSearch lookahead = new LookaheadSearch(new ForkJoinPool(2));
+
+        lookahead.start(arena, 0);
+        LookaheadSearch.Result result = await(lookahead);
+        assertNotNull(result);
+        assertEquals(0, result.getEvaluated());
+        assertFalse(result.isComplete());
+        assertEquals(onePly, result.getScore());
+    }
+
+    @Test
+    void a_new_pill_replaces_the_running_search_and_cancel_drops_it() throws InterruptedException {
+        LookaheadSearch lookahead = new LookaheadSearch(new ForkJoinPool(2));
+        ArenaInterface first = midGame(4).getArena();
+        ArenaInterface second = midGame(5).getArena();
+
+        lookahead.start(first, BUDGET);
+        lookahead.start(second, BUDGET);
+        assertFalse(lookahead.isSearching(first.getCurrentPill()));
+        assertTrue(lookahead.isSearching(second.getCurrentPill()));
+        assertSame(second.getCurrentPill(), await(lookahead).getPill());
+
+        lookahead.cancel();
+        assertNull(lookahead.best());
+        assertFalse(lookahead.isSearching(second.getCurrentPill()));
+        // The old search's boards are reused once it has stopped
+        assertEquals(exhaustive(first), lookahead.search(first, BUDGET).getScore());
+    }
+
+    @Test
+    void the_bot_steers_the_pill_onto_the_chosen_landing() {
+        Arena arena = new Arena(10, 18, 0);
+        arena.setCurrentPill(new Pill(5, 1, "BLUE", "YELLOW"));
+        arena.setNextPill(new Pill(5, 1, "RED", "RED"));
+        arena.setBlock(1, 17, new Virus(1, 17, "YELLOW"));
+        arena.setBlock(8, 17, new Virus(8, 17, "RED"));
+        ArenaController controller = new ArenaController(arena);
+        PlacementBot bot = new PlacementBot(new ForkJoinPool(1));
+
+        LookaheadSearch.Result result = new LookaheadSearch(new ForkJoinPool(2)).search(arena, BUDGET);
+        Pill pill = arena.getCurrentPill();
+        for (int moves = 0; moves < 100 && arena.getCurrentPill() == pill; moves++) {
+            controller.perform(bot.steer(arena, result.getX(), result.getY(), result.getOrientation()));
+        }
+
+        assertNotSame(pill, arena.getCurrentPill(), "The pill was played");
+        BitBoard bits = arena.getBitBoard();
+        int o = result.getOrientation();
+        for (int i = 0; i < PlacementSearch.SHAPE.getCellCount(); i++) {
+            int x = result.getX() + PlacementSearch.SHAPE.dx(o, i), y = result.getY() + PlacementSearch.SHAPE.dy(o, i);
+            assertTrue(bits.isOccupied(x, y));
+            assertEquals(BitBoard.colorIndex(pill.getColor(i)), bits.colorAt(x, y));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.g06.controller;
+
+import com.g06.model.Arena;
+import com.g06.model.Block;
+import com.g06.model.Pill;
+import com.g06.model.Virus;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlacementBotTest {
+
+    private static Arena emptyArena() {
+        Arena arena = new Arena(10, 18, 0);
+        arena.setCurrentPill(new Pill(5, 1, "RED", "RED"));
+        return arena;
+    }
+
+    // Two reds over a red virus in column x: one more red on top clears it
+    private static void redStack(Arena arena, int x) {
+        arena.setBlock(x, 17, new Virus(x, 17, "RED"));
+        arena.setBlock(x, 16, new Block(x, 16, "RED"));
+        arena.setBlock(x, 15, new Block(x, 15, "RED"));
+    }
+
+    // Walks the plan with the controller's own moves
+    private static void follow(ArenaController controller, PlacementBot.Plan plan) {
+        for (int i = 0; i < plan.getPathLength(); i++) controller.perform(plan.getAction(i));
+    }
+
+    @Test
+    void the_plan_path_reaches_the_planned_landing_with_the_controller_moves() {
+        Arena arena = emptyArena();
+        arena.setCurrentPill(new Pill(5, 1, "BLUE", "YELLOW"));
+        arena.setBlock(1, 17, new Virus(1, 17, "YELLOW"));
+        arena.setBlock(7, 17, new Virus(7, 17, "BLUE"));
+        ArenaController controller = new ArenaController(arena);
+
+        PlacementBot.Plan plan = new PlacementBot().plan(arena);
+        assertNotNull(plan);
+        assertTrue(plan.getCandidates() > 10);
+        Pill pill = arena.getCurrentPill();
+        follow(controller, plan);
+
+        assertSame(pill, arena.getCurrentPill(), "The path never settles the pill early");
+        assertEquals(plan.getX(), pill.getPosition().getX());
+        assertEquals(plan.getY(), pill.getPosition().getY());
+        assertEquals(plan.getOrientation(), pill.getOrientation());
+        assertFalse(controller.fallPill(), "The landing is final");
+    }
+
+    @Test
+    void the_bot_takes_the_placement_that_clears_the_virus() {
+        Arena arena = emptyArena();
+        arena.setCurrentPill(new Pill(5, 1, "RED", "BLUE"));
+        redStack(arena, 2);
+        arena.setBlock(8, 17, new Virus(8, 17, "BLUE"));
+        ArenaController controller = new ArenaController(arena);
+
+        PlacementBot.Plan plan = new PlacementBot().plan(arena);
+        follow(controller, plan);
+        controller.hardDrop();
+
+        assertEquals(1, arena.getVirusCount());
+        assertEquals(0, arena.getVirusCount("RED"));
+    }
+
+    @Test
+    void placements_under_an_overhang_are_found() {
+        Arena arena = emptyArena();
+        redStack(arena, 1);
+        // Ledge over columns 0..3: the stack can only be reached by sliding in underneath
+        for (int x = 0; x < 4; x++) arena.setBlock(x, 12, new Block(x, 12, "BLUE"));
+        arena.setBlock(9, 17, new Virus(9, 17, "BLUE"));
+        ArenaController controller = new ArenaController(arena);
+
+        PlacementBot.Plan plan = new PlacementBot().plan(arena);
+        assertEquals(1, plan.getX());
+        assertTrue(plan.getY() > 12);
+        follow(controller, plan);
+        controller.hardDrop();
+        assertEquals(0, arena.getVirusCount("RED"));
+    }
+
+    @Test
+    void parallel_and_sequential_evaluation_agree() {
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            Simulation sim = new Simulation();
+            sim.reset(21, 5, Difficulty.NORMAL);
+            PlacementBot.Plan one = new PlacementBot(new ForkJoinPool(1)).plan(sim.getArena());
+            int x = one.getX(), y = one.getY(), o = one.getOrientation();
+            long score = one.getScore();
+            PlacementBot.Plan many = new PlacementBot(four).plan(sim.getArena());
+
+            assertEquals(score, many.getScore());
+            assertEquals(x, many.getX());
+            assertEquals(y, many.getY());
+            assertEquals(o, many.getOrientation());
+        } finally {
+            four.shutdown();
+        }
+    }
+
+    @Test
+    void as_a_policy_the_bot_outlasts_random_play() {
+        BatchRunner.Stats random = new BatchRunner(new ForkJoinPool(1), Policy.RANDOM_DROPS, Difficulty.NORMAL, false, 20_000).run(3, 0, 4);
+        BatchRunner.Stats bot = new BatchRunner(new ForkJoinPool(1), new PlacementBot(new ForkJoinPool(1)).asPolicy(),
+                Difficulty.NORMAL, false, 20_000).run(3, 0, 4);
+
+        assertTrue(bot.getMeanLevel() > random.getMeanLevel(), bot + " vs " + random);
+    }
+}
@@ -0,0 +1,90 @@
+package com.g06.controller;
+
+import com.g06.model.Arena;
+import com.g06.model.BitBoard;
+import com.g06.model.Block;
+import com.g06.model.Virus;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PowerUpEngineTest {
+
+    private static final int RED = 0, YELLOW = 1, BLUE = 2;
+
+    private static Arena emptyArena(int width, int height) {
+        Arena arena = new Arena(width, height, 0);
+        arena.setCurrentPill(null);
+        return arena;
+    }
+
+    private static void put(Arena arena, int x, int y, String color) {
+        arena.setBlock(x, y, new Block(x, y, color));
+    }
+
+    @Test
+    void column_sweep_clears_one_column_and_tallies_colors() {
+        Arena arena = emptyArena(10, 18);
+        put(arena, 4, 16, "RED");
+        put(arena, 4, 15, "BLUE");
+        arena.setBlock(4, 10, new Virus(4, 10, "BLUE"));
+        put(arena, 5, 16, "RED");
+        PowerUpEngine engine = new PowerUpEngine(arena);
+
+        assertEquals(3, engine.apply(PowerUp.COLUMN_SWEEP, 4, 0));
+
+        assertEquals(1, engine.getClearedByColor(RED));
+        assertEquals(0, engine.getClearedByColor(YELLOW));
+        assertEquals(2, engine.getClearedByColor(BLUE));
+        assertEquals(1, engine.getVirusesCleared());
+        assertEquals(0, arena.getVirusCount());
+        assertNull(arena.getMatrix()[4][16]);
+        assertEquals("RED", arena.getMatrix()[5][16].getColor());
+    }
+
+    @Test
+    void row_laser_clears_the_row_and_lets_the_rest_fall() {
+        Arena arena = emptyArena(10, 18);
+        for (int x = 1; x <= 8; x++) put(arena, x, 16, x % 2 == 0 ? "RED" : "YELLOW");
+        put(arena, 3, 15, "BLUE");
+
+        PowerUpEngine engine = new PowerUpEngine(arena);
+        assertEquals(8, engine.apply(PowerUp.ROW_LASER, 3, 16));
+
+        assertEquals(4, engine.getClearedByColor(RED));
+        assertEquals(4, engine.getClearedByColor(YELLOW));
+        assertEquals("BLUE", arena.getMatrix()[3][16].getColor()); // fell into the cleared row
+        assertEquals(1, arena.getSettledBlockCount());
+    }
+
+    @Test
+    void bomb_hits_a_3x3_square_clipped_by_the_board() {
+        Arena arena = emptyArena(10, 18);
+        for (int y = 14; y <= 16; y++) {
+            for (int x = 1; x <= 4; x++) put(arena, x, y, "YELLOW");
+        }
+        PowerUpEngine engine = new PowerUpEngine(arena);
+
+        assertEquals(4, engine.apply(PowerUp.BOMB, 1, 16)); // columns 0-2, rows 15-17: only (1-2, 15-16) hold blocks
+        assertEquals(4, engine.getClearedByColor(YELLOW));
+        assertEquals("YELLOW", arena.getMatrix()[1][16].getColor()); // (1,14) fell down
+        assertEquals(8, arena.getSettledBlockCount());
+    }
+
+    @Test
+    void color_purge_takes_the_target_color_everywhere() {
+        Arena arena = emptyArena(10, 18);
+        put(arena, 2, 16, "BLUE");
+        put(arena, 7, 16, "BLUE");
+        arena.setBlock(5, 9, new Virus(5, 9, "BLUE"));
+        put(arena, 3, 16, "RED");
+        PowerUpEngine engine = new PowerUpEngine(arena);
+
+        assertEquals(0, engine.apply(PowerUp.COLOR_PURGE, 4, 16)); // empty target, nothing to purge
+        assertEquals(3, engine.apply(PowerUp.COLOR_PURGE, 2, 16));
+        assertEquals(3, engine.getClearedByColor(BLUE));
+        assertEquals(1, engine.getVirusesCleared());
+        assertEquals(1, arena.getSettledBlockCount());
+        assertEquals(0, arena.getBitBoard().getVirusCount(BitBoard.colorIndex("BLUE")));
+    }
+}
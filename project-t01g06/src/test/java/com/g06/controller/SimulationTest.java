@@ -0,0 +1,125 @@
+package com.g06.controller;
+
+import com.g06.model.Block;
+import com.g06.model.Pill;
+import com.g06.model.Virus;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationTest {
+
+    // Plays a random policy and folds every state hash and reward into one value
+    private static long trace(long seed, int steps) {
+        Simulation sim = new Simulation();
+        sim.reset(seed, 2, Difficulty.HARD);
+        SplittableRandom random = new SplittableRandom(seed);
+        long trace = 0;
+        for (int i = 0; i < steps && !sim.getLastStep().isTerminal(); i++) {
+            Simulation.Step step = sim.step(Action.of(random.nextInt(Action.count())));
+            trace = trace * 31 + step.getStateHash() + step.getReward();
+        }
+        return trace;
+    }
+
+    @Test
+    void same_seed_and_actions_replay_the_same_game() {
+        assertEquals(trace(5, 3_000), trace(5, 3_000));
+        assertNotEquals(trace(5, 3_000), trace(6, 3_000));
+    }
+
+    @Test
+    void reset_builds_the_level_for_the_seed() {
+        Simulation sim = new Simulation();
+        Simulation.Step start = sim.reset(9, 3, Difficulty.NORMAL);
+
+        assertFalse(start.isTerminal());
+        assertEquals(0, start.getReward());
+        assertEquals(Simulation.virusCountForLevel(3, 10, 18), sim.getArena().getVirusCount());
+        assertEquals(9, sim.getArena().getSeed());
+        assertEquals(1, sim.getController().getSwordCharges(), "One charge per two completed levels");
+        assertEquals(0, sim.getSteps());
+    }
+
+    @Test
+    void the_pill_falls_once_per_difficulty_delay() {
+        Simulation sim = new Simulation();
+        sim.reset(1, 1, Difficulty.NORMAL);
+        Pill pill = sim.getArena().getCurrentPill();
+        int y = pill.getPosition().getY();
+        int stepsPerFall = (int) (Difficulty.NORMAL.getDelayMs() / Simulation.STEP_MILLIS);
+
+        for (int i = 0; i < stepsPerFall - 1; i++) sim.step(Action.NONE);
+        assertEquals(y, pill.getPosition().getY());
+        sim.step(Action.NONE);
+        assertEquals(y + 1, pill.getPosition().getY());
+    }
+
+    @Test
+    void clearing_a_virus_is_rewarded() {
+        Simulation sim = new Simulation();
+        sim.reset(3, 1, Difficulty.EASY);
+        // Clean board with one red virus below the spawn and a red run waiting for it
+        for (int x = 0; x < 10; x++) for (int y = 0; y < 18; y++) sim.getArena().removeBlock(x, y);
+        sim.getArena().setBlock(5, 17, new Virus(5, 17, "RED"));
+        sim.getArena().setBlock(5, 16, new Block(5, 16, "RED"));
+        sim.getArena().setBlock(5, 15, new Block(5, 15, "RED"));
+        sim.getArena().setCurrentPill(new Pill(5, 2, "RED", "BLUE"));
+        sim.getArena().getCurrentPill().setOrientation(1); // RED at the bottom, BLUE on top
+
+        Simulation.Step step = sim.step(Action.HARD_DROP);
+
+        // The red half completes a column of four with the virus; the blue half is left alone
+        assertEquals(1, step.getVirusesCleared());
+        assertEquals(4, step.getCleared());
+        assertTrue(step.getReward() > 0);
+        assertTrue(step.isVictory());
+        assertTrue(step.isTerminal());
+        long hash = step.getStateHash();
+        assertSame(step, sim.step(Action.LEFT), "Terminal states ignore further steps");
+        assertEquals(hash, sim.getLastStep().getStateHash());
+    }
+
+    @Test
+    void step_before_reset_is_rejected() {
+        assertThrows(IllegalStateException.class, () -> new Simulation().step(Action.NONE));
+    }
+
+    @Test
+    void advance_moves_to_the_next_level_and_keeps_the_game_totals() {
+        Simulation sim = new Simulation();
+        sim.reset(3, 2, Difficulty.EASY);
+        assertThrows(IllegalStateException.class, sim::advance, "Only a won level can advance");
+        // Win level 2 by hand: one virus left, completed by a dropped pill
+        for (int x = 0; x < 10; x++) for (int y = 0; y < 18; y++) sim.getArena().removeBlock(x, y);
+        sim.getArena().setBlock(5, 17, new Virus(5, 17, "RED"));
+        sim.getArena().setBlock(5, 16, new Block(5, 16, "RED"));
+        sim.getArena().setBlock(5, 15, new Block(5, 15, "RED"));
+        sim.getArena().setCurrentPill(new Pill(5, 2, "RED", "BLUE"));
+        sim.getArena().getCurrentPill().setOrientation(1);
+        int score = sim.step(Action.HARD_DROP).getReward();
+        int charges = sim.getController().getSwordCharges();
+
+        Simulation.Step next = sim.advance();
+
+        assertFalse(next.isTerminal());
+        assertEquals(3, sim.getLevel());
+        assertEquals(Simulation.virusCountForLevel(3, 10, 18), sim.getArena().getVirusCount());
+        assertEquals(charges + 1, sim.getController().getSwordCharges(), "Level 2 completed: one more charge");
+        assertEquals(score, sim.getGameScore());
+        assertEquals(1, sim.getGamePillsUsed());
+    }
+
+    @Test
+    void endless_games_have_no_viruses() {
+        Simulation sim = new Simulation();
+        sim.resetEndless(4, Difficulty.INSANE);
+
+        assertTrue(sim.isEndless());
+        assertEquals(0, sim.getArena().getVirusCount());
+        while (!sim.step(Action.HARD_DROP).isTerminal()) { }
+        assertFalse(sim.getLastStep().isVictory(), "Endless only ends by topping out");
+        assertTrue(sim.getGamePillsUsed() > 0);
+    }
+}
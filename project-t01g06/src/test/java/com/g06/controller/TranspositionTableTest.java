@@ -0,0 +1,98 @@
+package com.g06.controller;
+
+import com.g06.controller.TranspositionTable.Replacement;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+
+    // Keys that all fall in bucket 0 of a table with the given capacity
+    private static long sameBucket(TranspositionTable table, int i) {
+        return (long) (i + 1) * (table.capacity() / TranspositionTable.BUCKET);
+    }
+
+    @Test
+    void stored_values_come_back_for_deep_enough_probes() {
+        TranspositionTable table = new TranspositionTable(64, Replacement.DEPTH_PREFERRED);
+        assertTrue(table.put(42L, 7L, 3));
+
+        assertEquals(7L, table.get(42L, 3, -1));
+        assertEquals(7L, table.get(42L, 0, -1));
+        assertEquals(-1L, table.get(42L, 4, -1));
+        assertEquals(-1L, table.get(43L, 0, -1));
+        assertEquals(2, table.getHits());
+        assertEquals(2, table.getMisses());
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void capacity_is_rounded_up_to_whole_buckets() {
+        assertEquals(16, new TranspositionTable(16, Replacement.ALWAYS).capacity());
+        assertTrue(new TranspositionTable(17, Replacement.ALWAYS).capacity() >= 17);
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0, Replacement.ALWAYS));
+    }
+
+    @Test
+    void depth_preferred_keeps_the_deeper_entries_of_a_full_bucket() {
+        TranspositionTable table = new TranspositionTable(16, Replacement.DEPTH_PREFERRED);
+        for (int i = 0; i < TranspositionTable.BUCKET; i++) table.put(sameBucket(table, i), i, 5 + i);
+
+        assertFalse(table.put(sameBucket(table, 9), 99, 1), "Shallower than everything in the bucket");
+        assertTrue(table.put(sameBucket(table, 9), 99, 9));
+        assertEquals(-1L, table.get(sameBucket(table, 0), 0, -1), "The shallowest entry made room");
+        assertEquals(99L, table.get(sameBucket(table, 9), 0, -1));
+        assertFalse(table.put(sameBucket(table, 9), 1, 2), "A shallower result does not replace a deeper one");
+    }
+
+    @Test
+    void always_replaces_in_insertion_order() {
+        TranspositionTable table = new TranspositionTable(16, Replacement.ALWAYS);
+        for (int i = 0; i < TranspositionTable.BUCKET; i++) table.put(sameBucket(table, i), i, 10);
+
+        assertTrue(table.put(sameBucket(table, 9), 99, 0));
+        assertEquals(-1L, table.get(sameBucket(table, 0), 0, -1));
+        assertEquals(1L, table.get(sameBucket(table, 1), 0, -1));
+    }
+
+    @Test
+    void older_generations_are_replaced_first() {
+        TranspositionTable table = new TranspositionTable(16, Replacement.GENERATION_THEN_DEPTH);
+        for (int i = 0; i < TranspositionTable.BUCKET - 1; i++) table.put(sameBucket(table, i), i, 1);
+        table.nextGeneration();
+        table.put(sameBucket(table, 3), 3, 20);
+
+        assertTrue(table.put(sameBucket(table, 9), 99, 0), "Old entries go even when deeper");
+        assertEquals(3L, table.get(sameBucket(table, 3), 0, -1));
+        assertEquals(99L, table.get(sameBucket(table, 9), 0, -1));
+
+        table.clear();
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    void concurrent_writers_never_mix_keys_and_values() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(1 << 10, Replacement.ALWAYS);
+        AtomicInteger errors = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final long seed = t;
+            threads.add(new Thread(() -> {
+                for (long i = 0; i < 50_000; i++) {
+                    long key = (i * 4 + seed) * 0x9E3779B97F4A7C15L;
+                    table.put(key, ~key, (int) (i & 7));
+                    long value = table.get(key, 0, ~key);
+                    if (value != ~key) errors.incrementAndGet();
+                }
+            }));
+        }
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+
+        assertEquals(0, errors.get());
+        assertTrue(table.size() <= table.capacity());
+    }
+}
@@ -0,0 +1,113 @@
+package com.g06.controller;
+
+import com.g06.model.ArenaGeometry;
+import com.g06.model.CompactArena;
+import com.g06.model.Zobrist;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorEnvironmentTest {
+
+    private static int[] randomActions(SplittableRandom random, int count) {
+        int[] actions = new int[count];
+        for (int i = 0; i < count; i++) actions[i] = random.nextInt(Action.count());
+        return actions;
+    }
+
+    @Test
+    void observations_show_every_board_without_copying() {
+        VectorEnvironment env = new VectorEnvironment(6, 2, Difficulty.INSANE);
+        env.reset(11);
+        SplittableRandom random = new SplittableRandom(1);
+        for (int s = 0; s < 500; s++) env.step(randomActions(random, 6));
+
+        ByteBuffer obs = env.getObservations();
+        assertSame(obs, env.getObservations());
+        assertTrue(obs.isReadOnly());
+        for (int game = 0; game < 6; game++) {
+            CompactArena arena = (CompactArena) env.getArena(game);
+            int base = game * env.getStride();
+            for (int y = 0; y < 18; y++) {
+                for (int x = 0; x < 10; x++) assertEquals(arena.getCell(x, y), obs.get(base + y * 10 + x));
+            }
+            int header = base + env.getCellBytes();
+            assertEquals(arena.getVirusCount(), obs.get(header + VectorEnvironment.VIRUSES));
+            if (arena.getCurrentPill() != null && arena.getCurrentSword() == null) {
+                assertEquals(arena.getCurrentPill().getPosition().getX(), obs.get(header + VectorEnvironment.PIECE_X));
+                assertEquals(arena.getCurrentPill().getPosition().getY(), obs.get(header + VectorEnvironment.PIECE_Y));
+                assertEquals(1, obs.get(header + VectorEnvironment.PIECE_KIND));
+            }
+        }
+    }
+
+    @Test
+    void lockstep_games_play_like_separate_simulations() {
+        for (int level : new int[] {1, 5}) {
+            VectorEnvironment env = new VectorEnvironment(3, level, Difficulty.INSANE);
+            env.reset(5);
+            Simulation[] alone = new Simulation[3];
+            long[] seeds = new long[3];
+            for (int i = 0; i < 3; i++) {
+                seeds[i] = Zobrist.mix(5 + i);
+                alone[i] = new Simulation();
+                alone[i].reset(seeds[i], level, Difficulty.INSANE);
+            }
+            SplittableRandom random = new SplittableRandom(2);
+            int restarts = 0;
+            for (int s = 0; s < 3_000; s++) {
+                int[] actions = randomActions(random, 3);
+                env.step(actions);
+                for (int i = 0; i < 3; i++) {
+                    Simulation.Step step = alone[i].step(Action.of(actions[i]));
+                    assertEquals(step.getReward(), env.getRewards()[i], "level " + level + " step " + s + " game " + i);
+                    assertEquals(step.isTerminal(), (env.getTerminals()[i] & VectorEnvironment.FLAG_TERMINAL) != 0);
+                    if (step.isTerminal()) {
+                        // The vector game restarted on the next seed; so does the lone one
+                        seeds[i] = Zobrist.mix(seeds[i]);
+                        alone[i].reset(seeds[i], level, Difficulty.INSANE);
+                        restarts++;
+                    }
+                    assertEquals(alone[i].getArena().getStateHash(), env.getArena(i).getStateHash());
+                    assertEquals(alone[i].getController().getSwordCharges(),
+                            env.getObservations().get(i * env.getStride() + env.getCellBytes() + VectorEnvironment.SWORD_CHARGES));
+                }
+            }
+            assertTrue(restarts > 0, "Random play ends some games");
+        }
+    }
+
+    @Test
+    void finished_games_restart_and_report_it() {
+        VectorEnvironment env = new VectorEnvironment(2, 1, Difficulty.INSANE);
+        env.reset(3);
+        int[] drop = {Action.HARD_DROP.ordinal(), Action.NONE.ordinal()};
+        boolean ended = false;
+        for (int s = 0; s < 200 && !ended; s++) {
+            env.step(drop);
+            ended = (env.getTerminals()[0] & VectorEnvironment.FLAG_TERMINAL) != 0;
+        }
+
+        assertTrue(ended, "Hard dropping on the spawn column tops out quickly");
+        ByteBuffer obs = env.getObservations();
+        int header = env.getCellBytes();
+        assertEquals(VectorEnvironment.FLAG_TERMINAL, obs.get(header + VectorEnvironment.FLAGS));
+        // Already restarted on the next seed: a fresh board with the pill at the spawn
+        CompactArena fresh = new CompactArena(ArenaGeometry.rectangle(10, 18), Simulation.virusCountForLevel(1, 10, 18),
+                Zobrist.mix(Zobrist.mix(3)), false);
+        for (int y = 0; y < 18; y++) {
+            for (int x = 0; x < 10; x++) assertEquals(fresh.getCell(x, y), obs.get(y * 10 + x));
+        }
+        assertEquals(fresh.getCurrentPill().getPosition().getY(), obs.get(header + VectorEnvironment.PIECE_Y));
+        assertEquals(fresh.getStateHash(), env.getArena(0).getStateHash());
+    }
+
+    @Test
+    void action_batches_must_cover_every_game() {
+        VectorEnvironment env = new VectorEnvironment(2, 1, Difficulty.NORMAL);
+        env.reset(1);
+        assertThrows(IllegalArgumentException.class, () -> env.step(new int[3]));
+    }
+}
@@ -0,0 +1,105 @@
+package com.g06.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArenaBankTest {
+
+    private static final ArenaGeometry GEOMETRY = ArenaGeometry.rectangle(10, 18);
+
+    private static String pill(Pill pill) {
+        if (pill == null) return "none";
+        return pill.getColor1() + "/" + pill.getColor2() + "/" + pill.getTexture(0) + "/" + pill.getTexture(1)
+                + "@" + pill.getPosition().getX() + "," + pill.getPosition().getY() + "," + pill.getOrientation();
+    }
+
+    private static void assertSameGame(CompactArena expected, ArenaBank bank) {
+        for (int y = 0; y < 18; y++) {
+            for (int x = 0; x < 10; x++) assertEquals(expected.getCell(x, y), bank.getCell(x, y));
+        }
+        assertEquals(expected.getStateHash(), bank.getStateHash());
+        assertEquals(expected.getVirusCount(), bank.getVirusCount());
+        assertEquals(pill(expected.getCurrentPill()), pill(bank.getCurrentPill()));
+        assertEquals(pill(expected.getNextPill()), pill(bank.getNextPill()));
+        assertEquals(expected.getCurrentSword() == null, bank.getCurrentSword() == null);
+    }
+
+    @Test
+    void a_reset_game_matches_a_compact_arena_with_the_same_seed() {
+        byte[] plane = new byte[4 * 200];
+        ArenaBank bank = new ArenaBank(GEOMETRY, 4, plane, 200);
+        for (int game = 0; game < 4; game++) bank.reset(game, 100 + game, 4 + 3 * game);
+        for (int game = 3; game >= 0; game--) {
+            bank.select(game);
+            assertEquals(100 + game, bank.getSeed());
+            assertSameGame(new CompactArena(GEOMETRY, 4 + 3 * game, 100 + game, false), bank);
+            for (int i = 180; i < 200; i++) assertEquals(0, plane[game * 200 + i], "bytes after the cells are left alone");
+        }
+    }
+
+    @Test
+    void interleaved_games_keep_their_boards_pieces_and_streams() {
+        ArenaBank bank = new ArenaBank(GEOMETRY, 3, new byte[3 * 180], 180);
+        CompactArena[] alone = new CompactArena[3];
+        for (int game = 0; game < 3; game++) {
+            bank.reset(game, 7 * game, 10);
+            alone[game] = new CompactArena(GEOMETRY, 10, 7 * game, false);
+        }
+        SplittableRandom random = new SplittableRandom(5);
+        for (int step = 0; step < 2_000; step++) {
+            int game = random.nextInt(3), x = random.nextInt(10), y = 8 + random.nextInt(10);
+            int op = random.nextInt(6);
+            String color = BitBoard.COLORS[random.nextInt(3)];
+            bank.select(game);
+            for (ArenaInterface arena : new ArenaInterface[] {bank, alone[game]}) {
+                switch (op) {
+                    case 0 -> arena.setBlock(x, y, new Block(x, y, color, arena.nextTexture()));
+                    case 1 -> arena.removeBlock(x, y);
+                    case 2 -> {
+                        // Settle the current pill as the controller does: promote the preview, draw a new one
+                        arena.setCurrentPill(arena.getNextPill());
+                        arena.generateNextPill();
+                    }
+                    case 3 -> arena.getCurrentPill().getPosition().setX(x);
+                    case 4 -> {
+                        if (arena.getCurrentSword() == null) arena.spawnSwordAt(x);
+                        else arena.setCurrentSword(null);
+                    }
+                    default -> arena.getCurrentPill().setOrientation(y);
+                }
+            }
+        }
+        for (int game = 0; game < 3; game++) {
+            bank.select(game);
+            assertSameGame(alone[game], bank);
+        }
+    }
+
+    @Test
+    void each_game_keeps_its_own_move_table() {
+        ArenaBank bank = new ArenaBank(GEOMETRY, 2, new byte[2 * 180], 180);
+        bank.reset(0, 1, 0);
+        bank.reset(1, 2, 0);
+        MoveTable moves = new MoveTable(bank);
+        bank.select(0);
+        bank.setBlock(4, 10, new Block(4, 10, "RED"));
+        assertFalse(moves.fits(3, 10, 0));
+        bank.select(1);
+        assertTrue(moves.fits(3, 10, 0), "game 1 has no block there");
+        assertEquals(15, moves.landingRow(4, 1, 3)); // on the floor
+        bank.select(0);
+        assertFalse(moves.fits(3, 10, 0));
+        assertEquals(8, moves.landingRow(4, 1, 3)); // on the block
+    }
+
+    @Test
+    void games_must_fit_the_plane() {
+        assertThrows(IllegalArgumentException.class, () -> new ArenaBank(GEOMETRY, 3, new byte[3 * 180 - 1], 180));
+        assertThrows(IllegalArgumentException.class, () -> new ArenaBank(GEOMETRY, 3, new byte[3 * 180], 179));
+        ArenaBank bank = new ArenaBank(GEOMETRY, 3, new byte[3 * 180], 180);
+        assertThrows(IndexOutOfBoundsException.class, () -> bank.select(3));
+        assertThrows(UnsupportedOperationException.class, bank::getPillQueue);
+    }
+}
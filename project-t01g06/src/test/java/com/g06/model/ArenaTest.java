@@ -13,7 +13,12 @@ class ArenaTest {
         assertEquals(w, arena.getWidth());
         assertEquals(h, arena.getHeight());
 
-        assertEquals(2 * (w + h), arena.getWalls().size());
+        // Border cells are counted once (corners used to be duplicated in the wall list)
+        assertEquals(2 * (w + h) - 4, arena.getGeometry().countBlocked());
+        assertEquals(2 * (w + h) - 4, arena.getWalls().size());
+        assertTrue(arena.getGeometry().isBlocked(0, 0));
+        assertTrue(arena.getGeometry().isBlocked(w - 1, 5));
+        assertFalse(arena.getGeometry().isBlocked(1, 1));
 
         assertTrue(arena.isInside(new Position(1, 1)));
         assertFalse(arena.isInside(new Position(-1, 0)));
@@ -37,4 +42,51 @@ class ArenaTest {
 
         assertTrue(virusCount >= 0 && virusCount <= 5);
     }
+
+    @Test
+    void bottle_arena_has_a_neck_and_spawns_inside_it() {
+        Arena arena = new Arena(ArenaGeometry.bottle(10, 18), 5);
+        ArenaGeometry g = arena.getGeometry();
+
+        assertTrue(g.isBlocked(1, 1));
+        assertTrue(g.isBlocked(3, 3));
+        assertFalse(g.isBlocked(4, 1));
+        assertFalse(g.isBlocked(7, 3));
+        assertFalse(g.isBlocked(1, 4));
+
+        assertTrue(arena.spawnNewPill());
+        assertTrue(arena.spawnSwordAt(5));
+        assertFalse(arena.spawnSwordAt(2));
+    }
+
+    @Test
+    void column_index_follows_every_mutation() {
+        Arena arena = new Arena(10, 18, 0);
+        assertEquals(18, arena.getColumnTop(4));
+        assertEquals(17, arena.getSurfaceRow(4)); // the floor wall
+        assertEquals(0, arena.getColumnHeight(4));
+        assertEquals(0, arena.getSurfaceRow(0));  // side wall column is solid
+
+        arena.setBlock(4, 16, new Block(4, 16, "RED"));
+        arena.setBlock(4, 10, new Block(4, 10, "BLUE"));
+        assertEquals(10, arena.getColumnTop(4));
+        assertEquals(10, arena.getSurfaceRow(4));
+        assertEquals(7, arena.getColumnHeight(4));
+
+        arena.moveBlock(4, 10, 4, 15);
+        assertEquals(15, arena.getColumnTop(4));
+        assertEquals(2, arena.getColumnHeight(4));
+
+        arena.removeBlock(4, 15);
+        arena.removeBlock(4, 16);
+        assertEquals(18, arena.getColumnTop(4));
+        assertEquals(17, arena.getSurfaceRow(4));
+    }
+
+    @Test
+    void bottle_columns_outside_the_neck_still_reach_the_floor() {
+        Arena arena = new Arena(ArenaGeometry.bottle(10, 18), 0);
+        assertEquals(17, arena.getSurfaceRow(1));
+        assertEquals(17, arena.getGeometry().getFloorRow(1));
+    }
 }
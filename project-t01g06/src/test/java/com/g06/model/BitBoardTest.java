@@ -0,0 +1,158 @@
+package com.g06.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitBoardTest {
+
+    private static boolean marked(long[] mask, BitBoard board, int x, int y) {
+        return (mask[y * board.getWordsPerRow() + (x >>> 6)] & (1L << (x & 63))) != 0;
+    }
+
+    @Test
+    void horizontal_and_vertical_runs_of_four_are_marked() {
+        BitBoard board = new BitBoard(10, 18);
+        for (int x = 2; x < 6; x++) board.set(x, 10, 0, false);   // RED row of 4
+        for (int y = 3; y < 8; y++) board.set(7, y, 2, y == 5);   // BLUE column of 5 with a virus
+        long[] mask = new long[18 * board.getWordsPerRow()];
+
+        assertEquals(9, board.findMatches(mask));
+        assertTrue(marked(mask, board, 2, 10));
+        assertTrue(marked(mask, board, 5, 10));
+        assertFalse(marked(mask, board, 6, 10));
+        assertTrue(marked(mask, board, 7, 3));
+        assertTrue(marked(mask, board, 7, 7));
+    }
+
+    @Test
+    void three_in_a_row_or_mixed_colors_do_not_match() {
+        BitBoard board = new BitBoard(10, 18);
+        board.set(1, 5, 0, false);
+        board.set(2, 5, 0, false);
+        board.set(3, 5, 0, false);
+        board.set(4, 5, 1, false);
+        long[] mask = new long[18];
+
+        assertEquals(0, board.findMatches(mask));
+    }
+
+    @Test
+    void runs_crossing_a_word_boundary_are_found() {
+        BitBoard board = new BitBoard(70, 6);
+        for (int x = 62; x < 66; x++) board.set(x, 2, 1, false);
+        long[] mask = new long[6 * board.getWordsPerRow()];
+
+        assertEquals(4, board.findMatches(mask));
+        assertTrue(marked(mask, board, 62, 2));
+        assertTrue(marked(mask, board, 65, 2));
+
+        board.clear(63, 2);
+        assertEquals(0, board.findMatches(mask));
+        assertFalse(board.isOccupied(63, 2));
+        assertEquals(1, board.colorAt(64, 2));
+    }
+
+    @Test
+    void counters_follow_every_mutation() {
+        BitBoard board = new BitBoard(10, 18);
+        board.set(2, 10, 0, true);
+        board.set(3, 10, 2, true);
+        board.set(4, 10, 2, false);
+        assertEquals(2, board.getVirusCount());
+        assertEquals(1, board.getVirusCount(0));
+        assertEquals(1, board.getVirusCount(2));
+        assertEquals(1, board.getBlockCount());
+
+        board.set(3, 10, 1, false); // overwrite a virus with a block
+        assertEquals(1, board.getVirusCount());
+        assertEquals(0, board.getVirusCount(2));
+        assertEquals(2, board.getBlockCount());
+
+        board.clear(2, 10);
+        board.clear(2, 10); // clearing an empty cell changes nothing
+        assertEquals(0, board.getVirusCount());
+        assertEquals(2, board.getBlockCount());
+    }
+
+    @Test
+    void incremental_scan_matches_full_scan() {
+        Random random = new Random(42);
+        BitBoard board = new BitBoard(70, 40);
+        long[] full = new long[40 * board.getWordsPerRow()];
+        long[] local = new long[full.length];
+
+        for (int step = 0; step < 2000; step++) {
+            for (int i = 0; i < 3; i++) {
+                int x = random.nextInt(70), y = random.nextInt(40);
+                if (random.nextInt(4) == 0) board.clear(x, y);
+                else board.set(x, y, random.nextInt(3), random.nextInt(5) == 0);
+            }
+            int expected = board.findMatches(full);
+            assertEquals(expected, board.findNewMatches(local));
+            assertTrue(Arrays.equals(full, local), "step " + step);
+
+            // Keep the invariant the incremental scan relies on: matches are cleared right away
+            for (int i = 0; i < full.length; i++) {
+                long m = full[i];
+                while (m != 0) {
+                    board.clear(((i % board.getWordsPerRow()) << 6) + Long.numberOfTrailingZeros(m), i / board.getWordsPerRow());
+                    m &= m - 1;
+                }
+            }
+        }
+    }
+
+    @Test
+    void column_top_tracks_the_highest_block_across_words() {
+        BitBoard board = new BitBoard(4, 130);
+        assertEquals(130, board.getColumnTop(2));
+        board.set(2, 127, 0, false);
+        board.set(2, 70, 1, true);
+        board.set(2, 3, 2, false);
+        assertEquals(3, board.getColumnTop(2));
+
+        board.clear(2, 3);
+        assertEquals(70, board.getColumnTop(2));
+        board.move(2, 70, 2, 126);
+        assertEquals(126, board.getColumnTop(2));
+        board.clear(2, 126);
+        board.clear(2, 127);
+        assertEquals(130, board.getColumnTop(2));
+        assertEquals(130, board.getColumnTop(1));
+    }
+
+    @Test
+    void boards_of_one_bitboard_keep_their_own_cells_and_counters() {
+        BitBoard shared = new BitBoard(70, 12, 3);
+        BitBoard[] alone = {new BitBoard(70, 12), new BitBoard(70, 12), new BitBoard(70, 12)};
+        Random random = new Random(4);
+        for (int step = 0; step < 3_000; step++) {
+            int b = random.nextInt(3);
+            shared.select(b);
+            int x = random.nextInt(70), y = random.nextInt(12), color = random.nextInt(3);
+            for (BitBoard board : new BitBoard[] {shared, alone[b]}) {
+                if (step % 3 == 0) board.clear(x, y);
+                else board.set(x, y, color, step % 5 == 0);
+            }
+        }
+        long[] expected = new long[12 * 2], actual = new long[12 * 2];
+        for (int b = 0; b < 3; b++) {
+            shared.select(b);
+            assertEquals(b, shared.getSelected());
+            assertEquals(alone[b].getHash(), shared.getHash());
+            assertEquals(alone[b].getVirusCount(), shared.getVirusCount());
+            assertEquals(alone[b].getBlockCount(), shared.getBlockCount());
+            for (int x = 0; x < 70; x++) assertEquals(alone[b].getColumnTop(x), shared.getColumnTop(x));
+            assertEquals(alone[b].findNewMatches(expected), shared.findNewMatches(actual));
+            assertArrayEquals(expected, actual);
+        }
+        shared.select(1);
+        shared.clearAll();
+        shared.select(0);
+        assertEquals(alone[0].getHash(), shared.getHash(), "clearAll only empties the selected board");
+        assertThrows(IndexOutOfBoundsException.class, () -> shared.select(3));
+    }
+}
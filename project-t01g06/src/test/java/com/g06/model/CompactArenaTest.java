@@ -0,0 +1,93 @@
+package com.g06.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactArenaTest {
+
+    @Test
+    void cell_packing_round_trips() {
+        byte block = Cell.block(BitBoard.colorIndex("YELLOW"), 5, Cell.LINK_LEFT);
+        assertEquals(1, Cell.color(block));
+        assertEquals(5, Cell.texture(block));
+        assertEquals(Cell.LINK_LEFT, Cell.link(block));
+        assertFalse(Cell.isVirus(block));
+
+        byte virus = Cell.virus(BitBoard.colorIndex("BLUE"));
+        assertTrue(Cell.isVirus(virus));
+        assertEquals(2, Cell.color(virus));
+        assertEquals(Cell.VIRUS_TEXTURE_ID, Cell.texture(virus));
+        assertEquals(Cell.LINK_NONE, Cell.link(virus));
+
+        assertEquals(Cell.LINK_DOWN, Cell.link(Cell.withLink(block, Cell.LINK_DOWN)));
+        assertEquals(BitBoard.NO_COLOR, Cell.color(Cell.EMPTY));
+    }
+
+    @Test
+    void blocks_are_stored_as_bytes_and_viewed_on_demand() {
+        CompactArena arena = new CompactArena(10, 18, 0);
+        arena.setBlock(3, 7, new Block(3, 7, "RED"));
+        arena.setBlock(4, 7, new Virus(4, 7, "BLUE"));
+
+        Block[][] view = arena.getMatrix();
+        assertEquals("RED", view[3][7].getColor());
+        assertFalse(view[3][7].isVirus());
+        assertTrue(view[4][7].isVirus());
+        assertNull(view[5][7]);
+        assertSame(view, arena.getMatrix());
+
+        Block removed = arena.removeBlock(3, 7);
+        assertEquals("RED", removed.getColor());
+        assertNull(arena.getMatrix()[3][7]);
+        assertFalse(arena.getBitBoard().isOccupied(3, 7));
+        assertEquals(1, arena.getVirusCount());
+    }
+
+    @Test
+    void capsule_links_survive_moves_and_are_dropped_when_the_partner_goes() {
+        CompactArena arena = new CompactArena(10, 18, 0);
+        Block left = new Block(3, 7, "RED");
+        Block right = new Block(4, 7, "BLUE");
+        left.setLink(Cell.LINK_RIGHT);
+        right.setLink(Cell.opposite(Cell.LINK_RIGHT));
+        arena.setBlock(3, 7, left);
+        arena.setBlock(4, 7, right);
+        assertEquals(Cell.LINK_LEFT, arena.getLink(4, 7));
+        assertEquals(Cell.LINK_RIGHT, arena.getMatrix()[3][7].getLink());
+
+        arena.moveBlock(3, 7, 3, 9);
+        arena.moveBlock(4, 7, 4, 9);
+        assertEquals(Cell.LINK_LEFT, arena.getLink(4, 9));
+
+        arena.removeBlock(3, 9);
+        assertEquals(Cell.LINK_NONE, arena.getLink(4, 9));
+        assertEquals("BLUE", arena.getMatrix()[4][9].getColor());
+    }
+
+    @Test
+    void viruses_are_spawned_like_the_object_arena() {
+        CompactArena arena = new CompactArena(10, 18, 5);
+        assertTrue(arena.getVirusCount() <= 5);
+        assertNotNull(arena.getCurrentPill());
+        assertEquals(2 * (10 + 18) - 4, arena.getGeometry().countBlocked());
+    }
+
+    @Test
+    void boards_in_a_shared_plane_stay_in_their_slice() {
+        byte[] plane = new byte[3 * 8 * 16];
+        Arrays.fill(plane, (byte) 7);
+        CompactArena middle = new CompactArena(ArenaGeometry.rectangle(8, 16), 6, 9L, false, plane, 8 * 16);
+        middle.setBlock(2, 15, new Block(2, 15, "RED"));
+
+        for (int i = 0; i < 8 * 16; i++) {
+            assertEquals(7, plane[i], "board before untouched");
+            assertEquals(7, plane[2 * 8 * 16 + i], "board after untouched");
+        }
+        assertEquals(middle.getCell(2, 15), plane[8 * 16 + 15 * 8 + 2]);
+        assertEquals(6, middle.getVirusCount());
+        assertThrows(IllegalArgumentException.class,
+                () -> new CompactArena(ArenaGeometry.rectangle(8, 16), 0, 1L, false, plane, 3 * 8 * 16 - 1));
+    }
+}
@@ -0,0 +1,89 @@
+package com.g06.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelPackTest {
+
+    private static void assertSameViruses(ArenaInterface expected, ArenaInterface actual) {
+        BitBoard e = expected.getBitBoard(), a = actual.getBitBoard();
+        assertEquals(e.getVirusCount(), a.getVirusCount());
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals(e.isVirus(x, y), a.isVirus(x, y), x + "," + y);
+                if (e.isVirus(x, y)) assertEquals(e.colorAt(x, y), a.colorAt(x, y), x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void levels_round_trip_with_their_seeds() throws IOException {
+        Path file = Files.createTempFile("levels", ".pack");
+        try {
+            Arena[] levels = new Arena[300];
+            try (LevelPackWriter writer = new LevelPackWriter(file, 10, 18)) {
+                for (int i = 0; i < levels.length; i++) {
+                    levels[i] = new Arena(10, 18, i % 40, 1000L + i);
+                    writer.add(levels[i].getSeed(), levels[i]);
+                }
+            }
+
+            try (LevelPack pack = LevelPack.open(file)) {
+                assertEquals(300, pack.getLevelCount());
+                assertEquals(10, pack.getWidth());
+                assertEquals(18, pack.getHeight());
+                // Random access, out of order
+                for (int i = levels.length - 1; i >= 0; i -= 7) {
+                    assertEquals(1000L + i, pack.getSeed(i));
+                    assertEquals(i % 40, pack.getVirusCount(i));
+                    Arena loaded = pack.load(i);
+                    assertSameViruses(levels[i], loaded);
+                    // Same seed, same pills
+                    assertEquals(levels[i].getCurrentPill().getColor1(), loaded.getCurrentPill().getColor1());
+                    assertEquals(levels[i].getNextPill().getColor2(), loaded.getNextPill().getColor2());
+                }
+                assertThrows(IndexOutOfBoundsException.class, () -> pack.load(300));
+            }
+            // ~180 cells: 8 + 2 bits per virus, 10-byte record header, 8-byte index slot
+            assertTrue(Files.size(file) < LevelPack.HEADER_SIZE + 300 * (18 + 40 * 10 / 8 + 1));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void odd_sizes_pack_cells_across_byte_boundaries() throws IOException {
+        Path file = Files.createTempFile("levels", ".pack");
+        try {
+            CompactArena big = new CompactArena(ArenaGeometry.rectangle(37, 53), 0, 5L, false);
+            VirusLayout.place(big, 400, 50, new SplittableRandom(5));
+            try (LevelPackWriter writer = new LevelPackWriter(file, 37, 53)) {
+                writer.add(5L, big);
+            }
+            try (LevelPack pack = LevelPack.open(file)) {
+                CompactArena target = new CompactArena(ArenaGeometry.rectangle(37, 53), 0, 5L, false);
+                pack.decodeInto(0, target);
+                assertSameViruses(big, target);
+                assertThrows(IllegalArgumentException.class, () -> pack.decodeInto(0, new Arena(10, 18, 0)));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void other_files_are_rejected() throws IOException {
+        Path file = Files.createTempFile("levels", ".pack");
+        try {
+            Files.write(file, new byte[64]);
+            assertThrows(IOException.class, () -> LevelPack.open(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.g06.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveTableTest {
+
+    @Test
+    void walls_bound_every_orientation() {
+        Arena arena = new Arena(10, 18, 0);
+        MoveTable moves = new MoveTable(arena);
+
+        assertTrue(moves.fits(1, 1, 0));
+        assertFalse(moves.fits(8, 5, 0));  // other half in the right wall
+        assertFalse(moves.fits(4, 1, 1));  // other half in the top wall
+        assertFalse(moves.fits(1, 5, 2));  // other half in the left wall
+        assertFalse(moves.fits(4, 16, 3)); // other half in the floor
+        assertTrue(moves.fits(4, 15, 3));
+        assertFalse(moves.fits(-1, 5, 0));
+        assertFalse(moves.fits(4, 18, 0));
+    }
+
+    @Test
+    void table_follows_board_changes() {
+        Arena arena = new Arena(10, 18, 0);
+        MoveTable moves = new MoveTable(arena);
+        assertTrue(moves.fits(3, 10, 0));
+
+        arena.setBlock(4, 10, new Block(4, 10, "RED"));
+        assertFalse(moves.fits(3, 10, 0));
+        assertFalse(moves.fits(4, 11, 1));
+        assertFalse(moves.isFree(4, 10));
+
+        arena.removeBlock(4, 10);
+        assertTrue(moves.fits(3, 10, 0));
+    }
+
+    @Test
+    void tall_arenas_span_several_words() {
+        Arena arena = new Arena(6, 130, 0);
+        MoveTable moves = new MoveTable(arena);
+        assertTrue(moves.fits(2, 63, 3));
+        assertTrue(moves.fits(2, 64, 1));
+
+        arena.setBlock(2, 64, new Block(2, 64, "BLUE"));
+        assertFalse(moves.fits(2, 63, 3));
+        assertFalse(moves.fits(2, 65, 1));
+        assertTrue(moves.fits(2, 127, 1));
+        assertFalse(moves.fits(2, 128, 3));
+    }
+
+    @Test
+    void landing_row_stops_on_blocks_and_the_floor() {
+        Arena arena = new Arena(10, 18, 0);
+        MoveTable moves = new MoveTable(arena);
+        assertEquals(16, moves.landingRow(4, 1, 0)); // horizontal, rests on the floor
+        assertEquals(15, moves.landingRow(4, 1, 3)); // vertical with the other half below
+        assertEquals(16, moves.landingRow(4, 2, 1)); // vertical with the other half above
+
+        arena.setBlock(5, 12, new Block(5, 12, "RED"));
+        assertEquals(11, moves.landingRow(4, 1, 0)); // other half hits the block
+        assertEquals(16, moves.landingRow(4, 1, 2)); // pill spans columns 3-4, block is not under it
+        assertEquals(11, moves.landingRow(5, 11, 0)); // already resting
+        assertEquals(12, moves.landingRow(5, 12, 0)); // does not fit: unchanged
+    }
+
+    @Test
+    void landing_row_crosses_word_boundaries() {
+        Arena arena = new Arena(6, 150, 0);
+        MoveTable moves = new MoveTable(arena);
+        assertEquals(148, moves.landingRow(2, 1, 0));
+        arena.setBlock(2, 130, new Block(2, 130, "BLUE"));
+        assertEquals(129, moves.landingRow(2, 1, 0));
+        assertEquals(128, moves.landingRow(2, 60, 3));
+    }
+}
@@ -0,0 +1,66 @@
+package com.g06.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PieceShapeTest {
+
+    // Three cells in a line, pivot in the middle, two orientations (horizontal, vertical)
+    static final PieceShape TRIPLE = PieceShape.of(new int[][][] {
+            {{0, 0}, {-1, 0}, {1, 0}},
+            {{0, 0}, {0, -1}, {0, 1}},
+    }, false);
+
+    // L-shaped power-up, four orientations
+    static final PieceShape L_SHAPE = PieceShape.of(new int[][][] {
+            {{0, 0}, {0, -1}, {1, 0}},
+            {{0, 0}, {-1, 0}, {0, -1}},
+            {{0, 0}, {0, 1}, {-1, 0}},
+            {{0, 0}, {1, 0}, {0, 1}},
+    }, false);
+
+    @Test
+    void capsule_table_matches_the_pill_halves_and_links() {
+        PieceShape capsule = PieceShape.CAPSULE;
+        Pill pill = new Pill(5, 5, "RED", "BLUE");
+        for (int o = 0; o < 4; o++) {
+            Position other = pill.getOtherHalf();
+            assertEquals(other.getX() - 5, capsule.dx(o, 1));
+            assertEquals(other.getY() - 5, capsule.dy(o, 1));
+            assertEquals(Cell.linkFor(o), capsule.link(o, 0));
+            assertEquals(Cell.opposite(Cell.linkFor(o)), capsule.link(o, 1));
+            pill.rotate();
+        }
+        assertEquals(3, capsule.rotated(0, PieceShape.ROTATE_CW));
+        assertEquals(1, capsule.rotated(0, PieceShape.ROTATE_CCW));
+    }
+
+    @Test
+    void bigger_shapes_settle_unlinked_and_use_default_kicks() {
+        assertEquals(3, L_SHAPE.getCellCount());
+        assertEquals(Cell.LINK_NONE, L_SHAPE.link(2, 1));
+        assertEquals(0, TRIPLE.rotated(1, PieceShape.ROTATE_CCW));
+        assertEquals(5, TRIPLE.kicks(0, PieceShape.ROTATE_CW).length);
+        assertEquals(1, PieceShape.SWORD.getOrientationCount());
+        assertTrue(PieceShape.SWORD.cutsBlocks());
+        assertThrows(IllegalArgumentException.class, () -> PieceShape.of(new int[][][] {{{0, 0}}, {{0, 0}, {1, 0}}}, false));
+    }
+
+    @Test
+    void move_table_handles_any_shape() {
+        Arena arena = new Arena(10, 18, 0);
+        MoveTable moves = new MoveTable(arena);
+
+        assertTrue(moves.fits(TRIPLE, 2, 5, 0));
+        assertFalse(moves.fits(TRIPLE, 1, 5, 0));  // left cell in the wall
+        assertFalse(moves.fits(TRIPLE, 4, 16, 1)); // bottom cell in the floor
+        assertEquals(11, moves.dropDistance(TRIPLE, 4, 5, 0));
+        assertEquals(10, moves.dropDistance(TRIPLE, 4, 5, 1));
+
+        arena.setBlock(5, 12, new Block(5, 12, "RED"));
+        assertEquals(6, moves.dropDistance(TRIPLE, 4, 5, 0));   // right cell stops on the block
+        assertEquals(6, moves.dropDistance(L_SHAPE, 4, 5, 0));  // (5, y) cell stops on it too
+        assertEquals(10, moves.dropDistance(L_SHAPE, 4, 5, 2)); // cells in columns 3-4 only, lowest at row 6
+        assertEquals(12, moves.dropDistance(PieceShape.SWORD, 5, 1, 0)); // cuts through, stops on the floor
+    }
+}
@@ -0,0 +1,116 @@
+package com.g06.model;
+
+import com.g06.controller.ArenaController;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PillQueueTest {
+
+    private static String key(Pill pill) {
+        return pill.getColor1() + "/" + pill.getColor2() + "/" + pill.getTexture(0) + "/" + pill.getTexture(1);
+    }
+
+    @Test
+    void same_seed_replays_the_same_pills() {
+        PillQueue a = new PillQueue(new SplittableRandom(42), 4, false);
+        PillQueue b = new PillQueue(new SplittableRandom(42), 4, false);
+        for (int i = 0; i < 200; i++) assertEquals(key(a.next()), key(b.next()));
+    }
+
+    @Test
+    void peek_shows_the_pills_next_will_return() {
+        PillQueue queue = new PillQueue(new SplittableRandom(7), 3, false);
+        for (int round = 0; round < 10; round++) {
+            Pill first = queue.peek(0), second = queue.peek(1), third = queue.peek(2);
+            assertSame(first, queue.next());
+            assertSame(second, queue.peek(0));
+            assertSame(third, queue.peek(1));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.peek(3));
+        assertTrue(queue.peek(0).getTexture(0) >= 0 && queue.peek(0).getTexture(0) < Block.TEXTURE_COUNT);
+    }
+
+    @Test
+    void bag_deals_every_color_pair_once_per_round() {
+        PillQueue queue = new PillQueue(new SplittableRandom(3), 5, true);
+        for (int round = 0; round < 20; round++) {
+            Set<String> pairs = new HashSet<>();
+            for (int i = 0; i < 9; i++) {
+                Pill pill = queue.next();
+                pairs.add(pill.getColor1() + "/" + pill.getColor2());
+            }
+            assertEquals(9, pairs.size(), "round " + round);
+        }
+    }
+
+    @Test
+    void split_streams_are_independent_and_reproducible() {
+        SplittableRandom root = new SplittableRandom(99);
+        PillQueue left = new PillQueue(root.split(), 2, false);
+        PillQueue right = new PillQueue(root.split(), 2, false);
+        SplittableRandom again = new SplittableRandom(99);
+        PillQueue leftAgain = new PillQueue(again.split(), 2, false);
+
+        StringBuilder l = new StringBuilder(), r = new StringBuilder(), la = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            l.append(key(left.next()));
+            r.append(key(right.next()));
+            la.append(key(leftAgain.next()));
+        }
+        assertEquals(l.toString(), la.toString());
+        assertNotEquals(l.toString(), r.toString());
+    }
+
+    @Test
+    void seeded_arenas_replay_viruses_and_pills() {
+        Arena a = new Arena(10, 18, 12, 1234L);
+        CompactArena b = new CompactArena(10, 18, 12, 1234L);
+        assertEquals(1234L, a.getSeed());
+        for (int y = 0; y < 18; y++) {
+            for (int x = 0; x < 10; x++) {
+                assertEquals(a.getBitBoard().isVirus(x, y), b.getBitBoard().isVirus(x, y));
+                assertEquals(a.getBitBoard().colorAt(x, y), b.getBitBoard().colorAt(x, y));
+            }
+        }
+        assertEquals(key(a.getCurrentPill()), key(b.getCurrentPill()));
+        for (int i = 0; i < 20; i++) {
+            a.generateNextPill();
+            b.generateNextPill();
+            assertEquals(key(a.getNextPill()), key(b.getNextPill()));
+        }
+    }
+
+    @Test
+    void blocks_settled_without_a_texture_take_it_from_the_seed() {
+        Arena a = new Arena(10, 18, 4, 99L);
+        Arena b = new Arena(10, 18, 4, 99L);
+        for (Arena arena : new Arena[] {a, b}) {
+            // A pill built by hand has no textures from the queue
+            arena.setCurrentPill(new Pill(5, 1, "RED", "BLUE"));
+            new ArenaController(arena).hardDrop();
+        }
+        int settled = 0;
+        for (int y = 0; y < 18; y++) {
+            for (int x = 0; x < 10; x++) {
+                Block block = a.getMatrix()[x][y];
+                if (block == null || block.isVirus()) continue;
+                assertEquals(block.getTextureID(), b.getMatrix()[x][y].getTextureID());
+                settled++;
+            }
+        }
+        assertEquals(2, settled);
+        StringBuilder same = new StringBuilder(), other = new StringBuilder(), again = new StringBuilder();
+        Arena c = new Arena(10, 18, 4, 100L);
+        for (int i = 0; i < 40; i++) {
+            same.append(a.nextTexture());
+            again.append(b.nextTexture());
+            other.append(c.nextTexture());
+        }
+        assertEquals(same.toString(), again.toString());
+        assertNotEquals(same.toString(), other.toString());
+    }
+}
@@ -90,4 +90,22 @@ public class PillTest {
         assertEquals(4, pill.getOtherHalf().getX());
         assertEquals(5, pill.getOtherHalf().getY());
     }
-}
\ No newline at end of file
+
+    @Test
+    void rotateClockwise_UndoesRotate() {
+        Pill pill = new Pill(5, 5, "RED", "BLUE");
+
+        // 0 (Right) -> 3 (Down)
+        pill.rotateClockwise();
+        assertEquals(3, pill.getOrientation());
+        assertEquals(6, pill.getOtherHalf().getY());
+
+        for (int i = 0; i < 4; i++) {
+            int before = pill.getOrientation();
+            pill.rotate();
+            pill.rotateClockwise();
+            assertEquals(before, pill.getOrientation());
+            pill.rotate();
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.g06.model;
 
 import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class PositionTest {
@@ -15,4 +19,13 @@ class PositionTest {
         assertNotEquals(a, c, "Different coordinates should not be equal");
         assertFalse(a.equals(null), "com.g06.model.Position.equals should handle null");
     }
+
+    @Test
+    void equal_positions_have_equal_hash_codes() {
+        assertEquals(new Position(3, 7).hashCode(), new Position(3, 7).hashCode());
+        Set<Position> set = new HashSet<>();
+        set.add(new Position(3, 7));
+        assertTrue(set.contains(new Position(3, 7)), "Positions should work as hash keys");
+        assertFalse(set.contains(new Position(7, 3)));
+    }
 }
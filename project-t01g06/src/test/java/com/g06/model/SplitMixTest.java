@@ -0,0 +1,51 @@
+package com.g06.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SplitMixTest {
+
+    @Test
+    void draws_match_splittable_random() {
+        for (long seed : new long[] {0, 1, 42, -7, 0x123456789ABCDEFL}) {
+            SplittableRandom expected = new SplittableRandom(seed);
+            SplitMix actual = new SplitMix(seed);
+            for (int i = 0; i < 1_000; i++) {
+                assertEquals(expected.nextLong(), actual.nextLong());
+                assertEquals(expected.nextInt(), actual.nextInt());
+                // Powers of two and bounds that need the rejection loop
+                for (int bound : new int[] {1, 3, 8, 9, 180, 1 << 30, Integer.MAX_VALUE}) {
+                    assertEquals(expected.nextInt(bound), actual.nextInt(bound), "bound " + bound);
+                }
+            }
+        }
+    }
+
+    @Test
+    void splits_match_splittable_random() {
+        SplittableRandom root = new SplittableRandom(1234);
+        SplitMix mix = new SplitMix(1234);
+        for (int i = 0; i < 20; i++) {
+            SplittableRandom expected = root.split();
+            SplitMix child = new SplitMix(0);
+            mix.split(child);
+            for (int k = 0; k < 50; k++) assertEquals(expected.nextInt(9), child.nextInt(9));
+        }
+        assertEquals(root.nextLong(), mix.nextLong());
+    }
+
+    @Test
+    void a_saved_stream_continues_where_it_stopped() {
+        SplitMix stream = new SplitMix(99);
+        for (int i = 0; i < 10; i++) stream.nextInt(8);
+        long seed = stream.getSeed(), gamma = stream.getGamma();
+        long[] ahead = new long[30];
+        for (int i = 0; i < ahead.length; i++) ahead[i] = stream.nextLong();
+
+        SplitMix resumed = new SplitMix(0);
+        resumed.load(seed, gamma);
+        for (long value : ahead) assertEquals(value, resumed.nextLong());
+    }
+}
@@ -0,0 +1,114 @@
+package com.g06.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirusLayoutTest {
+
+    private static Arena emptyArena(ArenaGeometry geometry) {
+        return new Arena(geometry, 0, 1L, false);
+    }
+
+    // Longest same-colored virus line on the board
+    private static int longestVirusRun(BitBoard board) {
+        int longest = 0;
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                if (!board.isVirus(x, y)) continue;
+                int color = board.colorAt(x, y);
+                int h = 1, v = 1;
+                while (x + h < board.getWidth() && board.isVirus(x + h, y) && board.colorAt(x + h, y) == color) h++;
+                while (y + v < board.getHeight() && board.isVirus(x, y + v) && board.colorAt(x, y + v) == color) v++;
+                longest = Math.max(longest, Math.max(h, v));
+            }
+        }
+        return longest;
+    }
+
+    @Test
+    void dense_layouts_get_the_exact_count_without_lines() {
+        for (long seed = 0; seed < 30; seed++) {
+            Arena arena = emptyArena(ArenaGeometry.rectangle(10, 18));
+            // rows 6..16 of an 8-wide interior: 88 cells
+            int placed = VirusLayout.place(arena, 70, 11, new SplittableRandom(seed));
+
+            assertEquals(70, placed, "seed " + seed);
+            assertEquals(70, arena.getVirusCount());
+            assertTrue(longestVirusRun(arena.getBitBoard()) < VirusLayout.RUN_LIMIT, "seed " + seed);
+            for (int y = 0; y < 6; y++) {
+                for (int x = 0; x < 10; x++) assertFalse(arena.getBitBoard().isOccupied(x, y));
+            }
+        }
+    }
+
+    @Test
+    void an_overfull_request_fills_every_eligible_cell() {
+        ArenaGeometry geometry = ArenaGeometry.rectangle(10, 20);
+        int maxHeight = 20 - 1 - AbstractArena.VIRUS_TOP_ROW;
+        int eligible = 0;
+        for (int y = 0; y < 20; y++) {
+            for (int x = 0; x < 10; x++) if (!geometry.isBlocked(x, y) && geometry.getFloorRow(x) - y <= maxHeight) eligible++;
+        }
+        for (long seed = 0; seed < 500; seed++) {
+            CompactArena arena = new CompactArena(geometry, 500, seed, false);
+
+            assertEquals(eligible, arena.getVirusCount(), "seed " + seed);
+            assertTrue(longestVirusRun(arena.getBitBoard()) < VirusLayout.RUN_LIMIT, "seed " + seed);
+        }
+    }
+
+    @Test
+    void count_is_capped_by_the_free_cells_under_the_height_limit() {
+        Arena arena = emptyArena(ArenaGeometry.rectangle(6, 10));
+        arena.setBlock(2, 8, new Block(2, 8, "RED"));
+        // 4 columns x 2 rows, one cell taken
+        int placed = VirusLayout.place(arena, 50, 2, new SplittableRandom(5));
+        assertEquals(7, placed);
+        assertEquals(placed, arena.getVirusCount());
+        assertEquals("RED", arena.getMatrix()[2][8].getColor());
+    }
+
+    @Test
+    void height_limit_follows_each_column_floor() {
+        Arena arena = emptyArena(ArenaGeometry.fromRows(
+                "########",
+                "#......#",
+                "#......#",
+                "#......#",
+                "#...####",
+                "#......#",
+                "########"));
+        // Height 1: the bottom row, plus the row right above the ledge for columns 4-6
+        VirusLayout.place(arena, 9, 1, new SplittableRandom(11));
+        for (int x = 1; x <= 6; x++) {
+            for (int y = 1; y <= 5; y++) {
+                boolean allowed = y == 5 || (x >= 4 && y == 3);
+                if (!allowed) assertFalse(arena.getBitBoard().isOccupied(x, y), x + "," + y);
+            }
+        }
+        assertTrue(arena.getVirusCount() >= 6);
+    }
+
+    @Test
+    void same_seed_gives_the_same_layout() {
+        Arena a = emptyArena(ArenaGeometry.rectangle(12, 20));
+        Arena b = emptyArena(ArenaGeometry.rectangle(12, 20));
+        VirusLayout.place(a, 40, 12, new SplittableRandom(77));
+        VirusLayout.place(b, 40, 12, new SplittableRandom(77));
+        for (int y = 0; y < 20; y++) {
+            for (int x = 0; x < 12; x++) assertEquals(a.getBitBoard().colorAt(x, y), b.getBitBoard().colorAt(x, y));
+        }
+    }
+
+    @Test
+    void large_arenas_stay_fast() {
+        CompactArena arena = new CompactArena(ArenaGeometry.rectangle(1024, 1024), 0, 3L, false);
+        long start = System.nanoTime();
+        int placed = VirusLayout.place(arena, 50_000, 900, new SplittableRandom(9));
+        long ms = (System.nanoTime() - start) / 1_000_000;
+        assertEquals(50_000, placed);
+        assertTrue(ms < 5_000, "took " + ms + " ms");
+    }
+}
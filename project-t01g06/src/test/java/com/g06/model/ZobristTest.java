@@ -0,0 +1,100 @@
+package com.g06.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZobristTest {
+
+    // Hash of the board computed from scratch, cell by cell
+    private static long recompute(ArenaInterface arena) {
+        BitBoard board = arena.getBitBoard();
+        long hash = 0;
+        for (int y = 0; y < arena.getHeight(); y++) {
+            for (int x = 0; x < arena.getWidth(); x++) {
+                if (!board.isOccupied(x, y)) continue;
+                hash ^= Zobrist.cellKey(y * arena.getWidth() + x, board.colorAt(x, y), board.isVirus(x, y), arena.getLink(x, y));
+            }
+        }
+        return hash;
+    }
+
+    @Test
+    void incremental_hash_matches_a_full_recomputation_after_random_mutations() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (ArenaInterface arena : new ArenaInterface[] {new Arena(8, 16, 0), new CompactArena(8, 16, 0)}) {
+            for (int step = 0; step < 2_000; step++) {
+                int x = random.nextInt(7), y = random.nextInt(15);
+                String color = BitBoard.COLORS[random.nextInt(3)];
+                switch (random.nextInt(4)) {
+                    case 0 -> arena.setBlock(x, y, new Virus(x, y, color));
+                    case 1 -> {
+                        // Horizontal capsule
+                        Block left = new Block(x, y, color);
+                        Block right = new Block(x + 1, y, color);
+                        left.setLink(Cell.LINK_RIGHT);
+                        right.setLink(Cell.LINK_LEFT);
+                        arena.setBlock(x, y, left);
+                        arena.setBlock(x + 1, y, right);
+                    }
+                    case 2 -> arena.removeBlock(x, y);
+                    default -> {
+                        if (arena.getBitBoard().isOccupied(x, y) && !arena.getBitBoard().isOccupied(x, y + 1)) {
+                            arena.moveBlock(x, y, x, y + 1);
+                        }
+                    }
+                }
+                assertEquals(recompute(arena), arena.getBitBoard().getHash(), "step " + step);
+            }
+        }
+    }
+
+    @Test
+    void the_same_board_reached_in_any_order_has_the_same_hash() {
+        CompactArena a = new CompactArena(8, 16, 0);
+        CompactArena b = new CompactArena(8, 16, 0);
+        a.setBlock(1, 15, new Virus(1, 15, "RED"));
+        a.setBlock(2, 15, new Block(2, 15, "BLUE"));
+        b.setBlock(2, 14, new Block(2, 14, "BLUE"));
+        b.setBlock(1, 15, new Virus(1, 15, "RED"));
+        b.moveBlock(2, 14, 2, 15);
+
+        assertEquals(a.getBitBoard().getHash(), b.getBitBoard().getHash());
+        b.removeBlock(2, 15);
+        assertNotEquals(a.getBitBoard().getHash(), b.getBitBoard().getHash());
+    }
+
+    @Test
+    void a_capsule_half_turning_orphan_changes_the_hash() {
+        Arena arena = new Arena(8, 16, 0);
+        Block left = new Block(3, 15, "YELLOW");
+        Block right = new Block(4, 15, "YELLOW");
+        left.setLink(Cell.LINK_RIGHT);
+        right.setLink(Cell.LINK_LEFT);
+        arena.setBlock(3, 15, left);
+        arena.setBlock(4, 15, right);
+
+        Arena loose = new Arena(8, 16, 0);
+        loose.setBlock(3, 15, new Block(3, 15, "YELLOW"));
+        loose.setBlock(4, 15, new Block(4, 15, "YELLOW"));
+        assertNotEquals(loose.getBitBoard().getHash(), arena.getBitBoard().getHash());
+
+        arena.removeBlock(4, 15);
+        loose.removeBlock(4, 15);
+        assertEquals(loose.getBitBoard().getHash(), arena.getBitBoard().getHash());
+    }
+
+    @Test
+    void state_hash_includes_the_falling_piece() {
+        Arena arena = new Arena(8, 16, 0);
+        arena.setCurrentPill(new Pill(3, 1, "RED", "BLUE"));
+        long before = arena.getStateHash();
+        arena.getCurrentPill().getPosition().setY(2);
+        assertNotEquals(before, arena.getStateHash());
+        arena.getCurrentPill().getPosition().setY(1);
+        assertEquals(before, arena.getStateHash());
+        arena.setCurrentPill(null);
+        assertEquals(arena.getBitBoard().getHash(), arena.getStateHash());
+    }
+}